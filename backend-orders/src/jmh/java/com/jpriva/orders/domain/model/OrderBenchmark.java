@@ -0,0 +1,77 @@
+package com.jpriva.orders.domain.model;
+
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds and edits large orders through the aggregate. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderBenchmark {
+
+    @Param({"1000", "10000"})
+    private int lines;
+
+    private final UUID companyId = UUID.randomUUID();
+    private final UUID clientId = UUID.randomUUID();
+    private List<Product> products;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        products = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = Product.create(companyId, UUID.randomUUID(), "Product " + i, "SKU-" + i, "Benchmark product");
+            product.changePrice(Money.fromString(Currency.USD, "19.99"));
+            products.add(product);
+        }
+    }
+
+    @Benchmark
+    public Order addItemOneByOne() {
+        Order order = newOrder();
+        for (Product product : products) {
+            order.addItem(OrderItem.create(order.getId(), product, 2, product.getProductPrice(Currency.USD)));
+        }
+        return order;
+    }
+
+    @Benchmark
+    public Order addItemsInOneCall() {
+        Order order = newOrder();
+        List<OrderItem> items = new ArrayList<>(lines);
+        for (Product product : products) {
+            items.add(OrderItem.create(order.getId(), product, 2, product.getProductPrice(Currency.USD)));
+        }
+        order.addItems(items);
+        return order;
+    }
+
+    @Benchmark
+    public Order addThenRemoveEveryItem() {
+        Order order = addItemOneByOne();
+        for (OrderItem item : order.getItems()) {
+            order.removeItem(item.getId());
+        }
+        return order;
+    }
+
+    private Order newOrder() {
+        return Order.create(companyId, clientId, "Benchmark Client", "Benchmark Address", Currency.USD);
+    }
+}
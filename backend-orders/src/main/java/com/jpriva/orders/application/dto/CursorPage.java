@@ -0,0 +1,18 @@
+package com.jpriva.orders.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Slice of a listing addressed by an opaque continuation token")
+public record CursorPage<T>(
+        @Schema(description = "Elements of this slice")
+        List<T> content,
+        @Schema(description = "Token to request the next slice, absent on the last one")
+        String nextCursor,
+        @Schema(description = "Whether more elements follow this slice")
+        boolean hasNext,
+        @Schema(description = "Total number of matching elements, only present when requested")
+        Long totalElements
+) {
+}
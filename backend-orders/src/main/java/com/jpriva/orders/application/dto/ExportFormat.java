@@ -0,0 +1,33 @@
+package com.jpriva.orders.application.dto;
+
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.OrderErrorCodes;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    public static ExportFormat fromString(String format) {
+        if (format == null || format.isBlank()) {
+            return CSV;
+        }
+        return Arrays.stream(ExportFormat.values())
+                .filter(value -> value.name().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() ->
+                        new DomainException(
+                                OrderErrorCodes.ORDER_EXPORT_FORMAT_INVALID,
+                                "Export format not supported: " + format
+                        )
+                );
+    }
+}
@@ -1,10 +1,16 @@
 package com.jpriva.orders.application.dto;
 
+import com.jpriva.orders.domain.exceptions.DomainException;
 import com.jpriva.orders.domain.model.Order;
 import com.jpriva.orders.domain.model.OrderItem;
+import com.jpriva.orders.domain.model.OrderSummary;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -39,6 +45,14 @@ public record OrderDto() {
             Integer quantity
     ) {}
 
+    @Schema(description = "Request to add many items to an order at once")
+    public record AddItemsRequest(
+            @Schema(description = "Items to add; a product already in the order gets the new quantity")
+            @NotEmpty(message = "At least one item is required")
+            @Size(max = 500, message = "A batch cannot contain more than 500 items")
+            List<@Valid @NotNull AddItemRequest> items
+    ) {}
+
     @Schema(description = "Request to change the quantity of an item in an order")
     public record ChangeItemQuantityRequest(
             @Schema(description = "ID of the product to update")
@@ -50,6 +64,130 @@ public record OrderDto() {
             Integer quantity
     ) {}
 
+    @Schema(description = "Cursor listing parameters")
+    public record CursorQuery(
+            @Schema(description = "Continuation token returned by the previous slice")
+            String cursor,
+            @Schema(description = "Maximum number of orders to return", example = "20")
+            Integer size,
+            @Schema(description = "Only return orders in this status", example = "PENDING")
+            String status,
+            @Schema(description = "Only return orders placed at or after this date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @Schema(description = "Only return orders placed before this date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to,
+            @Schema(description = "Also count every matching order", example = "false")
+            boolean includeTotal
+    ) {}
+
+    @Schema(description = "Combinable filters of an order search; every filter is optional")
+    public record SearchQuery(
+            @Schema(description = "Continuation token returned by the previous slice")
+            String cursor,
+            @Schema(description = "Maximum number of orders to return", example = "20")
+            Integer size,
+            @Schema(description = "Only return orders in this status", example = "CONFIRMED")
+            String status,
+            @Schema(description = "Only return orders of this client")
+            UUID clientId,
+            @Schema(description = "Only return orders in this currency", example = "USD")
+            String currency,
+            @Schema(description = "Only return orders with a total of at least this amount", example = "100.00")
+            BigDecimal minAmount,
+            @Schema(description = "Only return orders with a total of at most this amount", example = "500.00")
+            BigDecimal maxAmount,
+            @Schema(description = "Only return orders placed at or after this date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @Schema(description = "Only return orders placed before this date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to,
+            @Schema(description = "Also count every matching order", example = "false")
+            boolean includeTotal
+    ) {}
+
+    @Schema(description = "Filters and format of an order export; every filter is optional")
+    public record ExportQuery(
+            @Schema(description = "Output format, csv or ndjson", example = "csv", defaultValue = "csv")
+            String format,
+            @Schema(description = "Gzip the export", example = "false")
+            boolean gzip,
+            @Schema(description = "Only export orders in this status", example = "CONFIRMED")
+            String status,
+            @Schema(description = "Only export orders of this client")
+            UUID clientId,
+            @Schema(description = "Only export orders in this currency", example = "USD")
+            String currency,
+            @Schema(description = "Only export orders with a total of at least this amount", example = "100.00")
+            BigDecimal minAmount,
+            @Schema(description = "Only export orders with a total of at most this amount", example = "500.00")
+            BigDecimal maxAmount,
+            @Schema(description = "Only export orders placed at or after this date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            @Schema(description = "Only export orders placed before this date")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to
+    ) {}
+
+    @Schema(description = "Order to create as part of a batch")
+    public record BatchOrderRequest(
+            @Schema(description = "Tax ID of the company that owns the order")
+            @NotNull(message = "Company ID is required")
+            String companyId,
+            @Schema(description = "ID of the client that owns the order")
+            @NotNull(message = "Client ID is required")
+            UUID clientId,
+            @Schema(description = "Currency code for the order", example = "USD")
+            @NotNull(message = "Currency code is required")
+            String currencyCode,
+            @Schema(description = "Items of the order")
+            @Size(max = 500, message = "An order cannot contain more than 500 items")
+            List<@Valid @NotNull AddItemRequest> items
+    ) {}
+
+    @Schema(description = "Request to create many orders at once")
+    public record BatchRequest(
+            @Schema(description = "Orders to create")
+            @NotEmpty(message = "At least one order is required")
+            @Size(max = 1000, message = "A batch cannot contain more than 1000 orders")
+            List<@Valid @NotNull BatchOrderRequest> orders
+    ) {}
+
+    @Schema(description = "Result of a single order in a batch")
+    public record BatchResult(
+            @Schema(description = "Position of the order in the request", example = "0")
+            int index,
+            @Schema(description = "ID of the created order, when it was created")
+            UUID orderId,
+            @Schema(description = "Outcome for the order", example = "CREATED")
+            String status,
+            @Schema(description = "Error code, when the order failed", example = "PROD_006")
+            String errorCode,
+            @Schema(description = "Error message, when the order failed", example = "Product not found")
+            String message
+    ) {
+        public static BatchResult created(int index, Order order) {
+            return new BatchResult(index, order.getId(), "CREATED", null, null);
+        }
+
+        public static BatchResult failed(int index, DomainException e) {
+            return new BatchResult(index, null, "FAILED", e.getCode(), e.getMessage());
+        }
+    }
+
+    @Schema(description = "Response of a batch order creation")
+    public record BatchResponse(
+            @Schema(description = "Number of orders created", example = "98")
+            int created,
+            @Schema(description = "Number of orders rejected", example = "2")
+            int failed,
+            @Schema(description = "Result for every order of the request, in request order")
+            List<BatchResult> results
+    ) {}
+
     @Schema(description = "Response containing order details")
     public record Response(
             @Schema(description = "Order's unique identifier")
@@ -89,6 +227,33 @@ public record OrderDto() {
         }
     }
 
+    @Schema(description = "Order data for list views, without items")
+    public record SummaryResponse(
+            @Schema(description = "Order's unique identifier")
+            UUID id,
+            @Schema(description = "Name of the client that placed the order", example = "John Doe")
+            String clientName,
+            @Schema(description = "Date and time the order was placed")
+            LocalDateTime orderDate,
+            @Schema(description = "Current status of the order", example = "PENDING")
+            String status,
+            @Schema(description = "Total amount of the order", example = "150.75")
+            BigDecimal totalAmount,
+            @Schema(description = "Currency of the total amount", example = "USD")
+            String currency
+    ) {
+        public static SummaryResponse fromDomain(OrderSummary summary) {
+            return new SummaryResponse(
+                    summary.id(),
+                    summary.clientName(),
+                    summary.orderDate(),
+                    summary.status(),
+                    summary.totalAmount(),
+                    summary.currencyCode()
+            );
+        }
+    }
+
     @Schema(description = "Response containing order item details")
     public record ItemResponse(
             @Schema(description = "Order item's unique identifier")
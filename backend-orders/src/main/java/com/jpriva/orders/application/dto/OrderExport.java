@@ -0,0 +1,11 @@
+package com.jpriva.orders.application.dto;
+
+import com.jpriva.orders.domain.model.vo.OrderFilter;
+
+public record OrderExport(
+        OrderFilter filter,
+        ExportFormat format,
+        boolean gzip,
+        String fileName
+) {
+}
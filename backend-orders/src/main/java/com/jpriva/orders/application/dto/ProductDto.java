@@ -1,13 +1,19 @@
 package com.jpriva.orders.application.dto;
 
 import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductSuggestion;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -44,6 +50,159 @@ public record ProductDto() {
             String currencyCode
     ) {}
 
+    @Schema(description = "A price of a product, identified by its id or SKU")
+    public record PriceRow(
+            @Schema(description = "ID of the product; takes precedence over the SKU")
+            UUID productId,
+            @Schema(description = "SKU of the product", example = "LP-12345")
+            String sku,
+            @Schema(description = "Currency code for the price", example = "USD")
+            String currencyCode,
+            @Schema(description = "Price of the product", example = "1200.50")
+            BigDecimal price
+    ) {}
+
+    @Schema(description = "Request to set many prices at once; rows are checked one by one and invalid ones are rejected")
+    public record BulkPriceRequest(
+            @Schema(description = "Prices to set")
+            @NotEmpty(message = "At least one price is required")
+            @Size(max = 10000, message = "At most 10000 prices per request")
+            List<PriceRow> prices
+    ) {}
+
+    @Schema(description = "A row of a bulk request that was not applied")
+    public record RowError(
+            @Schema(description = "Position of the row in the request, from 0", example = "3")
+            int row,
+            @Schema(description = "Why the row was rejected", example = "Product not found")
+            String message
+    ) {}
+
+    @Schema(description = "Outcome of a bulk price update")
+    public record BulkPriceReport(
+            @Schema(description = "Prices inserted or changed", example = "120")
+            int changed,
+            @Schema(description = "Prices that already held the amount", example = "875")
+            int unchanged,
+            @Schema(description = "Rows rejected", example = "5")
+            int rejected,
+            @Schema(description = "Rejected rows, in request order")
+            List<RowError> errors
+    ) {}
+
+    @Schema(description = "Units of a product received into stock, identified by its id or SKU")
+    public record StockLine(
+            @Schema(description = "ID of the product; takes precedence over the SKU")
+            UUID productId,
+            @Schema(description = "SKU of the product", example = "LP-12345")
+            String sku,
+            @Schema(description = "Units received", example = "24")
+            Integer quantity
+    ) {}
+
+    @Schema(description = "A stock receipt; lines are checked one by one and invalid ones are rejected")
+    public record ReceiveStockRequest(
+            @Schema(description = "Received lines")
+            @NotEmpty(message = "At least one line is required")
+            @Size(max = 10000, message = "At most 10000 lines per request")
+            List<StockLine> lines
+    ) {}
+
+    @Schema(description = "Stock of a product after a receipt")
+    public record StockLevel(
+            @Schema(description = "Product's unique identifier")
+            UUID productId,
+            @Schema(description = "Quantity in stock", example = "124")
+            int quantity
+    ) {}
+
+    @Schema(description = "Outcome of a stock receipt")
+    public record ReceiveStockReport(
+            @Schema(description = "New stock of every product received")
+            List<StockLevel> stock,
+            @Schema(description = "Lines rejected", example = "2")
+            int rejected,
+            @Schema(description = "Rejected lines, in request order")
+            List<RowError> errors
+    ) {}
+
+    @Schema(description = "Request to split a product's stock over several counters")
+    public record ReshardRequest(
+            @Schema(description = "Number of stock counters; 1 merges them back into one", example = "8")
+            @NotNull(message = "Shards is required")
+            @Min(value = 1, message = "Shards must be at least 1")
+            @Max(value = 64, message = "Shards must be at most 64")
+            Integer shards
+    ) {}
+
+    @Schema(description = "Cursor listing parameters")
+    public record CursorQuery(
+            @Schema(description = "Continuation token returned by the previous slice")
+            String cursor,
+            @Schema(description = "Maximum number of products to return", example = "50")
+            Integer size,
+            @Schema(description = "Only return products of this category")
+            UUID categoryId,
+            @Schema(description = "Only return products whose SKU starts with this prefix", example = "LP-")
+            String skuPrefix
+    ) {}
+
+    @Schema(description = "A product matching a typeahead query")
+    public record Suggestion(
+            @Schema(description = "Product's unique identifier")
+            UUID id,
+            @Schema(description = "Stock Keeping Unit", example = "LP-12345")
+            String sku,
+            @Schema(description = "Product name", example = "Laptop")
+            String name
+    ) {
+        public static Suggestion fromDomain(ProductSuggestion suggestion) {
+            return new Suggestion(suggestion.id(), suggestion.sku(), suggestion.name());
+        }
+    }
+
+    @Schema(description = "One product of a catalog import; CSV columns are sku, name, description, category_id, stock and one price_<CURRENCY> column per currency")
+    public record ImportRow(
+            @Schema(description = "Stock Keeping Unit, the key products are matched by", example = "LP-12345")
+            String sku,
+            @Schema(description = "Product name", example = "Laptop")
+            String name,
+            @Schema(description = "Product description", example = "A powerful laptop for all your needs")
+            String description,
+            @Schema(description = "ID of the category the product belongs to")
+            UUID categoryId,
+            @Schema(description = "Initial stock, only applied to products created by the import", example = "100")
+            Integer stock,
+            @Schema(description = "Prices of the product by currency code", example = "{\"USD\": 1200.50}")
+            Map<String, BigDecimal> prices
+    ) {}
+
+    @Schema(description = "A row of a catalog import that was not stored")
+    public record ImportError(
+            @Schema(description = "Line of the file the row starts on", example = "42")
+            long line,
+            @Schema(description = "SKU of the row, when it could be read", example = "LP-12345")
+            String sku,
+            @Schema(description = "Why the row was rejected", example = "Product name cannot be empty")
+            String message
+    ) {}
+
+    @Schema(description = "Outcome of a catalog import")
+    public record ImportReport(
+            @Schema(description = "Rows read from the file", example = "50000")
+            long rows,
+            @Schema(description = "Products created", example = "49000")
+            long created,
+            @Schema(description = "Existing products updated", example = "990")
+            long updated,
+            @Schema(description = "Rows rejected", example = "10")
+            long failed,
+            @Schema(description = "Rejected rows, in file order")
+            List<ImportError> errors,
+            @Schema(description = "Whether more rows were rejected than are listed")
+            boolean errorsTruncated
+    ) {}
+
     @Schema(description = "Response containing product details")
     public record Response(
             @Schema(description = "Product's unique identifier")
@@ -0,0 +1,15 @@
+package com.jpriva.orders.application.dto;
+
+public record ProductImportLine(
+        long line,
+        ProductDto.ImportRow row,
+        String error
+) {
+    public static ProductImportLine of(long line, ProductDto.ImportRow row) {
+        return new ProductImportLine(line, row, null);
+    }
+
+    public static ProductImportLine invalid(long line, String error) {
+        return new ProductImportLine(line, null, error);
+    }
+}
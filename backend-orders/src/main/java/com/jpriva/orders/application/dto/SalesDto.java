@@ -0,0 +1,83 @@
+package com.jpriva.orders.application.dto;
+
+import com.jpriva.orders.domain.model.ProductSales;
+import com.jpriva.orders.domain.model.SalesDay;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(description = "Sales report related data transfer objects")
+public record SalesDto() {
+
+    @Schema(description = "Filters of a sales report")
+    public record ReportQuery(
+            @Schema(description = "First day of the report, inclusive", example = "2026-01-01")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @Schema(description = "Last day of the report, inclusive", example = "2026-01-31")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @Schema(description = "Currency of the orders to report", example = "USD")
+            String currency,
+            @Schema(description = "Number of top products to return", example = "10")
+            Integer top
+    ) {}
+
+    @Schema(description = "Sales totals of a company for a date range")
+    public record ReportResponse(
+            @Schema(description = "First day of the report", example = "2026-01-01")
+            LocalDate from,
+            @Schema(description = "Last day of the report", example = "2026-01-31")
+            LocalDate to,
+            @Schema(description = "Currency of the amounts", example = "USD")
+            String currencyCode,
+            @Schema(description = "Number of confirmed orders", example = "42")
+            long confirmedOrders,
+            @Schema(description = "Sum of the confirmed orders", example = "1250.50")
+            BigDecimal confirmedAmount,
+            @Schema(description = "Number of cancelled orders", example = "3")
+            long cancelledOrders,
+            @Schema(description = "Sum of the cancelled orders", example = "80.00")
+            BigDecimal cancelledAmount,
+            @Schema(description = "Totals per day and status")
+            List<DayResponse> days,
+            @Schema(description = "Products with the highest confirmed revenue")
+            List<ProductResponse> topProducts
+    ) {}
+
+    @Schema(description = "Totals of one day and status")
+    public record DayResponse(
+            @Schema(description = "Day the orders were placed", example = "2026-01-15")
+            LocalDate day,
+            @Schema(description = "Order status", example = "CONFIRMED")
+            String status,
+            @Schema(description = "Number of orders", example = "5")
+            long orderCount,
+            @Schema(description = "Sum of the orders", example = "150.00")
+            BigDecimal totalAmount
+    ) {
+        public static DayResponse fromDomain(SalesDay day) {
+            return new DayResponse(day.day(), day.status().name(), day.orderCount(), day.totalAmount());
+        }
+    }
+
+    @Schema(description = "Confirmed sales of one product")
+    public record ProductResponse(
+            @Schema(description = "Product's unique identifier")
+            UUID productId,
+            @Schema(description = "Product's name", example = "Laptop")
+            String productName,
+            @Schema(description = "Units sold", example = "12")
+            long quantity,
+            @Schema(description = "Revenue of the units sold", example = "600.00")
+            BigDecimal revenue
+    ) {
+        public static ProductResponse fromDomain(ProductSales sales) {
+            return new ProductResponse(sales.productId(), sales.productName(), sales.quantity(), sales.revenue());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.jpriva.orders.application.retry;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryListener;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryTemplate;
+import org.springframework.core.retry.Retryable;
+
+public class ConflictRetryInterceptor implements MethodInterceptor {
+
+    private final RetryTemplate retryTemplate;
+
+    public ConflictRetryInterceptor(RetryPolicy retryPolicy, RetryListener retryListener) {
+        this.retryTemplate = new RetryTemplate(retryPolicy);
+        this.retryTemplate.setRetryListener(retryListener);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String useCase = invocation.getMethod().getName();
+        try {
+            return retryTemplate.execute(new Retryable<>() {
+                @Override
+                public Object execute() throws Throwable {
+                    // Each attempt runs the rest of the chain again, starting a new transaction.
+                    return invocation instanceof ProxyMethodInvocation proxied
+                            ? proxied.invocableClone().proceed()
+                            : invocation.proceed();
+                }
+
+                @Override
+                public String getName() {
+                    return useCase;
+                }
+            });
+        } catch (RetryException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.jpriva.orders.application.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.core.retry.RetryException;
+import org.springframework.core.retry.RetryListener;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.core.retry.RetryState;
+import org.springframework.core.retry.Retryable;
+
+// The policy only admits conflicts, so it also tells them apart from failures that were never retried.
+@RequiredArgsConstructor
+public class ConflictRetryListener implements RetryListener {
+
+    private final ObjectFactory<MeterRegistry> meterRegistry;
+
+    @Override
+    public void onRetryableExecution(RetryPolicy retryPolicy, Retryable<?> retryable, RetryState retryState) {
+        if (!retryState.isSuccessful() && retryPolicy.shouldRetry(retryState.getLastException())) {
+            meterRegistry.getObject().counter("orders.concurrency.conflicts",
+                    "use_case", retryable.getName(),
+                    "exception", retryState.getLastException().getClass().getSimpleName()
+            ).increment();
+        }
+    }
+
+    @Override
+    public void beforeRetry(RetryPolicy retryPolicy, Retryable<?> retryable) {
+        meterRegistry.getObject().counter("orders.concurrency.retries", "use_case", retryable.getName()).increment();
+    }
+
+    @Override
+    public void onRetryPolicyExhaustion(RetryPolicy retryPolicy, Retryable<?> retryable, RetryException exception) {
+        if (retryPolicy.shouldRetry(exception.getCause())) {
+            meterRegistry.getObject().counter("orders.concurrency.exhausted",
+                    "use_case", retryable.getName(),
+                    "exception", exception.getCause().getClass().getSimpleName()
+            ).increment();
+        }
+    }
+}
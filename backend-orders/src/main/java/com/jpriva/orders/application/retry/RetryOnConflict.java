@@ -0,0 +1,12 @@
+package com.jpriva.orders.application.retry;
+
+import java.lang.annotation.*;
+
+/**
+ * Retries the method with backoff when it fails on an optimistic locking conflict, see {@link ConflictRetryInterceptor}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
@@ -0,0 +1,152 @@
+package com.jpriva.orders.application.usecase;
+
+import com.jpriva.orders.application.dto.ProductDto;
+import com.jpriva.orders.application.dto.ProductImportLine;
+import com.jpriva.orders.domain.exceptions.CategoryErrorCodes;
+import com.jpriva.orders.domain.exceptions.CompanyErrorCodes;
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.model.Category;
+import com.jpriva.orders.domain.model.Company;
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductUpsertResult;
+import com.jpriva.orders.domain.model.vo.Money;
+import com.jpriva.orders.domain.ports.repository.CategoryRepository;
+import com.jpriva.orders.domain.ports.repository.CompanyRepository;
+import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ImportProductsUseCase {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductRepository productRepository;
+    private final CompanyRepository companyRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ImportProductsUseCase(
+            ProductRepository productRepository,
+            CompanyRepository companyRepository,
+            CategoryRepository categoryRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.orders.products.import.batch-size:500}") int batchSize
+    ) {
+        this.productRepository = productRepository;
+        this.companyRepository = companyRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public ProductDto.ImportReport importProducts(String taxId, Iterator<ProductImportLine> lines) {
+        Company company = companyRepository.findByTaxId(taxId)
+                .orElseThrow(() -> new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+        Set<UUID> categories = categoryRepository.findByCompanyId(company.getId()).stream()
+                .map(Category::getId)
+                .collect(Collectors.toSet());
+
+        Report report = new Report();
+        // Lower-cased, as the database matches SKUs case-insensitively and a batch must not repeat one.
+        Map<String, PendingRow> batch = new LinkedHashMap<>();
+        while (lines.hasNext()) {
+            ProductImportLine line = lines.next();
+            report.rows++;
+            if (line.error() != null) {
+                report.fail(line.line(), null, line.error());
+                continue;
+            }
+            Product product;
+            try {
+                product = toProduct(company.getId(), categories, line.row());
+            } catch (DomainException e) {
+                report.fail(line.line(), line.row().sku(), e.getMessage());
+                continue;
+            }
+            String key = product.getSku().toLowerCase(Locale.ROOT);
+            if (batch.containsKey(key) || batch.size() >= batchSize) {
+                upsert(company.getId(), List.copyOf(batch.values()), report);
+                batch.clear();
+            }
+            batch.put(key, new PendingRow(line.line(), product));
+        }
+        upsert(company.getId(), List.copyOf(batch.values()), report);
+
+        log.debug("Imported catalog of company {}: {} rows, {} created, {} updated, {} failed",
+                taxId, report.rows, report.created, report.updated, report.failed);
+        return report.toDto();
+    }
+
+    private Product toProduct(UUID companyId, Set<UUID> categories, ProductDto.ImportRow row) {
+        if (row.categoryId() != null && !categories.contains(row.categoryId())) {
+            throw new DomainException(CategoryErrorCodes.CATEGORY_NOT_FOUND);
+        }
+        Product product = Product.create(companyId, row.categoryId(), row.name(), row.sku(), row.description(),
+                row.stock() == null ? 0 : row.stock());
+        if (row.prices() != null) {
+            row.prices().forEach((currency, amount) ->
+                    product.changePrice(Money.fromString(currency, amount == null ? null : amount.toPlainString())));
+        }
+        return product;
+    }
+
+    private void upsert(UUID companyId, List<PendingRow> rows, Report report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Product> products = rows.stream().map(PendingRow::product).toList();
+        try {
+            ProductUpsertResult result = transactionTemplate.execute(status -> productRepository.upsertBySku(companyId, products));
+            if (result != null) {
+                report.created += result.created();
+                report.updated += result.updatedIds().size();
+            }
+        } catch (DataAccessException e) {
+            if (rows.size() > 1) {
+                rows.forEach(row -> upsert(companyId, List.of(row), report));
+                return;
+            }
+            PendingRow row = rows.getFirst();
+            report.fail(row.line(), row.product().getSku(), "Could not be stored: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private record PendingRow(long line, Product product) {
+    }
+
+    private static class Report {
+        private long rows;
+        private long created;
+        private long updated;
+        private long failed;
+        private final List<ProductDto.ImportError> errors = new ArrayList<>();
+
+        void fail(long line, String sku, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductDto.ImportError(line, sku, message));
+            }
+        }
+
+        ProductDto.ImportReport toDto() {
+            return new ProductDto.ImportReport(rows, created, updated, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.jpriva.orders.application.usecase;
 
+import com.jpriva.orders.application.dto.CursorPage;
+import com.jpriva.orders.application.dto.ExportFormat;
 import com.jpriva.orders.application.dto.OrderDto;
+import com.jpriva.orders.application.dto.OrderExport;
+import com.jpriva.orders.application.retry.RetryOnConflict;
 import com.jpriva.orders.domain.exceptions.*;
 import com.jpriva.orders.domain.model.*;
 import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.OrderCursor;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
 import com.jpriva.orders.domain.model.vo.OrderStatus;
 import com.jpriva.orders.domain.ports.repository.*;
 import lombok.RequiredArgsConstructor;
@@ -12,12 +18,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +39,13 @@ public class ManageOrderUseCase {
     private final ProductRepository productRepository;
     private final ClientRepository clientRepository;
     private final CompanyRepository companyRepository;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final OutboxRepository outboxRepository;
+    private final SalesDailyRepository salesDailyRepository;
+
+    private static final int DEFAULT_CURSOR_SIZE = 20;
+    private static final int MAX_CURSOR_SIZE = 100;
 
     @Transactional(readOnly = true)
     public Page<OrderDto.Response> getOrders(Pageable pageable, String taxId){
@@ -37,6 +56,100 @@ public class ManageOrderUseCase {
 
     }
 
+    @Transactional(readOnly = true)
+    public Page<OrderDto.SummaryResponse> getOrderSummaries(Pageable pageable, String taxId) {
+        Company company = companyRepository.findByTaxId(taxId).orElseThrow(() -> new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+
+        return orderRepository.findSummariesByCompanyId(company.getId(), pageable)
+                .map(OrderDto.SummaryResponse::fromDomain);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto.Response> getOrdersByCursor(String taxId, OrderDto.CursorQuery request) {
+        Company company = companyRepository.findByTaxId(taxId).orElseThrow(() -> new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+
+        OrderFilter filter = new OrderFilter(
+                company.getId(),
+                request.status() == null ? null : OrderStatus.fromString(request.status()),
+                request.from(),
+                request.to()
+        );
+        OrderCursor after = request.cursor() == null || request.cursor().isBlank() ? null : OrderCursor.decode(request.cursor());
+        int size = request.size() == null ? DEFAULT_CURSOR_SIZE : Math.clamp(request.size(), 1, MAX_CURSOR_SIZE);
+
+        List<Order> orders = orderRepository.findByFilterAfter(filter, after, size + 1);
+        boolean hasNext = orders.size() > size;
+        List<Order> content = hasNext ? orders.subList(0, size) : orders;
+        String nextCursor = hasNext ? OrderCursor.of(content.getLast()).encode() : null;
+        Long total = request.includeTotal() ? orderRepository.countByFilter(filter) : null;
+
+        return new CursorPage<>(
+                content.stream().map(OrderDto.Response::fromDomain).toList(),
+                nextCursor,
+                hasNext,
+                total
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDto.SummaryResponse> searchOrders(String taxId, OrderDto.SearchQuery request) {
+        OrderFilter filter = searchFilter(taxId, request.status(), request.clientId(), request.currency(),
+                request.minAmount(), request.maxAmount(), request.from(), request.to());
+        OrderCursor after = request.cursor() == null || request.cursor().isBlank() ? null : OrderCursor.decode(request.cursor());
+        int size = request.size() == null ? DEFAULT_CURSOR_SIZE : Math.clamp(request.size(), 1, MAX_CURSOR_SIZE);
+
+        List<OrderSummary> summaries = orderRepository.findSummariesByFilterAfter(filter, after, size + 1);
+        boolean hasNext = summaries.size() > size;
+        List<OrderSummary> content = hasNext ? summaries.subList(0, size) : summaries;
+        String nextCursor = hasNext ? OrderCursor.of(content.getLast()).encode() : null;
+        Long total = request.includeTotal() ? orderRepository.countByFilter(filter) : null;
+
+        return new CursorPage<>(
+                content.stream().map(OrderDto.SummaryResponse::fromDomain).toList(),
+                nextCursor,
+                hasNext,
+                total
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public OrderExport prepareExport(String taxId, OrderDto.ExportQuery request) {
+        ExportFormat format = ExportFormat.fromString(request.format());
+        OrderFilter filter = searchFilter(taxId, request.status(), request.clientId(), request.currency(),
+                request.minAmount(), request.maxAmount(), request.from(), request.to());
+        String fileName = "orders-" + taxId + "." + format.getExtension() + (request.gzip() ? ".gz" : "");
+        return new OrderExport(filter, format, request.gzip(), fileName);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderExport export, Consumer<OrderDto.SummaryResponse> sink) {
+        try (Stream<OrderSummary> summaries = orderRepository.streamSummariesByFilter(export.filter())) {
+            summaries.map(OrderDto.SummaryResponse::fromDomain).forEach(sink);
+        }
+    }
+
+    private OrderFilter searchFilter(String taxId, String status, UUID clientId, String currency,
+                                     BigDecimal minAmount, BigDecimal maxAmount, LocalDateTime from, LocalDateTime to) {
+        Company company = companyRepository.findByTaxId(taxId).orElseThrow(() -> new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new DomainException(OrderErrorCodes.ORDER_INVALID_DATE_RANGE);
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new DomainException(OrderErrorCodes.ORDER_INVALID_AMOUNT_RANGE);
+        }
+        return new OrderFilter(
+                company.getId(),
+                status == null ? null : OrderStatus.fromString(status),
+                from,
+                to,
+                clientId,
+                currency == null ? null : Currency.fromString(currency),
+                minAmount,
+                maxAmount
+        );
+    }
+
     @Transactional
     public OrderDto.Response createOrder(OrderDto.CreateRequest request) {
         Currency currency = Currency.valueOf(request.currencyCode());
@@ -53,10 +166,85 @@ public class ManageOrderUseCase {
         return OrderDto.Response.fromDomain(savedOrder);
     }
 
+    @Transactional
+    public OrderDto.BatchResponse createOrders(OrderDto.BatchRequest request) {
+        List<OrderDto.BatchOrderRequest> requests = request.orders();
+
+        Map<String, Company> companies = companyRepository.findByTaxIds(requests.stream()
+                .map(OrderDto.BatchOrderRequest::companyId)
+                .collect(Collectors.toSet()));
+        Map<UUID, Client> clients = clientRepository.findByIds(requests.stream()
+                .map(OrderDto.BatchOrderRequest::clientId)
+                .collect(Collectors.toSet()));
+        Map<UUID, Product> products = productRepository.findByIds(requests.stream()
+                .filter(r -> r.items() != null)
+                .flatMap(r -> r.items().stream())
+                .map(OrderDto.AddItemRequest::productId)
+                .collect(Collectors.toSet()));
+
+        List<Order> orders = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<OrderDto.BatchResult> results = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            try {
+                Order order = buildOrder(requests.get(index), companies, clients, products);
+                orders.add(order);
+                indexes.add(index);
+                results.add(OrderDto.BatchResult.created(index, order));
+            } catch (DomainException e) {
+                results.add(OrderDto.BatchResult.failed(index, e));
+            }
+        }
+
+        orderRepository.insertAll(orders);
+
+        int created = orders.size();
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            Set<UUID> shortages = inventoryHoldRepository.holdAll(order.getId(), order.getItems().stream()
+                    .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum, LinkedHashMap::new)));
+            if (!shortages.isEmpty()) {
+                inventoryHoldRepository.releaseAll(order.getId());
+                orderRepository.deleteById(order.getId());
+                int index = indexes.get(i);
+                results.set(index, OrderDto.BatchResult.failed(index, inventoryNotEnough(shortages, products)));
+                created--;
+            }
+        }
+        return new OrderDto.BatchResponse(created, results.size() - created, results);
+    }
+
+    private Order buildOrder(OrderDto.BatchOrderRequest request, Map<String, Company> companies, Map<UUID, Client> clients, Map<UUID, Product> products) {
+        Currency currency = Currency.fromString(request.currencyCode());
+
+        Company company = companies.get(request.companyId());
+        if (company == null) {
+            throw new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND);
+        }
+        Client client = clients.get(request.clientId());
+        if (client == null) {
+            throw new DomainException(ClientErrorCodes.CLIENT_NOT_FOUND);
+        }
+
+        Order order = Order.create(company.getId(), client.getId(), client.getName(), client.getAddress(), currency);
+        if (request.items() == null) {
+            return order;
+        }
+        for (OrderDto.AddItemRequest itemRequest : request.items()) {
+            Product product = products.get(itemRequest.productId());
+            if (product == null) {
+                throw new DomainException(ProductErrorCodes.PRODUCT_NOT_FOUND);
+            }
+            int quantity = itemRequest.quantity() == null ? 1 : itemRequest.quantity();
+            order.addItem(OrderItem.create(order.getId(), product, quantity, product.getProductPrice(currency)));
+        }
+        return order;
+    }
+
+    @RetryOnConflict
     @Transactional
     public OrderDto.Response addItem(UUID orderId, OrderDto.AddItemRequest request, String email) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new DomainException(OrderErrorCodes.ORDER_NOT_FOUND));
+        Order order = findActive(orderId);
 
         if (order.getStatus() != OrderStatus.PENDING){
             throw new DomainException(OrderErrorCodes.ORDER_STATUS_NOT_PENDING);
@@ -73,9 +261,7 @@ public class ManageOrderUseCase {
 
         ProductPrice productPrice = product.getProductPrice(order.getTotalAmount().currency());
 
-        Optional<OrderItem> itemOpt = order.getItems().stream()
-                .filter(i -> i.getProductId().equals(request.productId()))
-                .findFirst();
+        Optional<OrderItem> itemOpt = order.findItemByProductId(request.productId());
         OrderItem item;
         if (itemOpt.isPresent()){
             item = itemOpt.get();
@@ -87,16 +273,63 @@ public class ManageOrderUseCase {
 
         order.addItem(item);
 
+        if (!inventoryHoldRepository.hold(order.getId(), product.getId(), item.getQuantity())) {
+            throw new DomainException(ProductErrorCodes.INVENTORY_NOT_ENOUGH, ProductErrorCodes.INVENTORY_NOT_ENOUGH.getMessage() + " Product: " + product.getName());
+        }
+
+        Order savedOrder = orderRepository.save(order);
+        return OrderDto.Response.fromDomain(savedOrder);
+    }
+
+    @RetryOnConflict
+    @Transactional
+    public OrderDto.Response addItems(UUID orderId, OrderDto.AddItemsRequest request, String email) {
+        Order order = findActive(orderId);
+
+        if (order.getStatus() != OrderStatus.PENDING){
+            throw new DomainException(OrderErrorCodes.ORDER_STATUS_NOT_PENDING);
+        }
+
+        Map<UUID, Integer> quantities = request.items().stream()
+                .collect(Collectors.toMap(
+                        OrderDto.AddItemRequest::productId,
+                        i -> i.quantity() == null ? 1 : i.quantity(),
+                        Integer::sum,
+                        LinkedHashMap::new));
+        Map<UUID, Product> products = productRepository.findByIds(quantities.keySet());
+        Currency currency = order.getTotalAmount().currency();
+
+        List<OrderItem> items = new ArrayList<>(quantities.size());
+        for (Map.Entry<UUID, Integer> line : quantities.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                throw new DomainException(ProductErrorCodes.PRODUCT_NOT_FOUND, ProductErrorCodes.PRODUCT_NOT_FOUND.getMessage() + " Product: " + line.getKey());
+            }
+            if (product.getInventory().getQuantity() < line.getValue()) {
+                throw new DomainException(ProductErrorCodes.INVENTORY_NOT_ENOUGH, ProductErrorCodes.INVENTORY_NOT_ENOUGH.getMessage() + " Product: " + product.getName());
+            }
+            items.add(OrderItem.create(order.getId(), product, line.getValue(), product.getProductPrice(currency)));
+        }
+        order.addItems(items);
+
+        Set<UUID> shortages = inventoryHoldRepository.holdAll(order.getId(), quantities);
+        if (!shortages.isEmpty()) {
+            throw inventoryNotEnough(shortages, products);
+        }
+
         Order savedOrder = orderRepository.save(order);
         return OrderDto.Response.fromDomain(savedOrder);
     }
 
+    @RetryOnConflict
     @Transactional
     public OrderDto.Response removeItem(UUID orderId, UUID itemId, String email) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new DomainException(OrderErrorCodes.ORDER_NOT_FOUND));
+        Order order = findActive(orderId);
+
+        Optional<UUID> productId = order.findItem(itemId).map(OrderItem::getProductId);
 
         order.removeItem(itemId);
+        productId.ifPresent(id -> inventoryHoldRepository.release(order.getId(), id));
 
         Order savedOrder = orderRepository.save(order);
         return OrderDto.Response.fromDomain(savedOrder);
@@ -106,15 +339,13 @@ public class ManageOrderUseCase {
     public OrderDto.Response getOrder(UUID id, String email) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new DomainException(OrderErrorCodes.ORDER_NOT_FOUND));
-        order.changeStatus(OrderStatus.CONFIRMED);
-        order = orderRepository.save(order);
         return OrderDto.Response.fromDomain(order);
     }
 
+    @RetryOnConflict
     @Transactional
     public OrderDto.Response confirmOrder(UUID id, String email) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new DomainException(OrderErrorCodes.ORDER_NOT_FOUND));
+        Order order = findActive(id);
         if (order.getStatus() != OrderStatus.PENDING){
             throw new DomainException(OrderErrorCodes.ORDER_STATUS_NOT_PENDING);
         }
@@ -124,16 +355,20 @@ public class ManageOrderUseCase {
         }
 
         updateStockForOrder(order, StockOperation.DECREASE);
+        inventoryHoldRepository.releaseAll(order.getId());
 
         order.changeStatus(OrderStatus.CONFIRMED);
         order = orderRepository.save(order);
+        salesDailyRepository.addOrder(order, OrderStatus.CONFIRMED, 1);
+        salesDailyRepository.addProducts(order, 1);
+        outboxRepository.append(OrderEvent.of(OrderEvent.ORDER_CONFIRMED, order));
         return OrderDto.Response.fromDomain(order);
     }
 
+    @RetryOnConflict
     @Transactional
     public OrderDto.Response cancelOrder(UUID orderId, String email){
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new DomainException(OrderErrorCodes.ORDER_NOT_FOUND));
+        Order order = findActive(orderId);
         if (order.getStatus() == OrderStatus.CANCELLED){
             return OrderDto.Response.fromDomain(order);
         }
@@ -144,17 +379,38 @@ public class ManageOrderUseCase {
             throw new DomainException(OrderErrorCodes.ORDER_ALREADY_DELIVERED);
         }
         if (order.getStatus() == OrderStatus.PENDING){
+            inventoryHoldRepository.releaseAll(order.getId());
             order.changeStatus(OrderStatus.CANCELLED);
             orderRepository.save(order);
+            salesDailyRepository.addOrder(order, OrderStatus.CANCELLED, 1);
+            outboxRepository.append(OrderEvent.of(OrderEvent.ORDER_CANCELLED, order));
         }
         if (order.getStatus() == OrderStatus.CONFIRMED){
             returnStock(order);
             order.changeStatus(OrderStatus.CANCELLED);
             orderRepository.save(order);
+            salesDailyRepository.addOrder(order, OrderStatus.CONFIRMED, -1);
+            salesDailyRepository.addProducts(order, -1);
+            salesDailyRepository.addOrder(order, OrderStatus.CANCELLED, 1);
+            outboxRepository.append(OrderEvent.of(OrderEvent.ORDER_CANCELLED, order));
         }
         return OrderDto.Response.fromDomain(order);
     }
 
+    private Order findActive(UUID orderId) {
+        return orderRepository.findActiveById(orderId)
+                .orElseThrow(() -> new DomainException(orderRepository.findById(orderId).isPresent()
+                        ? OrderErrorCodes.ORDER_ARCHIVED
+                        : OrderErrorCodes.ORDER_NOT_FOUND));
+    }
+
+    private static DomainException inventoryNotEnough(Set<UUID> shortages, Map<UUID, Product> products) {
+        String names = shortages.stream()
+                .map(id -> products.get(id).getName())
+                .collect(Collectors.joining(", "));
+        return new DomainException(ProductErrorCodes.INVENTORY_NOT_ENOUGH, ProductErrorCodes.INVENTORY_NOT_ENOUGH.getMessage() + " Products: " + names);
+    }
+
     private void returnStock(Order order){
         if (order == null){
             throw new DomainException(OrderErrorCodes.ORDER_NOT_FOUND);
@@ -166,31 +422,21 @@ public class ManageOrderUseCase {
     }
 
     private void updateStockForOrder(Order order, StockOperation operation) {
-        Map<UUID, OrderItem> mapItems = order.getItems().stream().collect(Collectors.toMap(OrderItem::getProductId, Function.identity()));
-        Set<UUID> productIds = mapItems.keySet();
-        Map<UUID, Product> products = productRepository.findByIds(productIds);
-
-        for (UUID productId:productIds){
-            Product product = products.get(productId);
-            OrderItem item = mapItems.get(productId);
-            
-            if (item == null){
-                throw new DomainException(OrderErrorCodes.ORDER_ITEM_NOT_FOUND);
-            }
-            if (product == null) {
-                throw new DomainException(ProductErrorCodes.PRODUCT_NOT_FOUND);
-            }
+        Map<UUID, Integer> quantities = order.getItems().stream()
+                .collect(Collectors.toMap(OrderItem::getProductId, OrderItem::getQuantity, Integer::sum));
 
-            if (operation == StockOperation.DECREASE) {
-                if (product.getInventory().getQuantity() < item.getQuantity()) {
-                    throw new DomainException(ProductErrorCodes.INVENTORY_NOT_ENOUGH, ProductErrorCodes.INVENTORY_NOT_ENOUGH.getMessage() + " Product: " + product.getName());
-                }
-                product.decreaseStock(item.getQuantity());
-            } else {
-                product.increaseStock(item.getQuantity());
-            }
-            
-            productRepository.save(product);
+        if (operation == StockOperation.INCREASE) {
+            inventoryRepository.release(quantities);
+            return;
+        }
+
+        Set<UUID> shortages = inventoryRepository.reserve(quantities);
+        if (!shortages.isEmpty()) {
+            String products = order.getItems().stream()
+                    .filter(i -> shortages.contains(i.getProductId()))
+                    .map(OrderItem::getProductName)
+                    .collect(Collectors.joining(", "));
+            throw new DomainException(ProductErrorCodes.INVENTORY_NOT_ENOUGH, ProductErrorCodes.INVENTORY_NOT_ENOUGH.getMessage() + " Products: " + products);
         }
     }
 
@@ -1,30 +1,57 @@
 package com.jpriva.orders.application.usecase;
 
+import com.jpriva.orders.application.dto.CursorPage;
 import com.jpriva.orders.application.dto.InventoryData;
 import com.jpriva.orders.application.dto.ProductDto;
 import com.jpriva.orders.domain.exceptions.CompanyErrorCodes;
+import com.jpriva.orders.domain.exceptions.MoneyErrorCodes;
 import com.jpriva.orders.domain.exceptions.DomainException;
 import com.jpriva.orders.domain.exceptions.ProductErrorCodes;
 import com.jpriva.orders.domain.model.Company;
 import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductPrice;
+import com.jpriva.orders.domain.model.ProductSuggestion;
 import com.jpriva.orders.domain.model.vo.Money;
+import com.jpriva.orders.domain.model.vo.ProductCursor;
+import com.jpriva.orders.domain.model.vo.ProductFilter;
 import com.jpriva.orders.domain.ports.report.ReportGeneratorPort;
+import com.jpriva.orders.domain.ports.repository.CatalogVersionRepository;
 import com.jpriva.orders.domain.ports.repository.CompanyRepository;
+import com.jpriva.orders.domain.ports.repository.InventoryRepository;
 import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import com.jpriva.orders.domain.ports.search.ProductSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ManageProductUseCase {
 
+    private static final int DEFAULT_CURSOR_SIZE = 50;
+    private static final int MAX_CURSOR_SIZE = 200;
+    private static final int DEFAULT_SUGGESTIONS = 10;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final ProductRepository productRepository;
     private final CompanyRepository companyRepository;
+    private final InventoryRepository inventoryRepository;
     private final ReportGeneratorPort reportGenerator;
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final ProductSearchIndex productSearchIndex;
 
     @Transactional
     public ProductDto.Response createProduct(ProductDto.CreateRequest request) {
@@ -47,15 +74,127 @@ public class ManageProductUseCase {
         return ProductDto.Response.fromDomain(savedProduct);
     }
 
+    @Transactional
+    public ProductDto.BulkPriceReport updatePrices(String taxId, ProductDto.BulkPriceRequest request) {
+        Company company = companyRepository.findByTaxId(taxId)
+                .orElseThrow(()->new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+        List<ProductDto.PriceRow> rows = request.prices();
+        ProductRefs refs = productRefs(company.getId(), rows, ProductDto.PriceRow::productId, ProductDto.PriceRow::sku);
+
+        List<ProductDto.RowError> errors = new ArrayList<>();
+        Map<String, Integer> rowByPrice = new LinkedHashMap<>();
+        Map<String, ProductPrice> prices = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductDto.PriceRow row = rows.get(i);
+            try {
+                UUID productId = refs.resolve(row.productId(), row.sku());
+                if (row.price() != null && row.price().compareTo(BigDecimal.ZERO) <= 0) {
+                    throw new DomainException(MoneyErrorCodes.MONEY_ERROR_AMOUNT, "Price must be positive");
+                }
+                Money money = Money.fromString(row.currencyCode(), row.price() == null ? null : row.price().toPlainString());
+                String key = productId + ":" + money.currency().getCode();
+                Integer previous = rowByPrice.put(key, i);
+                if (previous != null) {
+                    errors.add(new ProductDto.RowError(previous, "Superseded by row " + i));
+                }
+                prices.put(key, ProductPrice.create(productId, money));
+            } catch (DomainException e) {
+                errors.add(new ProductDto.RowError(i, e.getMessage()));
+            }
+        }
+
+        int changed = productRepository.upsertPrices(company.getId(), List.copyOf(prices.values())).size();
+        errors.sort(Comparator.comparingInt(ProductDto.RowError::row));
+        return new ProductDto.BulkPriceReport(changed, prices.size() - changed, errors.size(), errors);
+    }
+
+    @Transactional
+    public ProductDto.ReceiveStockReport receiveStock(String taxId, ProductDto.ReceiveStockRequest request) {
+        Company company = companyRepository.findByTaxId(taxId)
+                .orElseThrow(()->new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+        List<ProductDto.StockLine> lines = request.lines();
+        ProductRefs refs = productRefs(company.getId(), lines, ProductDto.StockLine::productId, ProductDto.StockLine::sku);
+
+        List<ProductDto.RowError> errors = new ArrayList<>();
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        Map<UUID, List<Integer>> linesByProduct = new HashMap<>();
+        for (int i = 0; i < lines.size(); i++) {
+            ProductDto.StockLine line = lines.get(i);
+            try {
+                UUID productId = refs.resolve(line.productId(), line.sku());
+                if (line.quantity() == null || line.quantity() <= 0) {
+                    throw new DomainException(ProductErrorCodes.INVENTORY_AMOUNT_NEGATIVE);
+                }
+                quantities.merge(productId, line.quantity(), Integer::sum);
+                linesByProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(i);
+            } catch (DomainException e) {
+                errors.add(new ProductDto.RowError(i, e.getMessage()));
+            }
+        }
+
+        Map<UUID, Integer> onHand = inventoryRepository.receive(quantities);
+        List<ProductDto.StockLevel> stock = new ArrayList<>();
+        quantities.keySet().forEach(productId -> {
+            if (onHand.containsKey(productId)) {
+                stock.add(new ProductDto.StockLevel(productId, onHand.get(productId)));
+            } else {
+                linesByProduct.get(productId).forEach(i ->
+                        errors.add(new ProductDto.RowError(i, ProductErrorCodes.INVENTORY_NOT_FOUND.getMessage())));
+            }
+        });
+        errors.sort(Comparator.comparingInt(ProductDto.RowError::row));
+        return new ProductDto.ReceiveStockReport(stock, errors.size(), errors);
+    }
+
+    private <T> ProductRefs productRefs(UUID companyId, List<T> rows, Function<T, UUID> productId, Function<T, String> sku) {
+        Set<UUID> ownedIds = productRepository.findIdsOfCompany(companyId, rows.stream()
+                .map(productId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        Map<String, UUID> idsBySku = productRepository.findIdsBySkus(companyId, rows.stream()
+                .filter(row -> productId.apply(row) == null && sku.apply(row) != null && !sku.apply(row).isBlank())
+                .map(row -> sku.apply(row).trim())
+                .collect(Collectors.toSet()));
+        return new ProductRefs(ownedIds, idsBySku);
+    }
+
+    private record ProductRefs(Set<UUID> ownedIds, Map<String, UUID> idsBySku) {
+
+        UUID resolve(UUID productId, String sku) {
+            if (productId != null) {
+                if (!ownedIds.contains(productId)) {
+                    throw new DomainException(ProductErrorCodes.PRODUCT_NOT_FOUND);
+                }
+                return productId;
+            }
+            if (sku == null || sku.isBlank()) {
+                throw new DomainException(ProductErrorCodes.PRODUCT_ID_NULL, "Either productId or sku is required");
+            }
+            UUID resolved = idsBySku.get(sku.trim());
+            if (resolved == null) {
+                throw new DomainException(ProductErrorCodes.PRODUCT_NOT_FOUND);
+            }
+            return resolved;
+        }
+    }
+
     @Transactional
     public ProductDto.Response increaseStock(UUID productId, int amount) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new DomainException(ProductErrorCodes.PRODUCT_ID_NULL));
 
         product.increaseStock(amount);
-        
-        Product savedProduct = productRepository.save(product);
-        return ProductDto.Response.fromDomain(savedProduct);
+        inventoryRepository.release(Map.of(productId, amount));
+        return ProductDto.Response.fromDomain(product);
+    }
+
+    @Transactional
+    public ProductDto.Response reshardInventory(UUID productId, ProductDto.ReshardRequest request) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new DomainException(ProductErrorCodes.PRODUCT_NOT_FOUND));
+
+        inventoryRepository.reshard(productId, request.shards());
+        return ProductDto.Response.fromDomain(product);
     }
     
     @Transactional(readOnly = true)
@@ -73,6 +212,53 @@ public class ManageProductUseCase {
         return products.stream().map(ProductDto.Response::fromDomain).toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto.Response> getProductsByCursor(String taxId, ProductDto.CursorQuery request) {
+        Company company = companyRepository.findByTaxId(taxId)
+                .orElseThrow(()->new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+
+        ProductFilter filter = new ProductFilter(company.getId(), request.categoryId(), request.skuPrefix());
+        ProductCursor after = request.cursor() == null || request.cursor().isBlank() ? null : ProductCursor.decode(request.cursor());
+        int size = request.size() == null ? DEFAULT_CURSOR_SIZE : Math.clamp(request.size(), 1, MAX_CURSOR_SIZE);
+
+        List<Product> products = productRepository.findByFilterAfter(filter, after, size + 1);
+        boolean hasNext = products.size() > size;
+        List<Product> content = hasNext ? products.subList(0, size) : products;
+        String nextCursor = hasNext ? ProductCursor.of(content.getLast()).encode() : null;
+
+        return new CursorPage<>(
+                content.stream().map(ProductDto.Response::fromDomain).toList(),
+                nextCursor,
+                hasNext,
+                null
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductDto.Suggestion> suggestProducts(String taxId, String query, Integer limit) {
+        Company company = companyRepository.findByTaxId(taxId)
+                .orElseThrow(()->new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+        String term = query == null ? "" : query.trim();
+        if (term.isEmpty()) {
+            return List.of();
+        }
+        int size = limit == null ? DEFAULT_SUGGESTIONS : Math.clamp(limit, 1, MAX_SUGGESTIONS);
+
+        List<ProductSuggestion> suggestions = productSearchIndex.search(company.getId(), term, size)
+                .orElseGet(() -> productRepository.findByFilterAfter(new ProductFilter(company.getId(), null, term), null, size).stream()
+                        .map(product -> new ProductSuggestion(product.getId(), product.getSku(), product.getName()))
+                        .toList());
+        return suggestions.stream().map(ProductDto.Suggestion::fromDomain).toList();
+    }
+
+    // Read before the catalog, so a catalog is never older than the version it is tagged with.
+    @Transactional(readOnly = true)
+    public long getCatalogVersion(String taxId) {
+        Company company = companyRepository.findByTaxId(taxId)
+                .orElseThrow(()->new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+        return catalogVersionRepository.find(company.getId());
+    }
+
     @Transactional(readOnly = true)
     protected InventoryData fetchInventoryData(String taxId) {
         Company company = companyRepository.findByTaxId(taxId)
@@ -0,0 +1,85 @@
+package com.jpriva.orders.application.usecase;
+
+import com.jpriva.orders.application.dto.SalesDto;
+import com.jpriva.orders.domain.exceptions.CompanyErrorCodes;
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.SalesErrorCodes;
+import com.jpriva.orders.domain.model.Company;
+import com.jpriva.orders.domain.model.SalesDay;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+import com.jpriva.orders.domain.ports.repository.CompanyRepository;
+import com.jpriva.orders.domain.ports.repository.SalesDailyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ManageSalesUseCase {
+
+    private final CompanyRepository companyRepository;
+    private final SalesDailyRepository salesDailyRepository;
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int DEFAULT_TOP = 10;
+    private static final int MAX_TOP = 100;
+
+    @Transactional(readOnly = true)
+    public SalesDto.ReportResponse getSalesReport(String taxId, SalesDto.ReportQuery query) {
+        Company company = companyRepository.findByTaxId(taxId).orElseThrow(() -> new DomainException(CompanyErrorCodes.COMPANY_NOT_FOUND));
+
+        if (query.currency() == null || query.currency().isBlank()) {
+            throw new DomainException(SalesErrorCodes.SALES_CURRENCY_REQUIRED);
+        }
+        Currency currency = Currency.fromString(query.currency());
+        LocalDate to = query.to() == null ? LocalDate.now() : query.to();
+        LocalDate from = query.from() == null ? to.minusDays(DEFAULT_RANGE_DAYS - 1) : query.from();
+        if (from.isAfter(to)) {
+            throw new DomainException(SalesErrorCodes.SALES_INVALID_RANGE);
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new DomainException(SalesErrorCodes.SALES_RANGE_TOO_LONG,
+                    SalesErrorCodes.SALES_RANGE_TOO_LONG.getMessage() + ", max " + MAX_RANGE_DAYS + " days");
+        }
+        int top = query.top() == null ? DEFAULT_TOP : Math.clamp(query.top(), 1, MAX_TOP);
+
+        List<SalesDay> days = salesDailyRepository.findDays(company.getId(), currency, from, to);
+        List<SalesDto.ProductResponse> topProducts = salesDailyRepository.findTopProducts(company.getId(), currency, from, to, top)
+                .stream()
+                .map(SalesDto.ProductResponse::fromDomain)
+                .toList();
+
+        return new SalesDto.ReportResponse(
+                from,
+                to,
+                currency.getCode(),
+                orderCount(days, OrderStatus.CONFIRMED),
+                amount(days, OrderStatus.CONFIRMED),
+                orderCount(days, OrderStatus.CANCELLED),
+                amount(days, OrderStatus.CANCELLED),
+                days.stream().map(SalesDto.DayResponse::fromDomain).toList(),
+                topProducts
+        );
+    }
+
+    private static long orderCount(List<SalesDay> days, OrderStatus status) {
+        return days.stream()
+                .filter(day -> day.status() == status)
+                .mapToLong(SalesDay::orderCount)
+                .sum();
+    }
+
+    private static BigDecimal amount(List<SalesDay> days, OrderStatus status) {
+        return days.stream()
+                .filter(day -> day.status() == status)
+                .map(SalesDay::totalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,80 @@
+package com.jpriva.orders.config;
+
+import com.jpriva.orders.infrastructure.persistence.adapter.CatalogVersionRepositoryAdapter;
+import com.jpriva.orders.infrastructure.persistence.adapter.CoalescingInventoryRepository;
+import com.jpriva.orders.infrastructure.persistence.adapter.InventoryGrantLedger;
+import com.jpriva.orders.infrastructure.persistence.adapter.InventoryRepositoryAdapter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+
+/**
+ * Batches run on their own pool: the transactions waiting on them already hold main pool connections.
+ * <p>
+ * Batches commit before the orders waiting on them, recording what they granted in {@code inventory_grants}.
+ * A rolled back order gets its units back right away; if that release fails or the JVM stops first, the
+ * grant is swept back to stock once it is older than {@code grant-ttl}, which must exceed the longest
+ * order transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.orders.inventory.coalescing.enabled", havingValue = "true")
+public class InventoryCoalescingConfig implements DisposableBean {
+
+    @Value("${app.orders.inventory.coalescing.window:PT0.002S}")
+    private Duration window;
+
+    @Value("${app.orders.inventory.coalescing.timeout:PT5S}")
+    private Duration timeout;
+
+    @Value("${app.orders.inventory.coalescing.grant-ttl:PT2M}")
+    private Duration grantTtl;
+
+    @Value("${app.orders.inventory.coalescing.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${app.orders.inventory.coalescing.threads:4}")
+    private int threads;
+
+    private HikariDataSource batchDataSource;
+
+    @Bean
+    @Primary
+    public CoalescingInventoryRepository coalescingInventoryRepository(
+            InventoryRepositoryAdapter inventoryRepositoryAdapter,
+            JdbcTemplate jdbcTemplate,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        batchDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        batchDataSource.setPoolName("inventory-coalescer");
+        batchDataSource.setMaximumPoolSize(threads);
+        JdbcTemplate batchJdbcTemplate = new JdbcTemplate(batchDataSource);
+        InventoryRepositoryAdapter batches = new InventoryRepositoryAdapter(batchJdbcTemplate, objectMapper,
+                new CatalogVersionRepositoryAdapter(batchJdbcTemplate, objectMapper));
+        return new CoalescingInventoryRepository(inventoryRepositoryAdapter, batches,
+                new InventoryGrantLedger(jdbcTemplate, objectMapper),
+                new InventoryGrantLedger(batchJdbcTemplate, objectMapper),
+                new TransactionTemplate(new JdbcTransactionManager(batchDataSource)),
+                meterRegistry, window, timeout, grantTtl, maxBatchSize, threads);
+    }
+
+    @Override
+    public void destroy() {
+        if (batchDataSource != null) {
+            batchDataSource.close();
+        }
+    }
+}
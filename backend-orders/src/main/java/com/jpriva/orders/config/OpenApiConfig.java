@@ -1,16 +1,23 @@
 package com.jpriva.orders.config;
 
+import com.jpriva.orders.infrastructure.rest.controller.OrderController;
+import com.jpriva.orders.infrastructure.rest.filter.IdempotencyFilter;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.info.Contact;
 import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.HeaderParameter;
 import io.swagger.v3.oas.models.security.SecurityRequirement;
 import io.swagger.v3.oas.models.security.SecurityScheme;
 import org.springdoc.core.customizers.OperationCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.method.HandlerMethod;
 
 @Configuration
@@ -53,4 +60,21 @@ public class OpenApiConfig {
             return operation;
         };
     }
-}
\ No newline at end of file
+
+    @Bean
+    public OperationCustomizer idempotencyKeyHeader() {
+        return (Operation operation, HandlerMethod handlerMethod) -> {
+            boolean mutation = handlerMethod.hasMethodAnnotation(PostMapping.class)
+                    || handlerMethod.hasMethodAnnotation(PutMapping.class)
+                    || handlerMethod.hasMethodAnnotation(DeleteMapping.class);
+            if (mutation && handlerMethod.getBeanType() == OrderController.class) {
+                operation.addParametersItem(new HeaderParameter()
+                        .name(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER)
+                        .required(false)
+                        .description("Retries with the same key replay the first successful response")
+                        .schema(new StringSchema().maxLength(100)));
+            }
+            return operation;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.jpriva.orders.config;
+
+import com.jpriva.orders.infrastructure.persistence.adapter.CachingProductRepository;
+import com.jpriva.orders.infrastructure.persistence.adapter.ProductRepositoryAdapter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.orders.products.cache.enabled", havingValue = "true")
+public class ProductCacheConfig {
+
+    @Value("${app.orders.products.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.orders.products.cache.ttl:PT1M}")
+    private Duration ttl;
+
+    @Bean
+    @Primary
+    public CachingProductRepository cachingProductRepository(ProductRepositoryAdapter productRepositoryAdapter, MeterRegistry meterRegistry) {
+        return new CachingProductRepository(productRepositoryAdapter, meterRegistry, maxSize, ttl);
+    }
+}
@@ -0,0 +1,50 @@
+package com.jpriva.orders.config;
+
+import com.jpriva.orders.application.retry.ConflictRetryInterceptor;
+import com.jpriva.orders.application.retry.ConflictRetryListener;
+import com.jpriva.orders.application.retry.RetryOnConflict;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+
+/**
+ * Applies {@link RetryOnConflict} through a {@code RetryTemplate} rather than {@code @Retryable}, whose
+ * interceptor takes no listener: the listener is what counts retries and calls that ran out of them.
+ */
+@Configuration
+public class RetryConfig {
+
+    @Bean
+    static ConflictRetryPostProcessor conflictRetryPostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+                .includes(OptimisticLockingFailureException.class, OptimisticLockException.class)
+                .maxRetries(environment.getProperty("app.orders.retry.max-retries", Long.class, 3L))
+                .delay(Duration.ofMillis(environment.getProperty("app.orders.retry.delay", Long.class, 20L)))
+                .jitter(Duration.ofMillis(environment.getProperty("app.orders.retry.jitter", Long.class, 10L)))
+                .multiplier(environment.getProperty("app.orders.retry.multiplier", Double.class, 2.0))
+                .maxDelay(Duration.ofMillis(environment.getProperty("app.orders.retry.max-delay", Long.class, 200L)))
+                .build();
+        return new ConflictRetryPostProcessor(new ConflictRetryInterceptor(retryPolicy, new ConflictRetryListener(meterRegistry)));
+    }
+
+    // Goes in front of the transaction advice already on the bean, so every attempt gets its own transaction.
+    static class ConflictRetryPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+        ConflictRetryPostProcessor(MethodInterceptor interceptor) {
+            this.advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(RetryOnConflict.class), interceptor);
+            setBeforeExistingAdvisors(true);
+            setProxyTargetClass(true);
+        }
+    }
+}
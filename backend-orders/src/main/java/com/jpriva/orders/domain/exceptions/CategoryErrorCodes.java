@@ -9,7 +9,8 @@ public enum CategoryErrorCodes implements ErrorCode {
     CATEGORY_ID_NULL("CAT_001", "Category id cannot be empty", 400),
     CATEGORY_COMPANY_ID_NULL("CAT_002", "Category company id cannot be empty", 400),
     CATEGORY_NAME_NULL("CAT_003", "Category name cannot be empty", 400),
-    CATEGORY_PERSISTENCE_ERROR("CAT_004", "Error persisting category", 500);
+    CATEGORY_PERSISTENCE_ERROR("CAT_004", "Error persisting category", 500),
+    CATEGORY_NOT_FOUND("CAT_005", "Category not found", 404);
 
     private final String code;
     private final String message;
@@ -0,0 +1,16 @@
+package com.jpriva.orders.domain.exceptions;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum IdempotencyErrorCodes implements ErrorCode {
+    IDEMPOTENCY_KEY_INVALID("IDEMPOTENCY_001", "Idempotency key must be between 1 and 100 characters", 400),
+    IDEMPOTENCY_REQUEST_IN_PROGRESS("IDEMPOTENCY_002", "A request with this idempotency key is still in progress", 409),
+    IDEMPOTENCY_KEY_REUSED("IDEMPOTENCY_003", "Idempotency key was already used for a different request", 422);
+
+    private final String code;
+    private final String message;
+    private final int httpStatus;
+}
@@ -27,6 +27,12 @@ public enum OrderErrorCodes implements ErrorCode {
     ORDER_ALREADY_DELIVERED("ORDER_017", "Order has already been delivered", 400),
     ORDER_STATUS_NOT_CONFIRMED("ORDER_018", "Order status is not confirmed", 400),
     ORDER_NOT_ALLOWED("ORDER_019", "Order not allowed", 403),
+    ORDER_INVALID_CURSOR("ORDER_020", "Invalid order cursor", 400),
+    ORDER_STATUS_INVALID("ORDER_021", "Order status not supported", 400),
+    ORDER_INVALID_DATE_RANGE("ORDER_022", "Start date must be before end date", 400),
+    ORDER_INVALID_AMOUNT_RANGE("ORDER_023", "Minimum amount cannot be greater than maximum amount", 400),
+    ORDER_EXPORT_FORMAT_INVALID("ORDER_024", "Export format not supported", 400),
+    ORDER_ARCHIVED("ORDER_025", "Order is archived and can no longer change", 400),
 
     ORDER_ITEM_ID_NULL("ORDER_ITEM_001", "Order detail id cannot be empty", 400),
     ORDER_PRODUCT_NULL("ORDER_ITEM002", "Product cannot be empty", 400),
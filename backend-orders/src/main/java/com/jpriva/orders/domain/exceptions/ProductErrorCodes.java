@@ -15,6 +15,8 @@ public enum ProductErrorCodes implements ErrorCode {
     PRODUCT_NOT_FOUND("PROD_006", "Product not found", 404),
     PRODUCT_INVENTORY_NULL("PROD_007", "Product inventory cannot be empty", 400),
     PRODUCT_NO_PRODUCTS("PROD_008", "Company has no products", 404),
+    PRODUCT_INVALID_CURSOR("PROD_009", "Invalid product cursor", 400),
+    PRODUCT_IMPORT_INVALID("PROD_010", "Invalid product import file", 400),
 
     PRODUCT_PRICE_ID_NULL("PROD_PRICE_001", "Product price id cannot be empty", 400),
     PRODUCT_PRICE_NULL("PROD_PRICE_002", "Product price cannot be empty", 400),
@@ -25,7 +27,8 @@ public enum ProductErrorCodes implements ErrorCode {
     INVENTORY_QUANTITY_NEGATIVE("INV_002", "Inventory quantity cannot be negative", 400),
     INVENTORY_PERSISTENCE_ERROR("INV_003", "Error persisting inventory", 500),
     INVENTORY_AMOUNT_NEGATIVE("INV_004", "Amount must be positive", 400),
-    INVENTORY_NOT_ENOUGH("INV_005", "Not enough units in the inventory", 400);
+    INVENTORY_NOT_ENOUGH("INV_005", "Not enough units in the inventory", 400),
+    INVENTORY_NOT_FOUND("INV_006", "Inventory not found", 404);
 
     private final String code;
     private final String message;
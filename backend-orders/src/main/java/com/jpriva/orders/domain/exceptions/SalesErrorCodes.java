@@ -0,0 +1,16 @@
+package com.jpriva.orders.domain.exceptions;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum SalesErrorCodes implements ErrorCode {
+    SALES_CURRENCY_REQUIRED("SALES_001", "Currency is required", 400),
+    SALES_INVALID_RANGE("SALES_002", "Sales range must have a start date not after its end date", 400),
+    SALES_RANGE_TOO_LONG("SALES_003", "Sales range is too long", 400);
+
+    private final String code;
+    private final String message;
+    private final int httpStatus;
+}
@@ -0,0 +1,13 @@
+package com.jpriva.orders.domain.model;
+
+public record IdempotencyRecord(
+        String requestHash,
+        Integer status,
+        String contentType,
+        String location,
+        String body
+) {
+    public boolean isCompleted() {
+        return status != null;
+    }
+}
@@ -14,9 +14,10 @@ public class Inventory {
     private final UUID productId;
     private Integer quantity;
     private LocalDateTime lastUpdated;
+    private final Long version;
 
     @Builder
-    public Inventory(UUID id, UUID productId, Integer quantity, LocalDateTime lastUpdated) {
+    public Inventory(UUID id, UUID productId, Integer quantity, LocalDateTime lastUpdated, Long version) {
         if (id == null) {
             throw new DomainException(ProductErrorCodes.INVENTORY_ID_NULL);
         }
@@ -31,6 +32,7 @@ public class Inventory {
         this.productId = productId;
         this.quantity = quantity;
         this.lastUpdated = lastUpdated != null ? lastUpdated : LocalDateTime.now();
+        this.version = version;
     }
 
     public static Inventory create(UUID productId, Integer quantity) {
@@ -41,9 +43,9 @@ public class Inventory {
                 .build();
     }
 
-    public static Inventory fromPersistence(UUID id, UUID productId, Integer quantity, LocalDateTime lastUpdated) {
+    public static Inventory fromPersistence(UUID id, UUID productId, Integer quantity, LocalDateTime lastUpdated, Long version) {
         try {
-            return new Inventory(id, productId, quantity, lastUpdated);
+            return new Inventory(id, productId, quantity, lastUpdated, version);
         } catch (DomainException e) {
             throw new DomainException(ProductErrorCodes.INVENTORY_PERSISTENCE_ERROR, e);
         }
@@ -6,13 +6,13 @@ import com.jpriva.orders.domain.exceptions.OrderErrorCodes;
 import com.jpriva.orders.domain.model.vo.Currency;
 import com.jpriva.orders.domain.model.vo.Money;
 import com.jpriva.orders.domain.model.vo.OrderStatus;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Getter
 public class Order {
@@ -25,10 +25,24 @@ public class Order {
     private LocalDateTime orderDate;
     private OrderStatus status;
     private Money totalAmount;
-    private List<OrderItem> items;
+    private final Long version;
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, OrderItem> itemsById = new LinkedHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, OrderItem> itemsByProductId = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, BigDecimal> lineTotals = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private BigDecimal itemsTotal = BigDecimal.ZERO.setScale(2);
+    @Getter(AccessLevel.NONE)
+    private final Set<UUID> addedItemIds = new LinkedHashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<UUID> changedItemIds = new LinkedHashSet<>();
+    @Getter(AccessLevel.NONE)
+    private final Set<UUID> removedItemIds = new LinkedHashSet<>();
 
     @Builder
-    public Order (UUID id, UUID companyId, UUID clientId, String clientName, String address, LocalDateTime orderDate, OrderStatus status, Money totalAmount, List<OrderItem> items){
+    public Order (UUID id, UUID companyId, UUID clientId, String clientName, String address, LocalDateTime orderDate, OrderStatus status, Money totalAmount, List<OrderItem> items, Long version){
         if (id == null){
             throw new DomainException(OrderErrorCodes.ORDER_ID_NULL);
         }
@@ -41,10 +55,6 @@ public class Order {
         if (clientName == null || clientName.isBlank()){
             throw new DomainException(OrderErrorCodes.ORDER_CLIENT_NAME_NULL);
         }
-        if (items==null) {
-            items = new ArrayList<>();
-        }
-
         this.id = id;
         this.companyId = companyId;
         this.clientId = clientId;
@@ -53,7 +63,10 @@ public class Order {
         changeOrderDate(orderDate);
         changeStatus(status);
         changeTotalAmount(totalAmount);
-        this.items = items;
+        if (items != null) {
+            items.forEach(this::index);
+        }
+        this.version = version;
     }
 
     public static Order create(UUID companyId, UUID clientId, String clientName, String address, Currency currency){
@@ -74,7 +87,11 @@ public class Order {
             throw new DomainException(MoneyErrorCodes.MONEY_ERROR_CURRENCY);
         }
         this.totalAmount = Money.zero(currency);
-        this.items = new ArrayList<>();
+        this.itemsById.keySet().forEach(this::trackRemoved);
+        this.itemsById.clear();
+        this.itemsByProductId.clear();
+        this.lineTotals.clear();
+        this.itemsTotal = BigDecimal.ZERO.setScale(2);
     }
 
     public void changeAddress(String address) {
@@ -113,24 +130,52 @@ public class Order {
             throw new DomainException(OrderErrorCodes.ORDER_ITEM_CURRENCY_MISMATCH);
         }
 
-        OrderItem itemDuplication = this.items.stream().filter(i -> i.getProductId().equals(item.getProductId())).findFirst().orElse(null);
-        if (itemDuplication != null) {
+        if (this.itemsByProductId.containsKey(item.getProductId())) {
             throw new DomainException(OrderErrorCodes.ORDER_ITEM_ALREADY_ADDED);
         }
-        this.items.add(item);
-        calculateTotal();
+        index(item);
+        trackAdded(item.getId());
+        updateTotal();
+    }
+
+    public void addItems(Collection<OrderItem> newItems) {
+        if (newItems == null || newItems.isEmpty()) {
+            throw new DomainException(OrderErrorCodes.ORDER_NO_ITEM_ADDED);
+        }
+        for (OrderItem item : newItems) {
+            if (item == null) {
+                throw new DomainException(OrderErrorCodes.ORDER_NO_ITEM_ADDED);
+            }
+            if (!item.getUnitPrice().currency().equals(this.totalAmount.currency())) {
+                throw new DomainException(OrderErrorCodes.ORDER_ITEM_CURRENCY_MISMATCH);
+            }
+        }
+        for (OrderItem item : newItems) {
+            OrderItem existing = this.itemsByProductId.get(item.getProductId());
+            if (existing == null) {
+                index(item);
+                trackAdded(item.getId());
+            } else {
+                existing.changeQuantity(item.getQuantity());
+                refreshLine(existing);
+                trackChanged(existing.getId());
+            }
+        }
+        updateTotal();
     }
 
     public void removeItem(UUID itemId) {
         if (itemId == null) {
             throw new DomainException(OrderErrorCodes.ORDER_ITEM_ID_NULL);
         }
-        OrderItem item = this.items.stream().filter(i -> i.getId().equals(itemId)).findFirst().orElse(null);
+        OrderItem item = this.itemsById.remove(itemId);
         if (item == null){
             return;
         }
-        this.items.remove(item);
-        calculateTotal();
+        this.itemsByProductId.remove(item.getProductId());
+        this.itemsTotal = this.itemsTotal.subtract(this.lineTotals.remove(itemId));
+        trackRemoved(itemId);
+        updateTotal();
     }
 
     public void changeItemPrice(UUID itemId, Money price){
@@ -145,13 +190,15 @@ public class Order {
                 throw new DomainException(OrderErrorCodes.ORDER_ITEM_CURRENCY_MISMATCH);
             }
 
-            OrderItem item = this.items.stream()
-                    .filter(i -> i.getId().equals(itemId))
-                    .findFirst()
-                    .orElseThrow(() -> new DomainException(OrderErrorCodes.ORDER_ITEM_NOT_FOUND));
+            OrderItem item = this.itemsById.get(itemId);
+            if (item == null) {
+                throw new DomainException(OrderErrorCodes.ORDER_ITEM_NOT_FOUND);
+            }
 
             item.changeUnitPrice(price);
-            calculateTotal();
+            refreshLine(item);
+            trackChanged(itemId);
+            updateTotal();
         }catch (NullPointerException e) {
             throw new DomainException(OrderErrorCodes.ORDER_ITEM_NOT_FOUND);
         }catch (Exception e){
@@ -161,16 +208,77 @@ public class Order {
         }
     }
 
-    private void calculateTotal() {
-        if (items == null || items.isEmpty()) {
-            this.totalAmount = Money.zero(this.totalAmount.currency());
+    public List<OrderItem> getItems() {
+        return List.copyOf(itemsById.values());
+    }
+
+    public Optional<OrderItem> findItem(UUID itemId) {
+        return Optional.ofNullable(itemsById.get(itemId));
+    }
+
+    public Optional<OrderItem> findItemByProductId(UUID productId) {
+        return Optional.ofNullable(itemsByProductId.get(productId));
+    }
+
+    public boolean isNew() {
+        return version == null;
+    }
+
+    public List<OrderItem> getAddedItems() {
+        return itemsById.values().stream().filter(i -> addedItemIds.contains(i.getId())).toList();
+    }
+
+    public List<OrderItem> getChangedItems() {
+        return itemsById.values().stream().filter(i -> changedItemIds.contains(i.getId())).toList();
+    }
+
+    public Set<UUID> getRemovedItemIds() {
+        return Collections.unmodifiableSet(removedItemIds);
+    }
+
+    private void trackAdded(UUID itemId) {
+        if (removedItemIds.remove(itemId)) {
+            changedItemIds.add(itemId);
             return;
         }
+        addedItemIds.add(itemId);
+    }
+
+    private void trackChanged(UUID itemId) {
+        if (!addedItemIds.contains(itemId)) {
+            changedItemIds.add(itemId);
+        }
+    }
 
-        Money total = Money.zero(this.totalAmount.currency());
-        for (OrderItem item : items) {
-            total = total.add(item.getUnitPrice().multiply(item.getQuantity()));
+    private void trackRemoved(UUID itemId) {
+        if (addedItemIds.remove(itemId)) {
+            return;
         }
-        this.totalAmount = total;
+        changedItemIds.remove(itemId);
+        removedItemIds.add(itemId);
+    }
+
+    private void index(OrderItem item) {
+        BigDecimal line = lineTotal(item);
+        this.itemsById.put(item.getId(), item);
+        this.itemsByProductId.put(item.getProductId(), item);
+        this.lineTotals.put(item.getId(), line);
+        this.itemsTotal = this.itemsTotal.add(line);
+    }
+
+    private void refreshLine(OrderItem item) {
+        BigDecimal line = lineTotal(item);
+        BigDecimal previous = this.lineTotals.put(item.getId(), line);
+        this.itemsTotal = this.itemsTotal.add(line).subtract(previous);
+    }
+
+    private void updateTotal() {
+        this.totalAmount = new Money(this.totalAmount.currency(), this.itemsTotal);
+    }
+
+    private static BigDecimal lineTotal(OrderItem item) {
+        return item.getUnitPrice().amount()
+                .multiply(BigDecimal.valueOf(item.getQuantity()))
+                .setScale(2, Money.defaultRoundingMode);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,34 @@
+package com.jpriva.orders.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderEvent(
+        UUID eventId,
+        String type,
+        UUID orderId,
+        UUID companyId,
+        UUID clientId,
+        String status,
+        BigDecimal totalAmount,
+        String currency,
+        LocalDateTime occurredAt
+) {
+    public static final String ORDER_CONFIRMED = "order.confirmed";
+    public static final String ORDER_CANCELLED = "order.cancelled";
+
+    public static OrderEvent of(String type, Order order) {
+        return new OrderEvent(
+                UUID.randomUUID(),
+                type,
+                order.getId(),
+                order.getCompanyId(),
+                order.getClientId(),
+                order.getStatus().name(),
+                order.getTotalAmount().amount(),
+                order.getTotalAmount().currency().getCode(),
+                LocalDateTime.now()
+        );
+    }
+}
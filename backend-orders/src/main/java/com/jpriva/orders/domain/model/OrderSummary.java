@@ -0,0 +1,15 @@
+package com.jpriva.orders.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderSummary(
+        UUID id,
+        String clientName,
+        LocalDateTime orderDate,
+        String status,
+        BigDecimal totalAmount,
+        String currencyCode
+) {
+}
@@ -0,0 +1,13 @@
+package com.jpriva.orders.domain.model;
+
+import java.util.UUID;
+
+public record OutboxMessage(
+        long id,
+        UUID eventId,
+        UUID aggregateId,
+        String eventType,
+        String payload,
+        long ageMillis
+) {
+}
@@ -52,10 +52,14 @@ public class Product {
     }
 
     public static Product create(UUID companyId, UUID categoryId, String name, String sku, String description) {
+        return create(companyId, categoryId, name, sku, description, 0);
+    }
+
+    public static Product create(UUID companyId, UUID categoryId, String name, String sku, String description, int initialStock) {
         UUID id = UUID.randomUUID();
-        Inventory inventory = Inventory.create(id, 0);
+        Inventory inventory = Inventory.create(id, initialStock);
         return Product.builder()
-                .id(UUID.randomUUID())
+                .id(id)
                 .createdAt(LocalDateTime.now())
                 .companyId(companyId)
                 .categoryId(categoryId)
@@ -0,0 +1,12 @@
+package com.jpriva.orders.domain.model;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductSales(
+        UUID productId,
+        String productName,
+        long quantity,
+        BigDecimal revenue
+) {
+}
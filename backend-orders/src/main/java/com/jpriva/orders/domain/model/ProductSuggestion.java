@@ -0,0 +1,10 @@
+package com.jpriva.orders.domain.model;
+
+import java.util.UUID;
+
+public record ProductSuggestion(
+        UUID id,
+        String sku,
+        String name
+) {
+}
@@ -0,0 +1,10 @@
+package com.jpriva.orders.domain.model;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record ProductUpsertResult(
+        int created,
+        Set<UUID> updatedIds
+) {
+}
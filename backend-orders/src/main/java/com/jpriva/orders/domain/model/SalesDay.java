@@ -0,0 +1,14 @@
+package com.jpriva.orders.domain.model;
+
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record SalesDay(
+        LocalDate day,
+        OrderStatus status,
+        long orderCount,
+        BigDecimal totalAmount
+) {
+}
@@ -0,0 +1,42 @@
+package com.jpriva.orders.domain.model.vo;
+
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.OrderErrorCodes;
+import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.OrderSummary;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+public record OrderCursor(LocalDateTime orderDate, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    public static OrderCursor of(OrderSummary summary) {
+        return new OrderCursor(summary.orderDate(), summary.id());
+    }
+
+    public String encode() {
+        String raw = orderDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new DomainException(OrderErrorCodes.ORDER_INVALID_CURSOR, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jpriva.orders.domain.model.vo;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderFilter(
+        UUID companyId,
+        OrderStatus status,
+        LocalDateTime from,
+        LocalDateTime to,
+        UUID clientId,
+        Currency currency,
+        BigDecimal minAmount,
+        BigDecimal maxAmount
+) {
+    public OrderFilter(UUID companyId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        this(companyId, status, from, to, null, null, null, null);
+    }
+}
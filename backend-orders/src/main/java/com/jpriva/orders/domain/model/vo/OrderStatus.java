@@ -1,9 +1,26 @@
 package com.jpriva.orders.domain.model.vo;
 
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.OrderErrorCodes;
+
+import java.util.Arrays;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    public static OrderStatus fromString(String status) {
+        return Arrays.stream(OrderStatus.values())
+                .filter(value -> value.name().equalsIgnoreCase(status))
+                .findFirst()
+                .orElseThrow(() ->
+                        new DomainException(
+                                OrderErrorCodes.ORDER_STATUS_INVALID,
+                                "Order status not supported: " + status
+                        )
+                );
+    }
 }
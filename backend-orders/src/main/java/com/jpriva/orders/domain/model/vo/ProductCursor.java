@@ -0,0 +1,36 @@
+package com.jpriva.orders.domain.model.vo;
+
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.ProductErrorCodes;
+import com.jpriva.orders.domain.model.Product;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+public record ProductCursor(String name, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ProductCursor of(Product product) {
+        return new ProductCursor(product.getName(), product.getId());
+    }
+
+    public String encode() {
+        String raw = id + SEPARATOR + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ProductCursor(
+                    raw.substring(separator + 1),
+                    UUID.fromString(raw.substring(0, separator))
+            );
+        } catch (RuntimeException e) {
+            throw new DomainException(ProductErrorCodes.PRODUCT_INVALID_CURSOR, e);
+        }
+    }
+}
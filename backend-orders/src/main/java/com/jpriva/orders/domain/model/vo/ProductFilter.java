@@ -0,0 +1,10 @@
+package com.jpriva.orders.domain.model.vo;
+
+import java.util.UUID;
+
+public record ProductFilter(
+        UUID companyId,
+        UUID categoryId,
+        String skuPrefix
+) {
+}
@@ -0,0 +1,10 @@
+package com.jpriva.orders.domain.ports.repository;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface CatalogVersionRepository {
+    long find(UUID companyId);
+    void bump(UUID companyId);
+    void bumpForProducts(Collection<UUID> productIds);
+}
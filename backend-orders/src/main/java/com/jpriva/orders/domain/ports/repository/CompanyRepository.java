@@ -2,14 +2,13 @@ package com.jpriva.orders.domain.ports.repository;
 
 import com.jpriva.orders.domain.model.Company;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 public interface CompanyRepository {
     Company save(Company company);
     Optional<Company> findById(UUID id);
     Optional<Company> findByTaxId(String taxId);
+    Map<String, Company> findByTaxIds(Set<String> taxIds);
     List<Company> findAll();
     void deleteById(UUID id);
 
@@ -0,0 +1,22 @@
+package com.jpriva.orders.domain.ports.repository;
+
+import com.jpriva.orders.domain.model.IdempotencyRecord;
+
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository {
+    Optional<IdempotencyRecord> find(String scope, String key);
+
+    /**
+     * Returns false while another request holds an unexpired claim on the key.
+     */
+    boolean tryBegin(String scope, String key, String requestHash);
+
+    void extend(String scope, String key, String requestHash);
+
+    void complete(String scope, String key, IdempotencyRecord record);
+
+    void abandon(String scope, String key);
+
+    int deleteExpired(int limit);
+}
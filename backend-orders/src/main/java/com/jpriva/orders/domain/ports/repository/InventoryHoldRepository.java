@@ -0,0 +1,20 @@
+package com.jpriva.orders.domain.ports.repository;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface InventoryHoldRepository {
+    boolean hold(UUID orderId, UUID productId, int quantity);
+
+    /**
+     * Returns the products that could not be held; when there are any the caller must roll back.
+     */
+    Set<UUID> holdAll(UUID orderId, Map<UUID, Integer> quantities);
+
+    void release(UUID orderId, UUID productId);
+
+    void releaseAll(UUID orderId);
+
+    int deleteExpired(int limit);
+}
@@ -0,0 +1,27 @@
+package com.jpriva.orders.domain.ports.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface InventoryRepository {
+    /**
+     * Returns the products short of stock; when there are any the caller must roll back.
+     */
+    Set<UUID> reserve(Map<UUID, Integer> quantities);
+
+    int reserveInOrder(UUID productId, List<Integer> quantities);
+
+    void release(Map<UUID, Integer> quantities);
+
+    /**
+     * Returns the resulting stock of every product, shards included; products without inventory are left out.
+     */
+    Map<UUID, Integer> receive(Map<UUID, Integer> quantities);
+
+    /**
+     * Must run inside a transaction.
+     */
+    int reshard(UUID productId, int shards);
+}
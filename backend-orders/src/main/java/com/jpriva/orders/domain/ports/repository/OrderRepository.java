@@ -1,18 +1,41 @@
 package com.jpriva.orders.domain.ports.repository;
 
 import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.OrderSummary;
+import com.jpriva.orders.domain.model.vo.OrderCursor;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrderRepository {
     Order save(Order order);
+    void insertAll(List<Order> orders);
     Optional<Order> findById(UUID id);
+    /**
+     * Only finds orders that have not been archived. Takes no lock: concurrent changes are caught by the
+     * row version when the order is saved.
+     */
+    Optional<Order> findActiveById(UUID id);
     List<Order> findAll();
     Page<Order> findByCompanyId(Pageable pageable, UUID companyId);
     Page<Order> findByClientIdAndCompanyId(UUID clientId, UUID companyId, Pageable pageable);
+    Page<OrderSummary> findSummariesByCompanyId(UUID companyId, Pageable pageable);
+    List<Order> findByFilterAfter(OrderFilter filter, OrderCursor after, int limit);
+    List<OrderSummary> findSummariesByFilterAfter(OrderFilter filter, OrderCursor after, int limit);
+    /**
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<OrderSummary> streamSummariesByFilter(OrderFilter filter);
+    long countByFilter(OrderFilter filter);
     void deleteById(UUID id);
+    /**
+     * Must run in a transaction.
+     */
+    int archiveClosedBefore(LocalDateTime cutoff, int limit);
 }
@@ -0,0 +1,29 @@
+package com.jpriva.orders.domain.ports.repository;
+
+import com.jpriva.orders.domain.model.OrderEvent;
+import com.jpriva.orders.domain.model.OutboxMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface OutboxRepository {
+    void append(OrderEvent event);
+
+    /**
+     * Skips rows locked by other relays; must run in the transaction that deletes the delivered messages.
+     */
+    List<OutboxMessage> lockNextBatch(int limit);
+
+    void delete(Collection<Long> ids);
+
+    /**
+     * Moves the messages out of the outbox with the reason they could not be delivered.
+     */
+    void deadLetter(Map<Long, String> errors);
+
+    Backlog backlog();
+
+    record Backlog(long pending, long oldestAgeMillis) {
+    }
+}
@@ -1,6 +1,10 @@
 package com.jpriva.orders.domain.ports.repository;
 
 import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductPrice;
+import com.jpriva.orders.domain.model.ProductUpsertResult;
+import com.jpriva.orders.domain.model.vo.ProductCursor;
+import com.jpriva.orders.domain.model.vo.ProductFilter;
 
 import java.util.*;
 
@@ -9,8 +13,19 @@ public interface ProductRepository {
     Optional<Product> findById(UUID id);
     List<Product> findAll();
     List<Product> findByCompanyId(UUID companyId);
+    List<Product> findByFilterAfter(ProductFilter filter, ProductCursor after, int limit);
     Optional<Product> findBySkuAndCompanyId(String sku, UUID companyId);
     void deleteById(UUID id);
+    /**
+     * The SKUs must be distinct. Stock is only written for the products created.
+     */
+    ProductUpsertResult upsertBySku(UUID companyId, List<Product> products);
+    Map<String, UUID> findIdsBySkus(UUID companyId, Collection<String> skus);
+    Set<UUID> findIdsOfCompany(UUID companyId, Collection<UUID> productIds);
+    /**
+     * Returns the products whose price was inserted or changed; prices already at the amount are left alone.
+     */
+    List<UUID> upsertPrices(UUID companyId, List<ProductPrice> prices);
 
     Map<UUID,Product> findByIds(Set<UUID> productIds);
 }
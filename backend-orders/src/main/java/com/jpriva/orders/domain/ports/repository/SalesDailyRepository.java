@@ -0,0 +1,24 @@
+package com.jpriva.orders.domain.ports.repository;
+
+import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.ProductSales;
+import com.jpriva.orders.domain.model.SalesDay;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface SalesDailyRepository {
+    /**
+     * Must run in the transaction that changes the order status.
+     */
+    void addOrder(Order order, OrderStatus status, int sign);
+
+    void addProducts(Order order, int sign);
+
+    List<SalesDay> findDays(UUID companyId, Currency currency, LocalDate from, LocalDate to);
+
+    List<ProductSales> findTopProducts(UUID companyId, Currency currency, LocalDate from, LocalDate to, int limit);
+}
@@ -0,0 +1,18 @@
+package com.jpriva.orders.domain.ports.search;
+
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductSuggestion;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProductSearchIndex {
+    /**
+     * Empty when the company's catalog is too large to be indexed.
+     */
+    Optional<List<ProductSuggestion>> search(UUID companyId, String query, int limit);
+    void productSaved(Product product);
+    void productDeleted(UUID productId);
+    void catalogChanged(UUID companyId);
+}
@@ -0,0 +1,26 @@
+package com.jpriva.orders.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CatalogResponseCache {
+
+    private final LruCache<String, Entry> entries;
+
+    public CatalogResponseCache(@Value("${app.orders.products.catalog-cache-size:1000}") int maxSize) {
+        this.entries = new LruCache<>(maxSize);
+    }
+
+    public byte[] get(String taxId, long version) {
+        Entry entry = entries.get(taxId);
+        return entry != null && entry.version() == version ? entry.body() : null;
+    }
+
+    public void put(String taxId, long version, byte[] body) {
+        entries.put(taxId, new Entry(version, body));
+    }
+
+    private record Entry(long version, byte[] body) {
+    }
+}
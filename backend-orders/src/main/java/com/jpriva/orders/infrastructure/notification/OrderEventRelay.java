@@ -0,0 +1,163 @@
+package com.jpriva.orders.infrastructure.notification;
+
+import com.jpriva.orders.domain.model.OutboxMessage;
+import com.jpriva.orders.domain.ports.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.orders.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderEventRelay {
+
+    private static final int SQS_MAX_BATCH = 10;
+    private static final String EVENT_TYPE_ATTRIBUTE = "eventType";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final SqsClient sqsClient;
+    private final TransactionTemplate transactionTemplate;
+    private final String queueUrl;
+    private final int batchSize;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestAgeMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Timer deliveryLag;
+
+    public OrderEventRelay(
+            OutboxRepository outboxRepository,
+            SqsClient sqsClient,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${aws.sqs.order-events-queue-url}") String queueUrl,
+            @Value("${app.orders.outbox.relay.batch-size:100}") int batchSize
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.sqsClient = sqsClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queueUrl = queueUrl;
+        this.batchSize = batchSize;
+
+        this.published = meterRegistry.counter("orders.outbox.published");
+        this.failed = meterRegistry.counter("orders.outbox.failed");
+        this.deadLettered = meterRegistry.counter("orders.outbox.dead.lettered");
+        this.deliveryLag = Timer.builder("orders.outbox.delivery.lag")
+                .description("Time between an event being written to the outbox and SQS accepting it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        meterRegistry.gauge("orders.outbox.pending", pending);
+        TimeGauge.builder("orders.outbox.oldest.age", oldestAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest event not yet published")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.outbox.relay.poll-interval:PT1S}")
+    public void relay() {
+        Boolean drainMore;
+        do {
+            drainMore = transactionTemplate.execute(status -> relayBatch());
+        } while (Boolean.TRUE.equals(drainMore));
+
+        OutboxRepository.Backlog backlog = outboxRepository.backlog();
+        pending.set(backlog.pending());
+        oldestAgeMillis.set(backlog.oldestAgeMillis());
+    }
+
+    private boolean relayBatch() {
+        List<OutboxMessage> messages = outboxRepository.lockNextBatch(batchSize);
+        List<Long> delivered = new ArrayList<>();
+        Map<Long, String> rejected = new HashMap<>();
+        for (int from = 0; from < messages.size(); from += SQS_MAX_BATCH) {
+            send(messages.subList(from, Math.min(from + SQS_MAX_BATCH, messages.size())), delivered, rejected);
+        }
+        outboxRepository.delete(delivered);
+        outboxRepository.deadLetter(rejected);
+        return messages.size() == batchSize && delivered.size() + rejected.size() == messages.size();
+    }
+
+    // Entries rejected through the sender's fault will never be accepted, so they are dead-lettered
+    // instead of being retried at the head of the outbox.
+    private void send(List<OutboxMessage> messages, List<Long> delivered, Map<Long, String> rejected) {
+        Map<String, OutboxMessage> byEntryId = messages.stream()
+                .collect(Collectors.toMap(message -> String.valueOf(message.id()), Function.identity()));
+
+        SendMessageBatchResponse response;
+        try {
+            response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                    .queueUrl(queueUrl)
+                    .entries(messages.stream().map(this::toEntry).toList())
+                    .build());
+        } catch (SdkException e) {
+            log.warn("Could not publish {} outbox events, they will be retried", messages.size(), e);
+            failed.increment(messages.size());
+            return;
+        }
+
+        for (BatchResultErrorEntry error : response.failed()) {
+            if (Boolean.TRUE.equals(error.senderFault())) {
+                log.error("Outbox event {} was rejected by SQS and is dead-lettered: [{}] {}", error.id(), error.code(), error.message());
+                rejected.put(byEntryId.get(error.id()).id(), truncate("[" + error.code() + "] " + error.message()));
+                deadLettered.increment();
+            } else {
+                log.warn("Outbox event {} was rejected by SQS: [{}] {}", error.id(), error.code(), error.message());
+                failed.increment();
+            }
+        }
+
+        for (SendMessageBatchResultEntry entry : response.successful()) {
+            OutboxMessage message = byEntryId.get(entry.id());
+            delivered.add(message.id());
+            deliveryLag.record(Duration.ofMillis(message.ageMillis()));
+        }
+        published.increment(response.successful().size());
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private SendMessageBatchRequestEntry toEntry(OutboxMessage message) {
+        SendMessageBatchRequestEntry.Builder entry = SendMessageBatchRequestEntry.builder()
+                .id(String.valueOf(message.id()))
+                .messageBody(message.payload())
+                .messageAttributes(Map.of(EVENT_TYPE_ATTRIBUTE, MessageAttributeValue.builder()
+                        .dataType("String")
+                        .stringValue(message.eventType())
+                        .build()));
+        if (queueUrl.endsWith(".fifo")) {
+            entry.messageGroupId(message.aggregateId().toString())
+                    .messageDeduplicationId(message.eventId().toString());
+        }
+        return entry.build();
+    }
+}
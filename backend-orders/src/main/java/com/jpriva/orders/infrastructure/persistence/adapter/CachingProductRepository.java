@@ -0,0 +1,181 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.model.Inventory;
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductPrice;
+import com.jpriva.orders.domain.model.ProductUpsertResult;
+import com.jpriva.orders.domain.model.vo.Money;
+import com.jpriva.orders.domain.model.vo.ProductCursor;
+import com.jpriva.orders.domain.model.vo.ProductFilter;
+import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import com.jpriva.orders.infrastructure.cache.LruCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Caches the catalog side of a product only; stock is read fresh on every hit.
+ */
+public class CachingProductRepository implements ProductRepository {
+
+    private static final String CACHE_NAME = "products";
+
+    private final ProductRepositoryAdapter products;
+    private final Duration ttl;
+    private final LruCache<UUID, CachedProduct> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expirations;
+
+    public CachingProductRepository(ProductRepositoryAdapter products, MeterRegistry meterRegistry, int maxSize, Duration ttl) {
+        this.products = products;
+        this.ttl = ttl;
+        Counter evictions = meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", "size");
+        this.cache = new LruCache<>(maxSize, evictions::increment);
+
+        this.hits = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "hit");
+        this.misses = meterRegistry.counter("cache.gets", "cache", CACHE_NAME, "result", "miss");
+        this.expirations = meterRegistry.counter("cache.evictions", "cache", CACHE_NAME, "cause", "expired");
+        meterRegistry.gauge("cache.size", Tags.of("cache", CACHE_NAME), cache, LruCache::size);
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        CachedProduct cached = cache.get(id);
+        if (cached != null && !cached.expiresAt().isAfter(Instant.now())) {
+            cache.remove(id);
+            expirations.increment();
+            cached = null;
+        }
+        if (cached != null) {
+            Optional<Inventory> inventory = products.findInventory(id);
+            if (inventory.isPresent()) {
+                hits.increment();
+                return Optional.of(cached.toProduct(inventory.get()));
+            }
+            cache.remove(id);
+        }
+
+        misses.increment();
+        Optional<Product> product = products.findById(id);
+        product.ifPresent(found -> cache.put(id, CachedProduct.of(found, Instant.now().plus(ttl))));
+        return product;
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = products.save(product);
+        invalidate(List.of(product.getId()));
+        return saved;
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        products.deleteById(id);
+        invalidate(List.of(id));
+    }
+
+    @Override
+    public ProductUpsertResult upsertBySku(UUID companyId, List<Product> products) {
+        ProductUpsertResult result = this.products.upsertBySku(companyId, products);
+        invalidate(result.updatedIds());
+        return result;
+    }
+
+    @Override
+    public Map<String, UUID> findIdsBySkus(UUID companyId, Collection<String> skus) {
+        return products.findIdsBySkus(companyId, skus);
+    }
+
+    @Override
+    public Set<UUID> findIdsOfCompany(UUID companyId, Collection<UUID> productIds) {
+        return products.findIdsOfCompany(companyId, productIds);
+    }
+
+    @Override
+    public List<UUID> upsertPrices(UUID companyId, List<ProductPrice> prices) {
+        List<UUID> changed = products.upsertPrices(companyId, prices);
+        invalidate(Set.copyOf(changed));
+        return changed;
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return products.findAll();
+    }
+
+    @Override
+    public List<Product> findByCompanyId(UUID companyId) {
+        return products.findByCompanyId(companyId);
+    }
+
+    @Override
+    public List<Product> findByFilterAfter(ProductFilter filter, ProductCursor after, int limit) {
+        return products.findByFilterAfter(filter, after, limit);
+    }
+
+    @Override
+    public Optional<Product> findBySkuAndCompanyId(String sku, UUID companyId) {
+        return products.findBySkuAndCompanyId(sku, companyId);
+    }
+
+    @Override
+    public Map<UUID, Product> findByIds(Set<UUID> productIds) {
+        return products.findByIds(productIds);
+    }
+
+    // Evicts again after the transaction ends: a read before the commit may have cached the old row.
+    private void invalidate(Collection<UUID> ids) {
+        ids.forEach(cache::remove);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(cache::remove);
+                }
+            });
+        }
+    }
+
+    private record CachedPrice(UUID id, Money price) {
+    }
+
+    private record CachedProduct(
+            UUID id,
+            UUID companyId,
+            UUID categoryId,
+            String name,
+            String sku,
+            String description,
+            LocalDateTime createdAt,
+            Map<String, CachedPrice> prices,
+            Instant expiresAt
+    ) {
+        static CachedProduct of(Product product, Instant expiresAt) {
+            Map<String, CachedPrice> prices = new HashMap<>();
+            product.getPrices().forEach((currency, price) -> prices.put(currency, new CachedPrice(price.getId(), price.getPrice())));
+            return new CachedProduct(product.getId(), product.getCompanyId(), product.getCategoryId(), product.getName(),
+                    product.getSku(), product.getDescription(), product.getCreatedAt(), Map.copyOf(prices), expiresAt);
+        }
+
+        Product toProduct(Inventory inventory) {
+            Map<String, ProductPrice> copies = new HashMap<>();
+            prices.forEach((currency, price) -> copies.put(currency, ProductPrice.fromPersistence(price.id(), id, price.price())));
+            return Product.fromPersistence(id, companyId, categoryId, name, sku, description, createdAt, inventory, copies);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.ports.repository.CatalogVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Bumps hit a random counter row of the company so stock writes rarely wait on each other; reads sum them.
+@Component
+@RequiredArgsConstructor
+public class CatalogVersionRepositoryAdapter implements CatalogVersionRepository {
+
+    private static final int SHARDS = 8;
+
+    private static final String FIND_SQL = "SELECT COALESCE(SUM(version), 0) FROM catalog_versions WHERE company_id = ?";
+
+    // HOLDLOCK keeps two first bumps of the same counter from both taking the insert branch.
+    private static final String BUMP_SQL = """
+            MERGE catalog_versions WITH (HOLDLOCK) AS v
+            USING (SELECT CAST(? AS UNIQUEIDENTIFIER) AS company_id, CAST(? AS TINYINT) AS shard) AS c
+                ON v.company_id = c.company_id AND v.shard = c.shard
+            WHEN MATCHED THEN
+                UPDATE SET version = v.version + 1
+            WHEN NOT MATCHED THEN
+                INSERT (company_id, shard, version) VALUES (c.company_id, c.shard, 1);
+            """;
+
+    private static final String BUMP_FOR_PRODUCTS_SQL = """
+            MERGE catalog_versions WITH (HOLDLOCK) AS v
+            USING (
+                SELECT DISTINCT p.company_id, CAST(? AS TINYINT) AS shard
+                FROM products p
+                JOIN OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') r ON r.id = p.id
+            ) AS c
+                ON v.company_id = c.company_id AND v.shard = c.shard
+            WHEN MATCHED THEN
+                UPDATE SET version = v.version + 1
+            WHEN NOT MATCHED THEN
+                INSERT (company_id, shard, version) VALUES (c.company_id, c.shard, 1);
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long find(UUID companyId) {
+        Long version = jdbcTemplate.queryForObject(FIND_SQL, Long.class, companyId.toString());
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    public void bump(UUID companyId) {
+        jdbcTemplate.update(BUMP_SQL, companyId.toString(), shard());
+    }
+
+    @Override
+    public void bumpForProducts(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(BUMP_FOR_PRODUCTS_SQL, shard(),
+                objectMapper.writeValueAsString(productIds.stream().map(UUID::toString).toList()));
+    }
+
+    private static int shard() {
+        return ThreadLocalRandom.current().nextInt(SHARDS);
+    }
+}
@@ -8,9 +8,7 @@ import com.jpriva.orders.infrastructure.persistence.repository.ClientJpaReposito
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
@@ -31,6 +29,13 @@ public class ClientRepositoryAdapter implements ClientRepository {
         return jpaRepository.findById(id).map(ClientMapper::toDomain);
     }
 
+    @Override
+    public Map<UUID, Client> findByIds(Set<UUID> ids) {
+        return jpaRepository.findByIdIn(ids).stream()
+                .map(ClientMapper::toDomain)
+                .collect(Collectors.toMap(Client::getId, c -> c));
+    }
+
     @Override
     public List<Client> findByCompanyId(UUID companyId) {
         return jpaRepository.findByCompanyId(companyId).stream()
@@ -0,0 +1,322 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.ports.repository.InventoryRepository;
+import com.jpriva.orders.infrastructure.persistence.adapter.InventoryGrantLedger.Grant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent reservations of a product are applied as one batch, which commits ahead of the transactions
+ * waiting on it together with a grant row per reservation. Each transaction deletes its own grant rows, so
+ * the units of one that never commits stay recorded until they are released or swept back.
+ */
+@Slf4j
+public class CoalescingInventoryRepository implements InventoryRepository {
+
+    private final InventoryRepository inventory;
+    private final InventoryRepository batches;
+    private final InventoryGrantLedger grants;
+    private final InventoryGrantLedger batchGrants;
+    private final TransactionOperations batchTransactions;
+    private final ScheduledExecutorService executor;
+    private final Duration window;
+    private final Duration timeout;
+    private final Duration grantTtl;
+    private final int maxBatchSize;
+    private final Map<UUID, ProductQueue> queues = new ConcurrentHashMap<>();
+
+    private final DistributionSummary batchSize;
+    private final Timer waitTime;
+    private final Counter compensated;
+    private final Counter releaseFailures;
+
+    public CoalescingInventoryRepository(
+            InventoryRepository inventory,
+            InventoryRepository batches,
+            InventoryGrantLedger grants,
+            InventoryGrantLedger batchGrants,
+            TransactionOperations batchTransactions,
+            MeterRegistry meterRegistry,
+            Duration window,
+            Duration timeout,
+            Duration grantTtl,
+            int maxBatchSize,
+            int threads
+    ) {
+        this.inventory = inventory;
+        this.batches = batches;
+        this.grants = grants;
+        this.batchGrants = batchGrants;
+        this.batchTransactions = batchTransactions;
+        this.window = window;
+        this.timeout = timeout;
+        this.grantTtl = grantTtl;
+        this.maxBatchSize = maxBatchSize;
+        this.executor = new ScheduledThreadPoolExecutor(threads,
+                Thread.ofPlatform().name("inventory-coalescer-", 0).daemon().factory());
+
+        this.batchSize = DistributionSummary.builder("orders.inventory.coalescing.batch.size")
+                .description("Reservations of one product applied by a single update")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("orders.inventory.coalescing.wait")
+                .description("Time a reservation waited for its batch to be applied")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.compensated = meterRegistry.counter("orders.inventory.coalescing.compensated");
+        this.releaseFailures = meterRegistry.counter("orders.inventory.coalescing.release.failures");
+    }
+
+    @Override
+    public Set<UUID> reserve(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+        List<Decrement> decrements = new ArrayList<>();
+        quantities.forEach((productId, quantity) -> decrements.add(submit(productId, quantity)));
+
+        List<Decrement> granted = new ArrayList<>();
+        Set<UUID> shortages = new HashSet<>();
+        boolean completed = false;
+        try {
+            for (Decrement decrement : decrements) {
+                if (await(decrement)) {
+                    granted.add(decrement);
+                } else {
+                    shortages.add(decrement.productId());
+                }
+            }
+            claim(granted);
+            completed = true;
+        } finally {
+            if (!completed) {
+                abandon(decrements, granted);
+            }
+            releaseOnRollback(granted, completed);
+        }
+        return shortages;
+    }
+
+    @Override
+    public int reserveInOrder(UUID productId, List<Integer> quantities) {
+        return inventory.reserveInOrder(productId, quantities);
+    }
+
+    @Override
+    public void release(Map<UUID, Integer> quantities) {
+        inventory.release(quantities);
+    }
+
+    @Override
+    public Map<UUID, Integer> receive(Map<UUID, Integer> quantities) {
+        return inventory.receive(quantities);
+    }
+
+    @Override
+    public int reshard(UUID productId, int shards) {
+        return inventory.reshard(productId, shards);
+    }
+
+    /**
+     * Returns up to {@code limit} grants older than the grant TTL to stock and returns how many were swept.
+     */
+    public int restoreExpired(int limit) {
+        List<Grant> expired = batchTransactions.execute(status -> {
+            List<Grant> taken = batchGrants.takeExpired(grantTtl, limit);
+            batches.release(quantities(taken));
+            return taken;
+        });
+        return expired == null ? 0 : expired.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Decrement submit(UUID productId, int quantity) {
+        Decrement decrement = new Decrement(UUID.randomUUID(), productId, quantity, System.nanoTime(), new CompletableFuture<>());
+        queues.computeIfAbsent(productId, ProductQueue::new).add(decrement);
+        return decrement;
+    }
+
+    private boolean await(Decrement decrement) {
+        try {
+            return decrement.result().get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new CannotAcquireLockException("Timed out waiting for the stock of product " + decrement.productId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting for the stock of product " + decrement.productId(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void claim(List<Decrement> granted) {
+        if (granted.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = granted.stream().map(Decrement::grantId).toList();
+        if (grants.consume(ids) < ids.size()) {
+            throw new CannotAcquireLockException("Stock reserved for this transaction was swept back before it was claimed");
+        }
+    }
+
+    private void abandon(List<Decrement> decrements, List<Decrement> granted) {
+        for (Decrement decrement : decrements) {
+            CompletableFuture<Boolean> result = decrement.result();
+            if (!granted.contains(decrement) && !result.cancel(false)
+                    && result.state() == Future.State.SUCCESS && result.resultNow()) {
+                granted.add(decrement);
+            }
+        }
+    }
+
+    private void releaseOnRollback(List<Decrement> granted, boolean completed) {
+        if (granted.isEmpty()) {
+            return;
+        }
+        List<UUID> reserved = granted.stream().map(Decrement::grantId).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!completed) {
+                releaseLater(reserved);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    releaseLater(reserved);
+                }
+            }
+        });
+    }
+
+    // Runs on the coalescer threads: the rolled back transaction's connection cannot be used any more.
+    // Taking the grant rows in the same transaction keeps a release and a sweep from both returning them.
+    private void releaseLater(List<UUID> grantIds) {
+        compensated.increment(grantIds.size());
+        executor.execute(() -> {
+            try {
+                batchTransactions.executeWithoutResult(status -> batches.release(quantities(batchGrants.take(grantIds))));
+            } catch (RuntimeException e) {
+                releaseFailures.increment(grantIds.size());
+                log.warn("Could not release the stock of grants {}, it is swept back once they expire", grantIds, e);
+            }
+        });
+    }
+
+    private static Map<UUID, Integer> quantities(List<Grant> grants) {
+        return grants.stream().collect(Collectors.groupingBy(Grant::productId, Collectors.summingInt(Grant::quantity)));
+    }
+
+    private void apply(UUID productId, List<Decrement> batch) {
+        batchSize.record(batch.size());
+        List<Integer> quantities = batch.stream().map(Decrement::quantity).toList();
+        int granted;
+        try {
+            Integer count = batchTransactions.execute(status -> {
+                int reserved = batches.reserveInOrder(productId, quantities);
+                batchGrants.record(batch.subList(0, reserved).stream().map(Decrement::grant).toList());
+                return reserved;
+            });
+            granted = count == null ? 0 : count;
+        } catch (RuntimeException e) {
+            batch.forEach(decrement -> decrement.result().completeExceptionally(e));
+            return;
+        }
+
+        List<UUID> unclaimed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Decrement decrement = batch.get(i);
+            waitTime.record(System.nanoTime() - decrement.submittedAt(), TimeUnit.NANOSECONDS);
+            boolean reserved = i < granted;
+            if (!decrement.result().complete(reserved) && reserved) {
+                unclaimed.add(decrement.grantId());
+            }
+        }
+        if (!unclaimed.isEmpty()) {
+            releaseLater(unclaimed);
+        }
+    }
+
+    private record Decrement(UUID grantId, UUID productId, int quantity, long submittedAt, CompletableFuture<Boolean> result) {
+
+        Grant grant() {
+            return new Grant(grantId, productId, quantity);
+        }
+    }
+
+    private final class ProductQueue {
+
+        private final UUID productId;
+        private final Queue<Decrement> pending = new ArrayDeque<>();
+        private boolean scheduled;
+
+        ProductQueue(UUID productId) {
+            this.productId = productId;
+        }
+
+        synchronized void add(Decrement decrement) {
+            pending.add(decrement);
+            if (!scheduled) {
+                scheduled = true;
+                executor.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void flush() {
+            try {
+                apply(productId, take());
+            } finally {
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        scheduled = false;
+                    } else {
+                        executor.execute(this::flush);
+                    }
+                }
+            }
+        }
+
+        private synchronized List<Decrement> take() {
+            List<Decrement> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+            while (!pending.isEmpty() && batch.size() < maxBatchSize) {
+                batch.add(pending.poll());
+            }
+            return batch;
+        }
+    }
+}
@@ -8,9 +8,7 @@ import com.jpriva.orders.infrastructure.persistence.repository.CompanyJpaReposit
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Component
@@ -36,6 +34,13 @@ public class CompanyRepositoryAdapter implements CompanyRepository {
         return jpaRepository.findByTaxId(taxId).map(CompanyMapper::toDomain);
     }
 
+    @Override
+    public Map<String, Company> findByTaxIds(Set<String> taxIds) {
+        return jpaRepository.findByTaxIdIn(taxIds).stream()
+                .map(CompanyMapper::toDomain)
+                .collect(Collectors.toMap(Company::getTaxId, c -> c));
+    }
+
     @Override
     public List<Company> findAll() {
         return jpaRepository.findAll().stream()
@@ -0,0 +1,134 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.model.IdempotencyRecord;
+import com.jpriva.orders.domain.ports.repository.IdempotencyKeyRepository;
+import com.jpriva.orders.infrastructure.cache.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+public class IdempotencyKeyRepositoryAdapter implements IdempotencyKeyRepository {
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status_code, content_type, location, response_body
+            FROM idempotency_keys
+            WHERE scope = ? AND idempotency_key = ? AND expires_at > SYSDATETIME()
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO idempotency_keys (scope, idempotency_key, request_hash, expires_at)
+            VALUES (?, ?, ?, DATEADD(SECOND, ?, SYSDATETIME()))
+            """;
+
+    private static final String TAKE_OVER_EXPIRED_SQL = """
+            UPDATE idempotency_keys
+            SET request_hash = ?, status_code = NULL, content_type = NULL, location = NULL, response_body = NULL,
+                created_at = SYSDATETIME(), expires_at = DATEADD(SECOND, ?, SYSDATETIME())
+            WHERE scope = ? AND idempotency_key = ? AND expires_at <= SYSDATETIME()
+            """;
+
+    private static final String EXTEND_SQL = """
+            UPDATE idempotency_keys
+            SET expires_at = DATEADD(SECOND, ?, SYSDATETIME())
+            WHERE scope = ? AND idempotency_key = ? AND request_hash = ? AND status_code IS NULL
+            """;
+
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_keys
+            SET status_code = ?, content_type = ?, location = ?, response_body = ?, expires_at = DATEADD(SECOND, ?, SYSDATETIME())
+            WHERE scope = ? AND idempotency_key = ?
+            """;
+
+    private static final String ABANDON_SQL = "DELETE FROM idempotency_keys WHERE scope = ? AND idempotency_key = ? AND status_code IS NULL";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE TOP (?) FROM idempotency_keys WHERE expires_at <= SYSDATETIME()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final LruCache<String, CachedRecord> completed;
+
+    public IdempotencyKeyRepositoryAdapter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.orders.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${app.orders.idempotency.lock-timeout:PT1M}") Duration lockTimeout,
+            @Value("${app.orders.idempotency.cache-size:10000}") int cacheSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.lockTimeout = lockTimeout;
+        this.completed = new LruCache<>(cacheSize);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> find(String scope, String key) {
+        CachedRecord cached = completed.get(cacheKey(scope, key));
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                return Optional.of(cached.record());
+            }
+            completed.remove(cacheKey(scope, key));
+        }
+        return jdbcTemplate.query(FIND_SQL,
+                        (rs, rowNum) -> new IdempotencyRecord(
+                                rs.getString("request_hash"),
+                                (Integer) rs.getObject("status_code"),
+                                rs.getString("content_type"),
+                                rs.getString("location"),
+                                rs.getString("response_body")),
+                        scope, key)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean tryBegin(String scope, String key, String requestHash) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, scope, key, requestHash, lockTimeout.toSeconds());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update(TAKE_OVER_EXPIRED_SQL, requestHash, lockTimeout.toSeconds(), scope, key) > 0;
+        }
+    }
+
+    @Override
+    public void extend(String scope, String key, String requestHash) {
+        jdbcTemplate.update(EXTEND_SQL, lockTimeout.toSeconds(), scope, key, requestHash);
+    }
+
+    @Override
+    public void complete(String scope, String key, IdempotencyRecord record) {
+        jdbcTemplate.update(COMPLETE_SQL,
+                record.status(),
+                record.contentType(),
+                record.location(),
+                record.body(),
+                ttl.toSeconds(),
+                scope,
+                key);
+        completed.put(cacheKey(scope, key), new CachedRecord(record, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public void abandon(String scope, String key) {
+        jdbcTemplate.update(ABANDON_SQL, scope, key);
+    }
+
+    @Override
+    public int deleteExpired(int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, limit);
+    }
+
+    private static String cacheKey(String scope, String key) {
+        return scope + '\n' + key;
+    }
+
+    private record CachedRecord(IdempotencyRecord record, Instant expiresAt) {
+    }
+}
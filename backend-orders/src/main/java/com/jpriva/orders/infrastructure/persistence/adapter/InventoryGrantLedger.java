@@ -0,0 +1,80 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class InventoryGrantLedger {
+
+    private static final String RECORD_SQL = """
+            INSERT INTO inventory_grants (id, product_id, quantity)
+            SELECT id, product_id, quantity
+            FROM OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$.id', product_id UNIQUEIDENTIFIER '$.productId', quantity INT '$.quantity')
+            """;
+
+    private static final String CONSUME_SQL = """
+            DELETE g
+            FROM inventory_grants g
+            JOIN OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') r ON r.id = g.id
+            """;
+
+    private static final String TAKE_SQL = """
+            DELETE g
+            OUTPUT deleted.id, deleted.product_id, deleted.quantity
+            FROM inventory_grants g
+            JOIN OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') r ON r.id = g.id
+            """;
+
+    // READPAST skips the rows of orders still running: they hold the lock of the delete that claims them.
+    private static final String TAKE_EXPIRED_SQL = """
+            DELETE TOP (?) FROM inventory_grants WITH (READPAST)
+            OUTPUT deleted.id, deleted.product_id, deleted.quantity
+            WHERE created_at <= DATEADD(SECOND, -?, SYSDATETIME())
+            """;
+
+    private static final RowMapper<Grant> GRANT_ROW_MAPPER = (rs, rowNum) -> new Grant(
+            UUID.fromString(rs.getString(1)), UUID.fromString(rs.getString(2)), rs.getInt(3));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void record(List<Grant> grants) {
+        if (grants.isEmpty()) {
+            return;
+        }
+        String rows = objectMapper.writeValueAsString(grants.stream()
+                .map(grant -> Map.<String, Object>of(
+                        "id", grant.id().toString(),
+                        "productId", grant.productId().toString(),
+                        "quantity", grant.quantity()))
+                .toList());
+        jdbcTemplate.update(RECORD_SQL, rows);
+    }
+
+    public int consume(Collection<UUID> ids) {
+        return ids.isEmpty() ? 0 : jdbcTemplate.update(CONSUME_SQL, toJson(ids));
+    }
+
+    public List<Grant> take(Collection<UUID> ids) {
+        return ids.isEmpty() ? List.of() : jdbcTemplate.query(TAKE_SQL, GRANT_ROW_MAPPER, toJson(ids));
+    }
+
+    public List<Grant> takeExpired(Duration ttl, int limit) {
+        return jdbcTemplate.query(TAKE_EXPIRED_SQL, GRANT_ROW_MAPPER, limit, ttl.toSeconds());
+    }
+
+    private String toJson(Collection<UUID> ids) {
+        return objectMapper.writeValueAsString(ids.stream().map(UUID::toString).toList());
+    }
+
+    public record Grant(UUID id, UUID productId, int quantity) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.ports.repository.InventoryHoldRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class InventoryHoldRepositoryAdapter implements InventoryHoldRepository {
+
+    private static final String DELETE_HOLD_SQL = "DELETE FROM inventory_holds WHERE order_id = ? AND product_id = ?";
+
+    private static final String DELETE_ORDER_HOLDS_SQL = "DELETE FROM inventory_holds WHERE order_id = ?";
+
+    // Available-to-promise is read without locking the inventory row or its shards: holds are advisory
+    // and confirmOrder still reserves on-hand stock with a conditional update.
+    private static final String INSERT_HOLD_SQL = """
+            INSERT INTO inventory_holds (id, order_id, product_id, quantity, expires_at)
+            SELECT ?, ?, i.product_id, ?, DATEADD(SECOND, ?, SYSDATETIME())
+            FROM inventory i
+            WHERE i.product_id = ?
+              AND i.quantity + COALESCE((
+                    SELECT SUM(s.quantity)
+                    FROM inventory_shards s
+                    WHERE s.product_id = i.product_id
+                  ), 0) - COALESCE((
+                    SELECT SUM(h.quantity)
+                    FROM inventory_holds h
+                    WHERE h.product_id = i.product_id AND h.expires_at > SYSDATETIME()
+                  ), 0) >= ?
+            """;
+
+    private static final String DELETE_ORDER_PRODUCTS_HOLDS_SQL = """
+            DELETE h
+            FROM inventory_holds h
+            JOIN OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$.productId') r
+                ON h.product_id = r.product_id
+            WHERE h.order_id = ?
+            """;
+
+    private static final String INSERT_HOLDS_SQL = """
+            INSERT INTO inventory_holds (order_id, product_id, quantity, expires_at)
+            OUTPUT inserted.product_id
+            SELECT ?, i.product_id, r.quantity, DATEADD(SECOND, ?, SYSDATETIME())
+            FROM inventory i
+            JOIN OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$.productId', quantity INT '$.quantity') r
+                ON i.product_id = r.product_id
+            WHERE i.quantity + COALESCE((
+                    SELECT SUM(s.quantity)
+                    FROM inventory_shards s
+                    WHERE s.product_id = i.product_id
+                  ), 0) - COALESCE((
+                    SELECT SUM(h.quantity)
+                    FROM inventory_holds h
+                    WHERE h.product_id = i.product_id AND h.expires_at > SYSDATETIME()
+                  ), 0) >= r.quantity
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE TOP (?) FROM inventory_holds WHERE expires_at <= SYSDATETIME()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.orders.holds.ttl:PT15M}")
+    private Duration ttl;
+
+    @Override
+    public boolean hold(UUID orderId, UUID productId, int quantity) {
+        release(orderId, productId);
+        int inserted = jdbcTemplate.update(INSERT_HOLD_SQL,
+                UUID.randomUUID().toString(),
+                orderId.toString(),
+                quantity,
+                ttl.toSeconds(),
+                productId.toString(),
+                quantity);
+        return inserted > 0;
+    }
+
+    @Override
+    public Set<UUID> holdAll(UUID orderId, Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+        String lines = toJson(quantities);
+        jdbcTemplate.update(DELETE_ORDER_PRODUCTS_HOLDS_SQL, lines, orderId.toString());
+        List<UUID> held = jdbcTemplate.query(INSERT_HOLDS_SQL,
+                (rs, rowNum) -> UUID.fromString(rs.getString(1)),
+                orderId.toString(), ttl.toSeconds(), lines);
+
+        Set<UUID> shortages = new HashSet<>(quantities.keySet());
+        held.forEach(shortages::remove);
+        return shortages;
+    }
+
+    @Override
+    public void release(UUID orderId, UUID productId) {
+        jdbcTemplate.update(DELETE_HOLD_SQL, orderId.toString(), productId.toString());
+    }
+
+    @Override
+    public void releaseAll(UUID orderId) {
+        jdbcTemplate.update(DELETE_ORDER_HOLDS_SQL, orderId.toString());
+    }
+
+    @Override
+    public int deleteExpired(int limit) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, limit);
+    }
+
+    private String toJson(Map<UUID, Integer> quantities) {
+        List<Map<String, Object>> lines = quantities.entrySet().stream()
+                .map(e -> Map.<String, Object>of("productId", e.getKey().toString(), "quantity", e.getValue()))
+                .toList();
+        return objectMapper.writeValueAsString(lines);
+    }
+}
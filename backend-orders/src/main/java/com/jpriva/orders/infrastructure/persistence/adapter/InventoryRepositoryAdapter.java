@@ -0,0 +1,260 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.ProductErrorCodes;
+import com.jpriva.orders.domain.ports.repository.CatalogVersionRepository;
+import com.jpriva.orders.domain.ports.repository.InventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class InventoryRepositoryAdapter implements InventoryRepository {
+
+    private static final int SHARD_PICK_ATTEMPTS = 3;
+
+    private static final String RESERVE_SQL = """
+            UPDATE i
+            SET i.quantity = i.quantity - r.quantity, i.last_updated = SYSDATETIME(), i.row_version = i.row_version + 1
+            OUTPUT inserted.product_id
+            FROM inventory i
+            JOIN OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$.productId', quantity INT '$.quantity') r
+                ON i.product_id = r.product_id
+            WHERE i.quantity >= r.quantity
+            """;
+
+    // Subtracts the longest prefix of the requests that the stock covers; deleted.quantity is the stock
+    // before the update, from which the caller works out the same prefix.
+    private static final String RESERVE_IN_ORDER_SQL = """
+            UPDATE inventory
+            SET quantity = quantity - (
+                    SELECT MAX(r.running)
+                    FROM (
+                        SELECT SUM(CAST(q.value AS INT)) OVER (ORDER BY CAST(q.[key] AS INT) ROWS UNBOUNDED PRECEDING) AS running
+                        FROM OPENJSON(?) q
+                    ) r
+                    WHERE r.running <= inventory.quantity
+                ),
+                last_updated = SYSDATETIME(), row_version = row_version + 1
+            OUTPUT deleted.quantity
+            WHERE product_id = ? AND quantity >= ?
+            """;
+
+    // The shard is picked from a dirty read so concurrent reservations never wait on each other's
+    // candidates; the conditional update re-checks the stock under the row lock of the one it takes.
+    private static final String RESERVE_RANDOM_SHARD_SQL = """
+            UPDATE s
+            SET s.quantity = s.quantity - p.quantity, s.last_updated = SYSDATETIME(), s.row_version = s.row_version + 1
+            OUTPUT inserted.product_id
+            FROM inventory_shards s
+            JOIN (
+                SELECT c.product_id, c.shard, c.quantity
+                FROM (
+                    SELECT r.product_id, r.quantity, x.shard,
+                           ROW_NUMBER() OVER (PARTITION BY r.product_id ORDER BY NEWID()) AS pick
+                    FROM OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$.productId', quantity INT '$.quantity') r
+                    JOIN inventory_shards x WITH (NOLOCK) ON x.product_id = r.product_id AND x.quantity >= r.quantity
+                ) c
+                WHERE c.pick = 1
+            ) p ON s.product_id = p.product_id AND s.shard = p.shard
+            WHERE s.quantity >= p.quantity
+            """;
+
+    // For a line no single shard covers: locks every shard of the product and drains the fullest ones first.
+    private static final String RESERVE_ACROSS_SHARDS_SQL = """
+            WITH c AS (
+                SELECT shard, quantity,
+                       SUM(quantity) OVER (ORDER BY quantity DESC, shard ROWS UNBOUNDED PRECEDING) AS running,
+                       SUM(quantity) OVER () AS total
+                FROM inventory_shards WITH (UPDLOCK, HOLDLOCK)
+                WHERE product_id = ?
+            )
+            UPDATE s
+            SET s.quantity = s.quantity - CASE WHEN c.running <= ? THEN c.quantity ELSE ? - (c.running - c.quantity) END,
+                s.last_updated = SYSDATETIME(), s.row_version = s.row_version + 1
+            FROM inventory_shards s
+            JOIN c ON s.shard = c.shard
+            WHERE s.product_id = ? AND c.total >= ? AND c.running - c.quantity < ?
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE i
+            SET i.quantity = i.quantity + r.quantity, i.last_updated = SYSDATETIME(), i.row_version = i.row_version + 1
+            FROM inventory i
+            JOIN OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$.productId', quantity INT '$.quantity') r
+                ON i.product_id = r.product_id
+            """;
+
+    // Units returned to a sharded product are spread over its shards, the remainder going to the emptiest.
+    private static final String RELEASE_TO_SHARDS_SQL = """
+            UPDATE s
+            SET s.quantity = s.quantity + c.quantity / c.shards + CASE WHEN c.position <= c.quantity % c.shards THEN 1 ELSE 0 END,
+                s.last_updated = SYSDATETIME(), s.row_version = s.row_version + 1
+            OUTPUT inserted.product_id
+            FROM inventory_shards s
+            JOIN (
+                SELECT x.product_id, x.shard, r.quantity,
+                       ROW_NUMBER() OVER (PARTITION BY x.product_id ORDER BY x.quantity, x.shard) AS position,
+                       COUNT(*) OVER (PARTITION BY x.product_id) AS shards
+                FROM inventory_shards x
+                JOIN OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$.productId', quantity INT '$.quantity') r
+                    ON x.product_id = r.product_id
+            ) c ON s.product_id = c.product_id AND s.shard = c.shard
+            """;
+
+    private static final String ON_HAND_SQL = """
+            SELECT i.product_id,
+                   i.quantity + COALESCE((SELECT SUM(s.quantity) FROM inventory_shards s WHERE s.product_id = i.product_id), 0)
+            FROM inventory i
+            JOIN OPENJSON(?) WITH (product_id UNIQUEIDENTIFIER '$') r ON i.product_id = r.product_id
+            """;
+
+    private static final String LOCK_INVENTORY_SQL = "SELECT quantity FROM inventory WITH (UPDLOCK, HOLDLOCK) WHERE product_id = ?";
+
+    private static final String LOCK_SHARDS_SQL = "SELECT COALESCE(SUM(quantity), 0) FROM inventory_shards WITH (UPDLOCK, HOLDLOCK) WHERE product_id = ?";
+
+    private static final String DELETE_SHARDS_SQL = "DELETE FROM inventory_shards WHERE product_id = ?";
+
+    private static final String INSERT_SHARD_SQL = "INSERT INTO inventory_shards (product_id, shard, quantity) VALUES (?, ?, ?)";
+
+    private static final String SET_INVENTORY_SQL = """
+            UPDATE inventory
+            SET quantity = ?, last_updated = SYSDATETIME(), row_version = row_version + 1
+            WHERE product_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersionRepository catalogVersions;
+
+    @Override
+    public Set<UUID> reserve(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+        List<UUID> reserved = jdbcTemplate.query(RESERVE_SQL,
+                (rs, rowNum) -> UUID.fromString(rs.getString(1)),
+                toJson(quantities));
+
+        Map<UUID, Integer> remaining = new HashMap<>(quantities);
+        reserved.forEach(remaining::remove);
+        Set<UUID> shortages = remaining.isEmpty() ? Set.of() : reserveFromShards(remaining);
+        if (shortages.size() < quantities.size()) {
+            catalogVersions.bumpForProducts(quantities.keySet());
+        }
+        return shortages;
+    }
+
+    @Override
+    public int reserveInOrder(UUID productId, List<Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return 0;
+        }
+        List<Integer> before = jdbcTemplate.query(RESERVE_IN_ORDER_SQL,
+                (rs, rowNum) -> rs.getInt(1),
+                objectMapper.writeValueAsString(quantities),
+                productId.toString(),
+                quantities.getFirst());
+        int stock = before.isEmpty() ? 0 : before.getFirst();
+        int granted = 0;
+        int running = 0;
+        for (int quantity : quantities) {
+            running += quantity;
+            if (running > stock) {
+                break;
+            }
+            granted++;
+        }
+        while (granted < quantities.size()
+                && reserveFromShards(new HashMap<>(Map.of(productId, quantities.get(granted)))).isEmpty()) {
+            granted++;
+        }
+        if (granted > 0) {
+            catalogVersions.bumpForProducts(List.of(productId));
+        }
+        return granted;
+    }
+
+    @Override
+    public void release(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Map<UUID, Integer> unsharded = new HashMap<>(quantities);
+        jdbcTemplate.query(RELEASE_TO_SHARDS_SQL,
+                (rs, rowNum) -> UUID.fromString(rs.getString(1)),
+                toJson(quantities)).forEach(unsharded::remove);
+        if (!unsharded.isEmpty()) {
+            jdbcTemplate.update(RELEASE_SQL, toJson(unsharded));
+        }
+        catalogVersions.bumpForProducts(quantities.keySet());
+    }
+
+    // The updated rows stay locked until commit, so the stock read back is what the receipt leaves.
+    @Override
+    public Map<UUID, Integer> receive(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Map.of();
+        }
+        release(quantities);
+        return jdbcTemplate.query(ON_HAND_SQL,
+                        (rs, rowNum) -> Map.entry(UUID.fromString(rs.getString(1)), rs.getInt(2)),
+                        objectMapper.writeValueAsString(quantities.keySet().stream().map(UUID::toString).toList()))
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Override
+    public int reshard(UUID productId, int shards) {
+        List<Integer> base = jdbcTemplate.query(LOCK_INVENTORY_SQL, (rs, rowNum) -> rs.getInt(1), productId.toString());
+        if (base.isEmpty()) {
+            throw new DomainException(ProductErrorCodes.INVENTORY_NOT_FOUND);
+        }
+        Integer sharded = jdbcTemplate.queryForObject(LOCK_SHARDS_SQL, Integer.class, productId.toString());
+        int total = base.getFirst() + (sharded == null ? 0 : sharded);
+
+        jdbcTemplate.update(DELETE_SHARDS_SQL, productId.toString());
+        if (shards <= 1) {
+            jdbcTemplate.update(SET_INVENTORY_SQL, total, productId.toString());
+            return total;
+        }
+        List<Object[]> rows = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            rows.add(new Object[]{productId.toString(), shard, total / shards + (shard < total % shards ? 1 : 0)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SHARD_SQL, rows);
+        jdbcTemplate.update(SET_INVENTORY_SQL, 0, productId.toString());
+        return total;
+    }
+
+    private Set<UUID> reserveFromShards(Map<UUID, Integer> remaining) {
+        for (int attempt = 0; attempt < SHARD_PICK_ATTEMPTS && !remaining.isEmpty(); attempt++) {
+            List<UUID> reserved = jdbcTemplate.query(RESERVE_RANDOM_SHARD_SQL,
+                    (rs, rowNum) -> UUID.fromString(rs.getString(1)),
+                    toJson(remaining));
+            if (reserved.isEmpty()) {
+                break;
+            }
+            reserved.forEach(remaining::remove);
+        }
+        remaining.entrySet().removeIf(line -> {
+            String productId = line.getKey().toString();
+            int quantity = line.getValue();
+            return jdbcTemplate.update(RESERVE_ACROSS_SHARDS_SQL,
+                    productId, quantity, quantity, productId, quantity, quantity) > 0;
+        });
+        return new HashSet<>(remaining.keySet());
+    }
+
+    private String toJson(Map<UUID, Integer> quantities) {
+        List<Map<String, Object>> lines = quantities.entrySet().stream()
+                .map(e -> Map.<String, Object>of("productId", e.getKey().toString(), "quantity", e.getValue()))
+                .toList();
+        return objectMapper.writeValueAsString(lines);
+    }
+}
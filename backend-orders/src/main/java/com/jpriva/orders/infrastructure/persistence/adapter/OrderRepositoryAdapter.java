@@ -1,58 +1,450 @@
 package com.jpriva.orders.infrastructure.persistence.adapter;
 
 import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.OrderItem;
+import com.jpriva.orders.domain.model.OrderSummary;
+import com.jpriva.orders.domain.model.vo.OrderCursor;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
 import com.jpriva.orders.domain.ports.repository.OrderRepository;
 import com.jpriva.orders.infrastructure.persistence.entity.OrderEntity;
+import com.jpriva.orders.infrastructure.persistence.entity.OrderHistoryEntity;
 import com.jpriva.orders.infrastructure.persistence.mapper.OrderMapper;
+import com.jpriva.orders.infrastructure.persistence.repository.OrderHistoryJpaRepository;
 import com.jpriva.orders.infrastructure.persistence.repository.OrderJpaRepository;
+import com.jpriva.orders.infrastructure.persistence.repository.OrderSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class OrderRepositoryAdapter implements OrderRepository {
 
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_ORDER_SQL = """
+            INSERT INTO orders (id, company_id, client_id, client_name, address, order_date, status, currency_code, total_amount)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_ORDER_ITEM_SQL = """
+            INSERT INTO order_items (id, order_id, product_id, product_name, quantity, unit_price)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_ORDER_SQL = """
+            UPDATE orders
+            SET address = ?, order_date = ?, status = ?, currency_code = ?, total_amount = ?, row_version = row_version + 1
+            WHERE id = ? AND row_version = ?
+            """;
+
+    private static final String UPDATE_ORDER_ITEM_SQL = "UPDATE order_items SET quantity = ?, unit_price = ? WHERE id = ?";
+
+    private static final String DELETE_ORDER_ITEM_SQL = "DELETE FROM order_items WHERE id = ?";
+
+    private static final String ARCHIVED_BEFORE_SQL = "SELECT archived_before FROM order_archive_state WHERE id = 1";
+
+    // Also serializes archivers, which would otherwise race to split the same partition boundaries.
+    private static final String LOCK_ARCHIVE_STATE_SQL = "SELECT archived_before FROM order_archive_state WITH (UPDLOCK, HOLDLOCK) WHERE id = 1";
+
+    private static final String SELECT_CLOSED_ORDERS_SQL = """
+            SELECT TOP (?) id, order_date
+            FROM orders WITH (UPDLOCK, ROWLOCK)
+            WHERE status IN ('DELIVERED', 'CANCELLED') AND order_date < ?
+            ORDER BY order_date
+            """;
+
+    private static final String ARCHIVE_BOUNDARIES_SQL = """
+            SELECT CAST(v.value AS DATETIME2)
+            FROM sys.partition_range_values v
+            JOIN sys.partition_functions f ON f.function_id = v.function_id
+            WHERE f.name = 'PF_OrdersArchive_Month'
+            """;
+
+    private static final String NEXT_ARCHIVE_PARTITION_SQL = "ALTER PARTITION SCHEME PS_OrdersArchive_Month NEXT USED [PRIMARY]";
+
+    private static final String SPLIT_ARCHIVE_PARTITION_SQL = "ALTER PARTITION FUNCTION PF_OrdersArchive_Month() SPLIT RANGE ('%s')";
+
+    private static final String ARCHIVE_ORDER_ITEMS_SQL = """
+            DELETE i
+            OUTPUT deleted.id, deleted.order_id, o.order_date, deleted.product_id, deleted.product_name, deleted.quantity, deleted.unit_price
+            INTO order_items_archive (id, order_id, order_date, product_id, product_name, quantity, unit_price)
+            FROM order_items i
+            JOIN orders o ON o.id = i.order_id
+            JOIN OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') b ON b.id = o.id
+            """;
+
+    // Closed orders no longer hold stock; this only clears leftovers so the foreign key lets them go.
+    private static final String DELETE_ARCHIVED_HOLDS_SQL = """
+            DELETE h
+            FROM inventory_holds h
+            JOIN OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') b ON b.id = h.order_id
+            """;
+
+    private static final String ARCHIVE_ORDERS_SQL = """
+            DELETE o
+            OUTPUT deleted.id, deleted.company_id, deleted.client_id, deleted.client_name, deleted.address, deleted.order_date,
+                   deleted.status, deleted.currency_code, deleted.total_amount, deleted.row_version, SYSDATETIME()
+            INTO orders_archive (id, company_id, client_id, client_name, address, order_date,
+                                 status, currency_code, total_amount, row_version, archived_at)
+            FROM orders o
+            JOIN OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') b ON b.id = o.id
+            """;
+
+    private static final String ADVANCE_ARCHIVED_BEFORE_SQL = """
+            UPDATE order_archive_state
+            SET archived_before = ?
+            WHERE id = 1 AND (archived_before IS NULL OR archived_before < ?)
+            """;
+
     private final OrderJpaRepository jpaRepository;
+    private final OrderHistoryJpaRepository historyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.orders.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Value("${app.orders.archive.watermark-ttl:PT30S}")
+    private Duration watermarkTtl;
+
+    private final AtomicReference<ArchiveWatermark> watermark = new AtomicReference<>();
 
     @Override
     public Order save(Order order) {
-        OrderEntity entity = OrderMapper.toEntity(order);
-        OrderEntity saved = jpaRepository.save(entity);
-        return OrderMapper.toDomain(saved);
+        if (order.isNew()) {
+            insertAll(List.of(order));
+            return persisted(order, 0L);
+        }
+
+        int updated = jdbcTemplate.update(UPDATE_ORDER_SQL,
+                order.getAddress(),
+                Timestamp.valueOf(order.getOrderDate()),
+                order.getStatus().name(),
+                order.getTotalAmount().currency().getCode(),
+                order.getTotalAmount().amount(),
+                order.getId().toString(),
+                order.getVersion());
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(OrderEntity.class, order.getId());
+        }
+
+        if (!order.getRemovedItemIds().isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_ORDER_ITEM_SQL, List.copyOf(order.getRemovedItemIds()), BATCH_SIZE,
+                    (ps, itemId) -> ps.setString(1, itemId.toString()));
+        }
+        List<OrderItem> changedItems = order.getChangedItems();
+        if (!changedItems.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_ORDER_ITEM_SQL, changedItems, BATCH_SIZE, (ps, item) -> {
+                ps.setInt(1, item.getQuantity());
+                ps.setBigDecimal(2, item.getUnitPrice().amount());
+                ps.setString(3, item.getId().toString());
+            });
+        }
+        insertItems(order.getAddedItems());
+
+        return persisted(order, order.getVersion() + 1);
+    }
+
+    @Override
+    public void insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_SQL, orders, BATCH_SIZE, (ps, order) -> {
+            ps.setString(1, order.getId().toString());
+            ps.setString(2, order.getCompanyId().toString());
+            ps.setString(3, order.getClientId().toString());
+            ps.setString(4, order.getClientName());
+            ps.setString(5, order.getAddress());
+            ps.setTimestamp(6, Timestamp.valueOf(order.getOrderDate()));
+            ps.setString(7, order.getStatus().name());
+            ps.setString(8, order.getTotalAmount().currency().getCode());
+            ps.setBigDecimal(9, order.getTotalAmount().amount());
+        });
+
+        insertItems(orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .toList());
+    }
+
+    private void insertItems(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, items, BATCH_SIZE, (ps, item) -> {
+            ps.setString(1, item.getId().toString());
+            ps.setString(2, item.getOrderId().toString());
+            ps.setString(3, item.getProductId().toString());
+            ps.setString(4, item.getProductName());
+            ps.setInt(5, item.getQuantity());
+            ps.setBigDecimal(6, item.getUnitPrice().amount());
+        });
+    }
+
+    private Order persisted(Order order, long version) {
+        return Order.builder()
+                .id(order.getId())
+                .companyId(order.getCompanyId())
+                .clientId(order.getClientId())
+                .clientName(order.getClientName())
+                .address(order.getAddress())
+                .orderDate(order.getOrderDate())
+                .status(order.getStatus())
+                .totalAmount(order.getTotalAmount())
+                .items(new ArrayList<>(order.getItems()))
+                .version(version)
+                .build();
     }
 
     @Override
     public Optional<Order> findById(UUID id) {
+        return jpaRepository.findById(id).map(OrderMapper::toDomain)
+                .or(() -> historyRepository.findById(id).map(OrderMapper::toDomain));
+    }
+
+    @Override
+    public Optional<Order> findActiveById(UUID id) {
         return jpaRepository.findById(id).map(OrderMapper::toDomain);
     }
 
     @Override
     public List<Order> findAll() {
-        return jpaRepository.findAll().stream()
-                .map(OrderMapper::toDomain)
-                .collect(Collectors.toList());
+        return withItems(jpaRepository.findAll());
     }
 
     @Override
     public Page<Order> findByCompanyId(Pageable pageable, UUID companyId) {
-        return jpaRepository.findByCompanyId(companyId, pageable)
-                .map(OrderMapper::toDomain);
+        if (archiveBoundary(null) != null) {
+            return withHistoryItems(historyRepository.findByCompanyId(companyId, pageable));
+        }
+        return withItems(jpaRepository.findByCompanyId(companyId, pageable));
     }
 
     @Override
     public Page<Order> findByClientIdAndCompanyId(UUID clientId, UUID companyId, Pageable pageable) {
-        return jpaRepository.findByClientIdAndCompanyId(clientId, companyId, pageable).map(OrderMapper::toDomain);
+        if (archiveBoundary(null) != null) {
+            return withHistoryItems(historyRepository.findByClientIdAndCompanyId(clientId, companyId, pageable));
+        }
+        return withItems(jpaRepository.findByClientIdAndCompanyId(clientId, companyId, pageable));
+    }
+
+    @Override
+    public Page<OrderSummary> findSummariesByCompanyId(UUID companyId, Pageable pageable) {
+        if (archiveBoundary(null) != null) {
+            return historyRepository.findSummariesByCompanyId(companyId, pageable);
+        }
+        return jpaRepository.findSummariesByCompanyId(companyId, pageable);
+    }
+
+    @Override
+    public List<Order> findByFilterAfter(OrderFilter filter, OrderCursor after, int limit) {
+        List<OrderEntity> slice = jpaRepository.findBy(keyset(filter, after), query -> query.sortBy(OrderSpecifications.KEYSET_SORT).limit(limit).all());
+        if (completeWithoutArchive(filter, slice.size(), slice.isEmpty() ? null : slice.getLast().getOrderDate(), limit)) {
+            return withItems(slice);
+        }
+        List<OrderHistoryEntity> merged = historyRepository.findBy(keyset(filter, after),
+                query -> query.sortBy(OrderSpecifications.KEYSET_SORT).limit(limit).all());
+        return withHistoryItems(merged);
+    }
+
+    @Override
+    public List<OrderSummary> findSummariesByFilterAfter(OrderFilter filter, OrderCursor after, int limit) {
+        List<OrderSummary> slice = entityManager.createQuery(summaries(OrderEntity.class, keyset(filter, after)))
+                .setMaxResults(limit)
+                .getResultList();
+        if (completeWithoutArchive(filter, slice.size(), slice.isEmpty() ? null : slice.getLast().orderDate(), limit)) {
+            return slice;
+        }
+        return entityManager.createQuery(summaries(OrderHistoryEntity.class, keyset(filter, after)))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<OrderSummary> streamSummariesByFilter(OrderFilter filter) {
+        CriteriaQuery<OrderSummary> query = archiveBoundary(filter.from()) == null
+                ? summaries(OrderEntity.class, OrderSpecifications.matching(filter))
+                : summaries(OrderHistoryEntity.class, OrderSpecifications.matching(filter));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public long countByFilter(OrderFilter filter) {
+        if (archiveBoundary(filter.from()) != null) {
+            return historyRepository.count(OrderSpecifications.matching(filter));
+        }
+        return jpaRepository.count(OrderSpecifications.matching(filter));
     }
 
     @Override
     public void deleteById(UUID id) {
         jpaRepository.deleteById(id);
     }
+
+    @Override
+    public int archiveClosedBefore(LocalDateTime cutoff, int limit) {
+        jdbcTemplate.queryForObject(LOCK_ARCHIVE_STATE_SQL, Timestamp.class);
+        List<LocalDateTime> orderDates = new ArrayList<>();
+        List<String> ids = jdbcTemplate.query(SELECT_CLOSED_ORDERS_SQL, (rs, rowNum) -> {
+            orderDates.add(rs.getTimestamp(2).toLocalDateTime());
+            return rs.getString(1);
+        }, limit, Timestamp.valueOf(cutoff));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        addArchivePartitions(orderDates);
+        String json = objectMapper.writeValueAsString(ids);
+        jdbcTemplate.update(ARCHIVE_ORDER_ITEMS_SQL, json);
+        jdbcTemplate.update(DELETE_ARCHIVED_HOLDS_SQL, json);
+        int archived = jdbcTemplate.update(ARCHIVE_ORDERS_SQL, json);
+        jdbcTemplate.update(ADVANCE_ARCHIVED_BEFORE_SQL, Timestamp.valueOf(cutoff), Timestamp.valueOf(cutoff));
+        // Raised before commit: a watermark ahead of the table only sends reads through the history view.
+        cacheWatermark(cutoff);
+        return archived;
+    }
+
+    // Each month gets its own partition before any row lands in it, so no split ever moves data.
+    private void addArchivePartitions(List<LocalDateTime> orderDates) {
+        Set<LocalDateTime> boundaries = new TreeSet<>();
+        for (LocalDateTime orderDate : orderDates) {
+            LocalDate month = orderDate.toLocalDate().withDayOfMonth(1);
+            boundaries.add(month.atStartOfDay());
+            boundaries.add(month.plusMonths(1).atStartOfDay());
+        }
+        jdbcTemplate.query(ARCHIVE_BOUNDARIES_SQL, (rs, rowNum) -> rs.getTimestamp(1).toLocalDateTime())
+                .forEach(boundaries::remove);
+        for (LocalDateTime boundary : boundaries) {
+            jdbcTemplate.execute(NEXT_ARCHIVE_PARTITION_SQL);
+            jdbcTemplate.execute(SPLIT_ARCHIVE_PARTITION_SQL.formatted(boundary.toLocalDate()));
+        }
+    }
+
+    private LocalDateTime archiveBoundary(LocalDateTime from) {
+        LocalDateTime archivedBefore = archivedBefore();
+        if (archivedBefore == null || (from != null && !from.isBefore(archivedBefore))) {
+            return null;
+        }
+        return archivedBefore;
+    }
+
+    // Other instances archive too, so the cached watermark is re-read once it is older than the TTL.
+    private LocalDateTime archivedBefore() {
+        ArchiveWatermark cached = watermark.get();
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.archivedBefore();
+        }
+        Timestamp archivedBefore = jdbcTemplate.queryForObject(ARCHIVED_BEFORE_SQL, Timestamp.class);
+        return cacheWatermark(archivedBefore == null ? null : archivedBefore.toLocalDateTime());
+    }
+
+    // The watermark only moves forward, so a slower reload never replaces a later value.
+    private LocalDateTime cacheWatermark(LocalDateTime archivedBefore) {
+        ArchiveWatermark loaded = new ArchiveWatermark(archivedBefore, Instant.now().plus(watermarkTtl));
+        return watermark.accumulateAndGet(loaded, ArchiveWatermark::later).archivedBefore();
+    }
+
+    // Archived orders are all older than the watermark, so a full slice ending at or after it is complete.
+    private boolean completeWithoutArchive(OrderFilter filter, int found, LocalDateTime last, int limit) {
+        LocalDateTime boundary = archiveBoundary(filter.from());
+        return boundary == null || (found == limit && !last.isBefore(boundary));
+    }
+
+    private <T> CriteriaQuery<OrderSummary> summaries(Class<T> type, Specification<T> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderSummary> query = cb.createQuery(OrderSummary.class);
+        Root<T> root = query.from(type);
+        return query.select(cb.construct(OrderSummary.class,
+                        root.get("id"),
+                        root.get("clientName"),
+                        root.get("orderDate"),
+                        root.get("status"),
+                        root.get("totalAmount"),
+                        root.get("currencyCode")))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("orderDate")), cb.desc(root.get("id")));
+    }
+
+    private static <T> Specification<T> keyset(OrderFilter filter, OrderCursor after) {
+        Specification<T> spec = OrderSpecifications.matching(filter);
+        return after == null ? spec : spec.and(OrderSpecifications.after(after));
+    }
+
+    private Page<Order> withItems(Page<OrderEntity> page) {
+        return new PageImpl<>(withItems(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private Page<Order> withHistoryItems(Page<OrderHistoryEntity> page) {
+        return new PageImpl<>(withHistoryItems(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private List<Order> withItems(List<OrderEntity> orders) {
+        return withItems(orders, OrderEntity::getId, jpaRepository::findWithItemsByIdIn, OrderMapper::toDomain);
+    }
+
+    private List<Order> withHistoryItems(List<OrderHistoryEntity> orders) {
+        return withItems(orders, OrderHistoryEntity::getId, historyRepository::findWithItemsByIdIn, OrderMapper::toDomain);
+    }
+
+    // Items come from a separate chunked IN query: fetch-joining them on a paged query paginates in memory.
+    private <E> List<Order> withItems(List<E> orders, Function<E, UUID> id,
+                                      Function<List<UUID>, List<E>> loadWithItems, Function<E, Order> toDomain) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = orders.stream().map(id).toList();
+        Map<UUID, E> loaded = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            loadWithItems.apply(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())))
+                    .forEach(order -> loaded.put(id.apply(order), order));
+        }
+        return orders.stream()
+                .map(order -> toDomain.apply(loaded.get(id.apply(order))))
+                .toList();
+    }
+
+    private record ArchiveWatermark(LocalDateTime archivedBefore, Instant expiresAt) {
+
+        static ArchiveWatermark later(ArchiveWatermark cached, ArchiveWatermark loaded) {
+            if (cached == null || cached.archivedBefore == null
+                    || (loaded.archivedBefore != null && loaded.archivedBefore.isAfter(cached.archivedBefore))) {
+                return loaded;
+            }
+            return new ArchiveWatermark(cached.archivedBefore, loaded.expiresAt);
+        }
+    }
 }
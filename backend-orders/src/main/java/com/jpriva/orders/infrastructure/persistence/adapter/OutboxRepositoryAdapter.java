@@ -0,0 +1,99 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.model.OrderEvent;
+import com.jpriva.orders.domain.model.OutboxMessage;
+import com.jpriva.orders.domain.ports.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxRepositoryAdapter implements OutboxRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO outbox_events (event_id, aggregate_id, event_type, payload)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String LOCK_BATCH_SQL = """
+            SELECT TOP (?) id, event_id, aggregate_id, event_type, payload,
+                   DATEDIFF_BIG(MILLISECOND, created_at, SYSDATETIME()) AS age_ms
+            FROM outbox_events WITH (UPDLOCK, READPAST, ROWLOCK)
+            ORDER BY id
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ?";
+
+    private static final String DEAD_LETTER_SQL = """
+            DELETE o
+            OUTPUT deleted.id, deleted.event_id, deleted.aggregate_id, deleted.event_type, deleted.payload,
+                   deleted.created_at, r.error, SYSDATETIME()
+            INTO outbox_dead_letters (id, event_id, aggregate_id, event_type, payload, created_at, last_error, dead_lettered_at)
+            FROM outbox_events o
+            JOIN OPENJSON(?) WITH (id BIGINT '$.id', error NVARCHAR(1000) '$.error') r ON r.id = o.id
+            """;
+
+    private static final String BACKLOG_SQL = """
+            SELECT COUNT_BIG(*) AS pending,
+                   COALESCE(DATEDIFF_BIG(MILLISECOND, MIN(created_at), SYSDATETIME()), 0) AS oldest_age_ms
+            FROM outbox_events
+            """;
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void append(OrderEvent event) {
+        jdbcTemplate.update(INSERT_SQL,
+                event.eventId().toString(),
+                event.orderId().toString(),
+                event.type(),
+                objectMapper.writeValueAsString(event));
+    }
+
+    @Override
+    public List<OutboxMessage> lockNextBatch(int limit) {
+        return jdbcTemplate.query(LOCK_BATCH_SQL,
+                (rs, rowNum) -> new OutboxMessage(
+                        rs.getLong("id"),
+                        UUID.fromString(rs.getString("event_id")),
+                        UUID.fromString(rs.getString("aggregate_id")),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getLong("age_ms")),
+                limit);
+    }
+
+    @Override
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, List.copyOf(ids), BATCH_SIZE, (ps, id) -> ps.setLong(1, id));
+    }
+
+    @Override
+    public void deadLetter(Map<Long, String> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(DEAD_LETTER_SQL, objectMapper.writeValueAsString(errors.entrySet().stream()
+                .map(e -> Map.<String, Object>of("id", e.getKey(), "error", e.getValue()))
+                .toList()));
+    }
+
+    @Override
+    public Backlog backlog() {
+        return jdbcTemplate.queryForObject(BACKLOG_SQL,
+                (rs, rowNum) -> new Backlog(rs.getLong("pending"), rs.getLong("oldest_age_ms")));
+    }
+}
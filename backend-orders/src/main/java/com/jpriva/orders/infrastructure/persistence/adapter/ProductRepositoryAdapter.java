@@ -1,13 +1,29 @@
 package com.jpriva.orders.infrastructure.persistence.adapter;
 
+import com.jpriva.orders.domain.model.Inventory;
 import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductPrice;
+import com.jpriva.orders.domain.model.ProductUpsertResult;
+import com.jpriva.orders.domain.model.vo.ProductCursor;
+import com.jpriva.orders.domain.model.vo.ProductFilter;
+import com.jpriva.orders.domain.ports.repository.CatalogVersionRepository;
 import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import com.jpriva.orders.domain.ports.search.ProductSearchIndex;
 import com.jpriva.orders.infrastructure.persistence.entity.ProductEntity;
 import com.jpriva.orders.infrastructure.persistence.mapper.ProductMapper;
 import com.jpriva.orders.infrastructure.persistence.repository.ProductJpaRepository;
+import com.jpriva.orders.infrastructure.persistence.repository.ProductSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
 
+import java.sql.Timestamp;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -15,12 +31,91 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductRepositoryAdapter implements ProductRepository {
 
+    private static final int BATCH_SIZE = 500;
+
+    private static final String FIND_INVENTORY_SQL = """
+            SELECT i.id,
+                   i.quantity + COALESCE((SELECT SUM(s.quantity) FROM inventory_shards s WHERE s.product_id = i.product_id), 0),
+                   i.last_updated,
+                   i.row_version
+            FROM inventory i
+            WHERE i.product_id = ?
+            """;
+
+    // Range-locks the SKUs, found or not, so a concurrent upsert cannot insert the same SKU twice.
+    // Returns the SKU as sent, so a match that differs only in case is still found.
+    private static final String LOCK_SKUS_SQL = """
+            SELECT s.sku, p.id
+            FROM OPENJSON(?) WITH (sku NVARCHAR(100) '$') s
+            JOIN products p WITH (UPDLOCK, HOLDLOCK) ON p.sku = s.sku
+            WHERE p.company_id = ?
+            """;
+
+    private static final String INSERT_PRODUCT_SQL = """
+            INSERT INTO products (id, company_id, category_id, name, sku, description, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_INVENTORY_SQL = """
+            INSERT INTO inventory (id, product_id, quantity, last_updated)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_PRODUCT_SQL = "UPDATE products SET category_id = ?, name = ?, description = ? WHERE id = ?";
+
+    private static final String UPSERT_PRICE_SQL = """
+            MERGE product_prices WITH (HOLDLOCK) AS target
+            USING (SELECT ? AS product_id, ? AS currency_code, ? AS price) AS source
+                ON target.product_id = source.product_id AND target.currency_code = source.currency_code
+            WHEN MATCHED THEN
+                UPDATE SET price = source.price
+            WHEN NOT MATCHED THEN
+                INSERT (id, product_id, currency_code, price) VALUES (?, source.product_id, source.currency_code, source.price);
+            """;
+
+    private static final String FIND_IDS_BY_SKUS_SQL = """
+            SELECT s.sku, p.id
+            FROM OPENJSON(?) WITH (sku NVARCHAR(100) '$') s
+            JOIN products p ON p.sku = s.sku
+            WHERE p.company_id = ?
+            """;
+
+    private static final String FIND_IDS_OF_COMPANY_SQL = """
+            SELECT p.id
+            FROM OPENJSON(?) WITH (id UNIQUEIDENTIFIER '$') s
+            JOIN products p ON p.id = s.id
+            WHERE p.company_id = ?
+            """;
+
+    private static final String UPSERT_PRICES_SQL = """
+            MERGE product_prices WITH (HOLDLOCK) AS target
+            USING OPENJSON(?) WITH (
+                id UNIQUEIDENTIFIER '$.id',
+                product_id UNIQUEIDENTIFIER '$.productId',
+                currency_code NVARCHAR(3) '$.currency',
+                price DECIMAL(18, 2) '$.price'
+            ) AS source
+                ON target.product_id = source.product_id AND target.currency_code = source.currency_code
+            WHEN MATCHED AND target.price <> source.price THEN
+                UPDATE SET price = source.price
+            WHEN NOT MATCHED THEN
+                INSERT (id, product_id, currency_code, price) VALUES (source.id, source.product_id, source.currency_code, source.price)
+            OUTPUT inserted.product_id;
+            """;
+
     private final ProductJpaRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final CatalogVersionRepository catalogVersions;
+    private final ObjectMapper objectMapper;
+    private final ProductSearchIndex searchIndex;
 
     @Override
     public Product save(Product product) {
         ProductEntity entity = ProductMapper.toEntity(product);
         ProductEntity saved = jpaRepository.save(entity);
+        catalogVersions.bump(product.getCompanyId());
+        searchIndex.productSaved(product);
         return ProductMapper.toDomain(saved);
     }
 
@@ -43,6 +138,32 @@ public class ProductRepositoryAdapter implements ProductRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Product> findByFilterAfter(ProductFilter filter, ProductCursor after, int limit) {
+        Specification<ProductEntity> spec = ProductSpecifications.matching(filter);
+        if (after != null) {
+            spec = spec.and(ProductSpecifications.after(after));
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+        query.select(root.get("id"))
+                .where(spec.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("name")), cb.asc(root.get("id")));
+        List<UUID> ids = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Product> products = findByIds(new HashSet<>(ids));
+        return ids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
     public Optional<Product> findBySkuAndCompanyId(String sku, UUID companyId) {
         return jpaRepository.findBySkuAndCompanyId(sku, companyId).map(ProductMapper::toDomain);
@@ -50,13 +171,139 @@ public class ProductRepositoryAdapter implements ProductRepository {
 
     @Override
     public void deleteById(UUID id) {
+        catalogVersions.bumpForProducts(List.of(id));
         jpaRepository.deleteById(id);
+        searchIndex.productDeleted(id);
+    }
+
+    @Override
+    public ProductUpsertResult upsertBySku(UUID companyId, List<Product> products) {
+        if (products.isEmpty()) {
+            return new ProductUpsertResult(0, Set.of());
+        }
+        List<String> skus = products.stream().map(Product::getSku).toList();
+        Map<String, UUID> existing = new HashMap<>();
+        jdbcTemplate.query(LOCK_SKUS_SQL,
+                        (rs, rowNum) -> Map.entry(rs.getString(1), UUID.fromString(rs.getString(2))),
+                        objectMapper.writeValueAsString(skus),
+                        companyId.toString())
+                .forEach(match -> existing.putIfAbsent(match.getKey(), match.getValue()));
+
+        List<Product> inserts = new ArrayList<>();
+        Map<UUID, Product> updates = new LinkedHashMap<>();
+        List<Map.Entry<UUID, ProductPrice>> prices = new ArrayList<>();
+        for (Product product : products) {
+            UUID existingId = existing.get(product.getSku());
+            UUID productId = existingId == null ? product.getId() : existingId;
+            if (existingId == null) {
+                inserts.add(product);
+            } else {
+                updates.put(existingId, product);
+            }
+            product.getPrices().values().forEach(price -> prices.add(Map.entry(productId, price)));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, inserts, BATCH_SIZE, (ps, product) -> {
+            ps.setString(1, product.getId().toString());
+            ps.setString(2, companyId.toString());
+            ps.setString(3, product.getCategoryId() == null ? null : product.getCategoryId().toString());
+            ps.setString(4, product.getName());
+            ps.setString(5, product.getSku());
+            ps.setString(6, product.getDescription());
+            ps.setTimestamp(7, Timestamp.valueOf(product.getCreatedAt()));
+        });
+        jdbcTemplate.batchUpdate(INSERT_INVENTORY_SQL, inserts, BATCH_SIZE, (ps, product) -> {
+            ps.setString(1, product.getInventory().getId().toString());
+            ps.setString(2, product.getId().toString());
+            ps.setInt(3, product.getInventory().getQuantity());
+            ps.setTimestamp(4, Timestamp.valueOf(product.getInventory().getLastUpdated()));
+        });
+        jdbcTemplate.batchUpdate(UPDATE_PRODUCT_SQL, List.copyOf(updates.entrySet()), BATCH_SIZE, (ps, update) -> {
+            Product product = update.getValue();
+            ps.setString(1, product.getCategoryId() == null ? null : product.getCategoryId().toString());
+            ps.setString(2, product.getName());
+            ps.setString(3, product.getDescription());
+            ps.setString(4, update.getKey().toString());
+        });
+        jdbcTemplate.batchUpdate(UPSERT_PRICE_SQL, prices, BATCH_SIZE, (ps, price) -> {
+            ps.setString(1, price.getKey().toString());
+            ps.setString(2, price.getValue().getPrice().currency().getCode());
+            ps.setBigDecimal(3, price.getValue().getPrice().amount());
+            ps.setString(4, price.getValue().getId().toString());
+        });
+
+        catalogVersions.bump(companyId);
+        searchIndex.catalogChanged(companyId);
+        return new ProductUpsertResult(inserts.size(), Set.copyOf(updates.keySet()));
+    }
+
+    @Override
+    public Map<String, UUID> findIdsBySkus(UUID companyId, Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, UUID> ids = new HashMap<>();
+        jdbcTemplate.query(FIND_IDS_BY_SKUS_SQL,
+                        (rs, rowNum) -> Map.entry(rs.getString(1), UUID.fromString(rs.getString(2))),
+                        objectMapper.writeValueAsString(skus),
+                        companyId.toString())
+                .forEach(match -> ids.putIfAbsent(match.getKey(), match.getValue()));
+        return ids;
+    }
+
+    @Override
+    public Set<UUID> findIdsOfCompany(UUID companyId, Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(FIND_IDS_OF_COMPANY_SQL,
+                (rs, rowNum) -> UUID.fromString(rs.getString(1)),
+                objectMapper.writeValueAsString(productIds.stream().map(UUID::toString).toList()),
+                companyId.toString()));
+    }
+
+    @Override
+    public List<UUID> upsertPrices(UUID companyId, List<ProductPrice> prices) {
+        if (prices.isEmpty()) {
+            return List.of();
+        }
+        List<Map<String, Object>> rows = prices.stream()
+                .map(price -> Map.<String, Object>of(
+                        "id", price.getId().toString(),
+                        "productId", price.getProductId().toString(),
+                        "currency", price.getPrice().currency().getCode(),
+                        "price", price.getPrice().amount()))
+                .toList();
+        List<UUID> changed = jdbcTemplate.query(UPSERT_PRICES_SQL,
+                (rs, rowNum) -> UUID.fromString(rs.getString(1)),
+                objectMapper.writeValueAsString(rows));
+        if (!changed.isEmpty()) {
+            catalogVersions.bump(companyId);
+        }
+        return changed;
+    }
+
+    public Optional<Inventory> findInventory(UUID productId) {
+        return jdbcTemplate.query(FIND_INVENTORY_SQL,
+                        (rs, rowNum) -> Inventory.fromPersistence(
+                                UUID.fromString(rs.getString(1)),
+                                productId,
+                                rs.getInt(2),
+                                rs.getTimestamp(3) == null ? null : rs.getTimestamp(3).toLocalDateTime(),
+                                rs.getLong(4)),
+                        productId.toString())
+                .stream()
+                .findFirst();
     }
 
     @Override
     public Map<UUID,Product> findByIds(Set<UUID> productIds){
-        return jpaRepository.findByIdIn(productIds).stream()
-                .map(ProductMapper::toDomain)
-                .collect(Collectors.toMap(Product::getId, p -> p));
+        List<UUID> ids = List.copyOf(productIds);
+        Map<UUID, Product> products = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            jpaRepository.findByIdIn(Set.copyOf(ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()))))
+                    .forEach(entity -> products.put(entity.getId(), ProductMapper.toDomain(entity)));
+        }
+        return products;
     }
 }
@@ -0,0 +1,141 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.OrderItem;
+import com.jpriva.orders.domain.model.ProductSales;
+import com.jpriva.orders.domain.model.SalesDay;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+import com.jpriva.orders.domain.ports.repository.SalesDailyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class SalesDailyRepositoryAdapter implements SalesDailyRepository {
+
+    // HOLDLOCK keeps two first sales of the same day from both taking the insert branch.
+    private static final String MERGE_DAY_SQL = """
+            MERGE sales_daily WITH (HOLDLOCK) AS t
+            USING (SELECT ? AS company_id, ? AS sales_date, ? AS currency_code, ? AS status, ? AS order_count, ? AS total_amount) AS s
+                ON t.company_id = s.company_id AND t.sales_date = s.sales_date
+               AND t.currency_code = s.currency_code AND t.status = s.status
+            WHEN MATCHED THEN
+                UPDATE SET order_count = t.order_count + s.order_count, total_amount = t.total_amount + s.total_amount
+            WHEN NOT MATCHED THEN
+                INSERT (company_id, sales_date, currency_code, status, order_count, total_amount)
+                VALUES (s.company_id, s.sales_date, s.currency_code, s.status, s.order_count, s.total_amount);
+            """;
+
+    private static final String MERGE_PRODUCTS_SQL = """
+            MERGE sales_daily_products WITH (HOLDLOCK) AS t
+            USING (
+                SELECT ? AS company_id, ? AS sales_date, ? AS currency_code, r.product_id, r.product_name, r.quantity, r.revenue
+                FROM OPENJSON(?) WITH (
+                    product_id UNIQUEIDENTIFIER '$.productId',
+                    product_name NVARCHAR(255) '$.productName',
+                    quantity INT '$.quantity',
+                    revenue DECIMAL(18, 2) '$.revenue'
+                ) r
+            ) AS s
+                ON t.company_id = s.company_id AND t.sales_date = s.sales_date
+               AND t.currency_code = s.currency_code AND t.product_id = s.product_id
+            WHEN MATCHED THEN
+                UPDATE SET quantity = t.quantity + s.quantity, revenue = t.revenue + s.revenue
+            WHEN NOT MATCHED THEN
+                INSERT (company_id, sales_date, currency_code, product_id, product_name, quantity, revenue)
+                VALUES (s.company_id, s.sales_date, s.currency_code, s.product_id, s.product_name, s.quantity, s.revenue);
+            """;
+
+    private static final String FIND_DAYS_SQL = """
+            SELECT sales_date, status, order_count, total_amount
+            FROM sales_daily
+            WHERE company_id = ? AND currency_code = ? AND sales_date BETWEEN ? AND ?
+            ORDER BY sales_date, status
+            """;
+
+    private static final String FIND_TOP_PRODUCTS_SQL = """
+            SELECT TOP (?) product_id, MAX(product_name) AS product_name, SUM(quantity) AS quantity, SUM(revenue) AS revenue
+            FROM sales_daily_products
+            WHERE company_id = ? AND currency_code = ? AND sales_date BETWEEN ? AND ?
+            GROUP BY product_id
+            HAVING SUM(quantity) > 0
+            ORDER BY SUM(revenue) DESC, product_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void addOrder(Order order, OrderStatus status, int sign) {
+        jdbcTemplate.update(MERGE_DAY_SQL,
+                order.getCompanyId().toString(),
+                Date.valueOf(order.getOrderDate().toLocalDate()),
+                order.getTotalAmount().currency().getCode(),
+                status.name(),
+                sign,
+                order.getTotalAmount().amount().multiply(BigDecimal.valueOf(sign)));
+    }
+
+    @Override
+    public void addProducts(Order order, int sign) {
+        if (order.getItems().isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(MERGE_PRODUCTS_SQL,
+                order.getCompanyId().toString(),
+                Date.valueOf(order.getOrderDate().toLocalDate()),
+                order.getTotalAmount().currency().getCode(),
+                toJson(order.getItems(), sign));
+    }
+
+    @Override
+    public List<SalesDay> findDays(UUID companyId, Currency currency, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(FIND_DAYS_SQL,
+                (rs, rowNum) -> new SalesDay(
+                        rs.getDate("sales_date").toLocalDate(),
+                        OrderStatus.valueOf(rs.getString("status")),
+                        rs.getLong("order_count"),
+                        rs.getBigDecimal("total_amount")),
+                companyId.toString(), currency.getCode(), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    @Override
+    public List<ProductSales> findTopProducts(UUID companyId, Currency currency, LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(FIND_TOP_PRODUCTS_SQL,
+                (rs, rowNum) -> new ProductSales(
+                        UUID.fromString(rs.getString("product_id")),
+                        rs.getString("product_name"),
+                        rs.getLong("quantity"),
+                        rs.getBigDecimal("revenue")),
+                limit, companyId.toString(), currency.getCode(), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    // The MERGE source must hold one row per product, so repeated products are summed here.
+    private String toJson(List<OrderItem> items, int sign) {
+        Map<UUID, Map<String, Object>> lines = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            BigDecimal revenue = item.getUnitPrice().amount().multiply(BigDecimal.valueOf((long) item.getQuantity() * sign));
+            lines.merge(item.getProductId(),
+                    Map.of("productId", item.getProductId().toString(),
+                            "productName", item.getProductName(),
+                            "quantity", item.getQuantity() * sign,
+                            "revenue", revenue),
+                    (a, b) -> Map.of("productId", a.get("productId"),
+                            "productName", a.get("productName"),
+                            "quantity", (int) a.get("quantity") + (int) b.get("quantity"),
+                            "revenue", ((BigDecimal) a.get("revenue")).add((BigDecimal) b.get("revenue"))));
+        }
+        return objectMapper.writeValueAsString(lines.values());
+    }
+}
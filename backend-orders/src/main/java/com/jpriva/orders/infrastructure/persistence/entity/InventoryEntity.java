@@ -2,6 +2,7 @@ package com.jpriva.orders.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -27,10 +28,18 @@ public class InventoryEntity {
     @EqualsAndHashCode.Exclude
     private ProductEntity product;
 
-    @Column(nullable = false)
+    // Stock is changed only through InventoryRepository's set-based updates, never by merging a product.
+    @Column(nullable = false, updatable = false)
     private Integer quantity;
 
+    @Formula("(SELECT COALESCE(SUM(s.quantity), 0) FROM inventory_shards s WHERE s.product_id = product_id)")
+    private Integer shardQuantity;
+
     @LastModifiedDate
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
+
+    @Version
+    @Column(name = "row_version", nullable = false)
+    private Long version;
 }
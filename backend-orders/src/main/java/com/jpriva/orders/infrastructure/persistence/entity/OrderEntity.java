@@ -47,6 +47,10 @@ public class OrderEntity{
     @Column(name = "total_amount", nullable = false)
     private BigDecimal totalAmount;
 
+    @Version
+    @Column(name = "row_version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     @ToString.Exclude
@@ -5,6 +5,7 @@ import com.jpriva.orders.domain.model.OrderItem;
 import com.jpriva.orders.domain.model.vo.Money;
 import com.jpriva.orders.domain.model.vo.OrderStatus;
 import com.jpriva.orders.infrastructure.persistence.entity.OrderEntity;
+import com.jpriva.orders.infrastructure.persistence.entity.OrderHistoryEntity;
 import com.jpriva.orders.infrastructure.persistence.entity.OrderItemEntity;
 
 import java.util.List;
@@ -37,7 +38,36 @@ public class OrderMapper {
                 entity.getOrderDate(),
                 OrderStatus.valueOf(entity.getStatus()),
                 Money.fromString(entity.getCurrencyCode(), entity.getTotalAmount().toString()),
-                items
+                items,
+                entity.getVersion()
+        );
+    }
+
+    public static Order toDomain(OrderHistoryEntity entity) {
+        if (entity == null) return null;
+
+        List<OrderItem> items = entity.getItems().stream()
+                .map(item -> OrderItem.fromPersistence(
+                        item.getId(),
+                        entity.getId(),
+                        item.getProductId(),
+                        item.getProductName(),
+                        item.getQuantity(),
+                        Money.fromString(entity.getCurrencyCode(), item.getUnitPrice().toString())
+                ))
+                .collect(Collectors.toList());
+
+        return new Order(
+                entity.getId(),
+                entity.getCompanyId(),
+                entity.getClientId(),
+                entity.getClientName(),
+                entity.getAddress(),
+                entity.getOrderDate(),
+                OrderStatus.valueOf(entity.getStatus()),
+                Money.fromString(entity.getCurrencyCode(), entity.getTotalAmount().toString()),
+                items,
+                entity.getVersion()
         );
     }
 
@@ -54,6 +84,7 @@ public class OrderMapper {
                 .status(domain.getStatus().name())
                 .currencyCode(domain.getTotalAmount().currency().getCode())
                 .totalAmount(domain.getTotalAmount().amount())
+                .version(domain.getVersion())
                 .build();
 
         if (domain.getItems() != null) {
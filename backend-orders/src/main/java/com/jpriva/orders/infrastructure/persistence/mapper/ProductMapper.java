@@ -33,8 +33,9 @@ public class ProductMapper {
             inventory = Inventory.fromPersistence(
                     entity.getInventory().getId(),
                     entity.getInventory().getProduct().getId(),
-                    entity.getInventory().getQuantity(),
-                    entity.getInventory().getLastUpdated()
+                    onHand(entity.getInventory()),
+                    entity.getInventory().getLastUpdated(),
+                    entity.getInventory().getVersion()
             );
         }
 
@@ -51,6 +52,10 @@ public class ProductMapper {
         );
     }
 
+    private static int onHand(InventoryEntity inventory) {
+        return inventory.getQuantity() + (inventory.getShardQuantity() == null ? 0 : inventory.getShardQuantity());
+    }
+
     public static ProductEntity toEntity(Product domain) {
         if (domain == null) return null;
         
@@ -70,6 +75,7 @@ public class ProductMapper {
                     .product(entity)
                     .quantity(domain.getInventory().getQuantity())
                     .lastUpdated(domain.getInventory().getLastUpdated())
+                    .version(domain.getInventory().getVersion())
                     .build();
             entity.setInventory(invEntity);
         }
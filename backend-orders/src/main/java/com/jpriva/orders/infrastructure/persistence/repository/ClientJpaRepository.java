@@ -5,9 +5,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface ClientJpaRepository extends JpaRepository<ClientEntity, UUID> {
     List<ClientEntity> findByCompanyId(UUID companyId);
+
+    List<ClientEntity> findByIdIn(Set<UUID> ids);
 }
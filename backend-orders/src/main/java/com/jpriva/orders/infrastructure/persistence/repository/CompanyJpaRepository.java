@@ -4,10 +4,14 @@ import com.jpriva.orders.infrastructure.persistence.entity.CompanyEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface CompanyJpaRepository extends JpaRepository<CompanyEntity, UUID> {
     Optional<CompanyEntity> findByTaxId(String taxId);
+
+    List<CompanyEntity> findByTaxIdIn(Set<String> taxIds);
 }
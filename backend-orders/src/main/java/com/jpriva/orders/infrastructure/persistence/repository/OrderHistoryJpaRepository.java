@@ -0,0 +1,38 @@
+package com.jpriva.orders.infrastructure.persistence.repository;
+
+import com.jpriva.orders.domain.model.OrderSummary;
+import com.jpriva.orders.infrastructure.persistence.entity.OrderHistoryEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface OrderHistoryJpaRepository extends JpaRepository<OrderHistoryEntity, UUID>, JpaSpecificationExecutor<OrderHistoryEntity> {
+    Page<OrderHistoryEntity> findByCompanyId(UUID companyId, Pageable pageable);
+    Page<OrderHistoryEntity> findByClientIdAndCompanyId(UUID clientId, UUID companyId, Pageable pageable);
+
+    @Query(value = """
+            SELECT new com.jpriva.orders.domain.model.OrderSummary(o.id, o.clientName, o.orderDate, o.status, o.totalAmount, o.currencyCode)
+            FROM OrderHistoryEntity o
+            WHERE o.companyId = :companyId
+            """,
+            countQuery = "SELECT COUNT(o) FROM OrderHistoryEntity o WHERE o.companyId = :companyId")
+    Page<OrderSummary> findSummariesByCompanyId(@Param("companyId") UUID companyId, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderHistoryEntity> findById(UUID id);
+
+    @EntityGraph(attributePaths = "items")
+    List<OrderHistoryEntity> findWithItemsByIdIn(Collection<UUID> ids);
+}
@@ -1,17 +1,39 @@
 package com.jpriva.orders.infrastructure.persistence.repository;
 
+import com.jpriva.orders.domain.model.OrderSummary;
 import com.jpriva.orders.infrastructure.persistence.entity.OrderEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
+public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID>, JpaSpecificationExecutor<OrderEntity> {
     Page<OrderEntity> findByCompanyId(UUID companyId, Pageable pageable);
     List<OrderEntity> findByClientId(UUID clientId);
     Page<OrderEntity> findByClientIdAndCompanyId(UUID clientId, UUID companyId, Pageable pageable);
+
+    @Query(value = """
+            SELECT new com.jpriva.orders.domain.model.OrderSummary(o.id, o.clientName, o.orderDate, o.status, o.totalAmount, o.currencyCode)
+            FROM OrderEntity o
+            WHERE o.companyId = :companyId
+            """,
+            countQuery = "SELECT COUNT(o) FROM OrderEntity o WHERE o.companyId = :companyId")
+    Page<OrderSummary> findSummariesByCompanyId(@Param("companyId") UUID companyId, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "items")
+    Optional<OrderEntity> findById(UUID id);
+
+    @EntityGraph(attributePaths = "items")
+    List<OrderEntity> findWithItemsByIdIn(Collection<UUID> ids);
 }
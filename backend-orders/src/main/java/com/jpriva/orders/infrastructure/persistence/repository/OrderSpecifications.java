@@ -0,0 +1,58 @@
+package com.jpriva.orders.infrastructure.persistence.repository;
+
+import com.jpriva.orders.domain.model.vo.OrderCursor;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class OrderSpecifications {
+
+    public static final Sort KEYSET_SORT = Sort.by(Sort.Order.desc("orderDate"), Sort.Order.desc("id"));
+
+    private OrderSpecifications() {
+    }
+
+    // One predicate per filter present, so each combination gets its own plan instead of (? IS NULL OR ...).
+    public static <T> Specification<T> matching(OrderFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("companyId"), filter.companyId()));
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status().name()));
+            }
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("orderDate"), filter.from()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(root.get("orderDate"), filter.to()));
+            }
+            if (filter.clientId() != null) {
+                predicates.add(cb.equal(root.get("clientId"), filter.clientId()));
+            }
+            if (filter.currency() != null) {
+                predicates.add(cb.equal(root.get("currencyCode"), filter.currency().getCode()));
+            }
+            if (filter.minAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("totalAmount"), filter.minAmount()));
+            }
+            if (filter.maxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("totalAmount"), filter.maxAmount()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static <T> Specification<T> after(OrderCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("orderDate"), cursor.orderDate()),
+                cb.and(
+                        cb.equal(root.get("orderDate"), cursor.orderDate()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package com.jpriva.orders.infrastructure.persistence.repository;
 
 import com.jpriva.orders.infrastructure.persistence.entity.ProductEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,10 +12,12 @@ import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface ProductJpaRepository extends JpaRepository<ProductEntity, UUID> {
+public interface ProductJpaRepository extends JpaRepository<ProductEntity, UUID>, JpaSpecificationExecutor<ProductEntity> {
+    @EntityGraph(attributePaths = {"prices", "inventory"})
     List<ProductEntity> findByCompanyId(UUID companyId);
 
     Optional<ProductEntity> findBySkuAndCompanyId(String sku, UUID companyId);
 
+    @EntityGraph(attributePaths = {"prices", "inventory"})
     List<ProductEntity> findByIdIn(Set<UUID> productIds);
 }
@@ -0,0 +1,54 @@
+package com.jpriva.orders.infrastructure.persistence.repository;
+
+import com.jpriva.orders.domain.model.vo.ProductCursor;
+import com.jpriva.orders.domain.model.vo.ProductFilter;
+import com.jpriva.orders.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProductSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private ProductSpecifications() {
+    }
+
+    // The SKU prefix is escaped so it can only match as a prefix, which keeps it a seek.
+    public static Specification<ProductEntity> matching(ProductFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("companyId"), filter.companyId()));
+            if (filter.categoryId() != null) {
+                predicates.add(cb.equal(root.get("categoryId"), filter.categoryId()));
+            }
+            if (filter.skuPrefix() != null && !filter.skuPrefix().isEmpty()) {
+                predicates.add(cb.like(root.get("sku"), escapeLike(filter.skuPrefix()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<ProductEntity> after(ProductCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("name"), cursor.name()),
+                cb.and(
+                        cb.equal(root.get("name"), cursor.name()),
+                        cb.greaterThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == LIKE_ESCAPE || c == '%' || c == '_' || c == '[') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
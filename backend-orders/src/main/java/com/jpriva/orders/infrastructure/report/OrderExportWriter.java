@@ -0,0 +1,94 @@
+package com.jpriva.orders.infrastructure.report;
+
+import com.jpriva.orders.application.dto.ExportFormat;
+import com.jpriva.orders.application.dto.OrderDto;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+public class OrderExportWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final String CSV_HEADER = "id,client_name,order_date,status,total_amount,currency";
+
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Writer writer;
+
+    public OrderExportWriter(OutputStream out, ExportFormat format, boolean gzip, ObjectMapper objectMapper) throws IOException {
+        OutputStream target = new NonClosingOutputStream(out);
+        if (gzip) {
+            target = new GZIPOutputStream(target, BUFFER_SIZE);
+        }
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+    }
+
+    public void write(OrderDto.SummaryResponse order) {
+        try {
+            switch (format) {
+                case CSV -> writeCsv(order);
+                case NDJSON -> writer.write(objectMapper.writeValueAsString(order));
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeCsv(OrderDto.SummaryResponse order) throws IOException {
+        writer.write(order.id().toString());
+        writer.write(',');
+        writer.write(csvField(order.clientName()));
+        writer.write(',');
+        writer.write(order.orderDate().toString());
+        writer.write(',');
+        writer.write(order.status());
+        writer.write(',');
+        writer.write(order.totalAmount().toPlainString());
+        writer.write(',');
+        writer.write(order.currency());
+    }
+
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
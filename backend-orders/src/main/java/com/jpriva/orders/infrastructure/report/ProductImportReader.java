@@ -0,0 +1,252 @@
+package com.jpriva.orders.infrastructure.report;
+
+import com.jpriva.orders.application.dto.ExportFormat;
+import com.jpriva.orders.application.dto.ProductDto;
+import com.jpriva.orders.application.dto.ProductImportLine;
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.ProductErrorCodes;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+public class ProductImportReader implements Iterator<ProductImportLine>, AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_ROW_LENGTH = 64 * 1024;
+    private static final String PRICE_PREFIX = "price_";
+
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final BufferedReader reader;
+
+    private Map<String, Integer> columns;
+    private long lineNumber = 1;
+    private ProductImportLine next;
+    private boolean finished;
+
+    public ProductImportReader(InputStream in, ExportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        skipByteOrderMark();
+        if (format == ExportFormat.CSV) {
+            this.columns = readHeader();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = format == ExportFormat.CSV ? readCsvLine() : readNdjsonLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public ProductImportLine next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductImportLine line = next;
+        next = null;
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+    }
+
+    private Map<String, Integer> readHeader() throws IOException {
+        Row header = readCsvRow();
+        if (header == null) {
+            throw new DomainException(ProductErrorCodes.PRODUCT_IMPORT_INVALID, "The file is empty");
+        }
+        if (header.tooLong()) {
+            throw new DomainException(ProductErrorCodes.PRODUCT_IMPORT_INVALID, "The header row is too long");
+        }
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < header.fields().size(); i++) {
+            String column = header.fields().get(i).trim().toLowerCase(Locale.ROOT);
+            boolean known = switch (column) {
+                case "sku", "name", "description", "category_id", "stock" -> true;
+                default -> column.startsWith(PRICE_PREFIX) && column.length() > PRICE_PREFIX.length();
+            };
+            if (!known) {
+                throw new DomainException(ProductErrorCodes.PRODUCT_IMPORT_INVALID, "Unknown column: " + column);
+            }
+            if (indexes.putIfAbsent(column, i) != null) {
+                throw new DomainException(ProductErrorCodes.PRODUCT_IMPORT_INVALID, "Repeated column: " + column);
+            }
+        }
+        if (!indexes.containsKey("sku") || !indexes.containsKey("name")) {
+            throw new DomainException(ProductErrorCodes.PRODUCT_IMPORT_INVALID, "The sku and name columns are required");
+        }
+        return indexes;
+    }
+
+    private ProductImportLine readCsvLine() throws IOException {
+        Row row;
+        do {
+            row = readCsvRow();
+            if (row == null) {
+                return null;
+            }
+        } while (!row.tooLong() && row.fields().size() == 1 && row.fields().getFirst().isBlank());
+
+        if (row.tooLong()) {
+            return ProductImportLine.invalid(row.line(), "Row is longer than " + MAX_ROW_LENGTH + " characters");
+        }
+        if (row.fields().size() != columns.size()) {
+            return ProductImportLine.invalid(row.line(), "Expected " + columns.size() + " columns, found " + row.fields().size());
+        }
+
+        String column = null;
+        try {
+            Map<String, BigDecimal> prices = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : columns.entrySet()) {
+                if (entry.getKey().startsWith(PRICE_PREFIX)) {
+                    column = entry.getKey();
+                    String amount = value(row, column);
+                    if (amount != null) {
+                        prices.put(column.substring(PRICE_PREFIX.length()).toUpperCase(Locale.ROOT), new BigDecimal(amount));
+                    }
+                }
+            }
+            column = "category_id";
+            String categoryId = value(row, column);
+            column = "stock";
+            String stock = value(row, column);
+            return ProductImportLine.of(row.line(), new ProductDto.ImportRow(
+                    value(row, "sku"),
+                    value(row, "name"),
+                    value(row, "description"),
+                    categoryId == null ? null : UUID.fromString(categoryId),
+                    stock == null ? null : Integer.valueOf(stock),
+                    prices
+            ));
+        } catch (IllegalArgumentException e) {
+            return ProductImportLine.invalid(row.line(), "Invalid " + column + ": " + value(row, column));
+        }
+    }
+
+    private String value(Row row, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = row.fields().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Row readCsvRow() throws IOException {
+        long start = lineNumber;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int length = 0;
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() != '"') {
+                        reader.reset();
+                        quoted = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    lineNumber++;
+                }
+            } else if (c == '"') {
+                quoted = true;
+                continue;
+            } else if (c == ',') {
+                if (length++ < MAX_ROW_LENGTH) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                }
+                continue;
+            } else if (c == '\r') {
+                continue;
+            } else if (c == '\n') {
+                lineNumber++;
+                break;
+            }
+            if (length++ < MAX_ROW_LENGTH) {
+                field.append((char) c);
+            }
+        }
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return new Row(start, fields, length > MAX_ROW_LENGTH);
+    }
+
+    private ProductImportLine readNdjsonLine() throws IOException {
+        while (true) {
+            long start = lineNumber;
+            StringBuilder line = new StringBuilder();
+            int length = 0;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (c == '\n') {
+                    lineNumber++;
+                    break;
+                }
+                if (c != '\r' && length++ < MAX_ROW_LENGTH) {
+                    line.append((char) c);
+                }
+            }
+            if (!read) {
+                return null;
+            }
+            if (length > MAX_ROW_LENGTH) {
+                return ProductImportLine.invalid(start, "Row is longer than " + MAX_ROW_LENGTH + " characters");
+            }
+            if (line.isEmpty() || line.toString().isBlank()) {
+                continue;
+            }
+            try {
+                return ProductImportLine.of(start, objectMapper.readValue(line.toString(), ProductDto.ImportRow.class));
+            } catch (JacksonException e) {
+                return ProductImportLine.invalid(start, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private record Row(long line, List<String> fields, boolean tooLong) {
+    }
+}
@@ -1,7 +1,10 @@
 package com.jpriva.orders.infrastructure.rest.controller;
 
+import com.jpriva.orders.application.dto.CursorPage;
 import com.jpriva.orders.application.dto.OrderDto;
+import com.jpriva.orders.application.dto.OrderExport;
 import com.jpriva.orders.application.usecase.ManageOrderUseCase;
+import com.jpriva.orders.infrastructure.report.OrderExportWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,12 +17,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 import java.net.URI;
 import java.util.UUID;
@@ -32,6 +40,7 @@ import java.util.UUID;
 public class OrderController {
 
     private final ManageOrderUseCase manageOrderUseCase;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Get orders by company tax ID")
     @ApiResponses(value = {
@@ -47,6 +56,85 @@ public class OrderController {
         return ResponseEntity.ok(manageOrderUseCase.getOrders(pageable, taxId));
     }
 
+    @Operation(summary = "Get order summaries by company tax ID", description = "Same listing as the full orders endpoint, without items.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of order summaries", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping("/{taxId}/summary")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Page<OrderDto.SummaryResponse>> getOrderSummaries(
+            @PathVariable String taxId,
+            @PageableDefault(sort = "orderDate") Pageable pageable
+    ) {
+        return ResponseEntity.ok(manageOrderUseCase.getOrderSummaries(pageable, taxId));
+    }
+
+    @Operation(summary = "Get orders by company tax ID using a continuation token",
+            description = "Newest orders first. Pass the returned nextCursor to get the following slice; the total is only computed when includeTotal is set.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Slice of orders", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or filter", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping("/{taxId}/cursor")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<OrderDto.Response>> getOrdersByCursor(
+            @PathVariable String taxId,
+            OrderDto.CursorQuery query
+    ) {
+        return ResponseEntity.ok(manageOrderUseCase.getOrdersByCursor(taxId, query));
+    }
+
+    @Operation(summary = "Search orders of a company",
+            description = "Filters can be combined; newest orders first. Pass the returned nextCursor to get the following slice.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Slice of order summaries", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or filter", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping("/{taxId}/search")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<OrderDto.SummaryResponse>> searchOrders(
+            @PathVariable String taxId,
+            OrderDto.SearchQuery query
+    ) {
+        return ResponseEntity.ok(manageOrderUseCase.searchOrders(taxId, query));
+    }
+
+    @Operation(summary = "Export orders of a company",
+            description = "Streams every matching order, newest first, as CSV or newline-delimited JSON. The filters are the same as the search. With gzip=true the file is sent as a .gz download.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export file", content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "application/gzip")}),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or format", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping("/{taxId}/export")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @PathVariable String taxId,
+            OrderDto.ExportQuery query
+    ) {
+        OrderExport export = manageOrderUseCase.prepareExport(taxId, query);
+        StreamingResponseBody body = out -> {
+            try (OrderExportWriter writer = new OrderExportWriter(out, export.format(), export.gzip(), objectMapper)) {
+                manageOrderUseCase.exportOrders(export, writer::write);
+            }
+        };
+        // No Content-Encoding: clients would inflate the download and save plain text under the .gz name.
+        MediaType contentType = export.gzip()
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(export.format().getContentType());
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(export.fileName()).build().toString())
+                .body(body);
+    }
+
     @Operation(summary = "Create a new order")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Order created successfully", content = @Content(schema = @Schema(implementation = OrderDto.Response.class))),
@@ -62,6 +150,20 @@ public class OrderController {
         return ResponseEntity.created(URI.create("/api/orders/" + response.id())).body(response);
     }
 
+    @Operation(summary = "Create many orders with their items in a single request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Per-order results; rejected orders are reported without failing the batch", content = @Content(schema = @Schema(implementation = OrderDto.BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/batch")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<OrderDto.BatchResponse> createOrders(@RequestBody @Valid OrderDto.BatchRequest request) {
+        log.debug("Creating {} orders in batch", request.orders().size());
+        return ResponseEntity.ok(manageOrderUseCase.createOrders(request));
+    }
+
     @Operation(summary = "Get an order by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found", content = @Content(schema = @Schema(implementation = OrderDto.Response.class))),
@@ -93,6 +195,26 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Add many items to an order in a single request",
+            description = "All lines are validated first and the order is saved once; if any line fails, no item is added.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items added successfully", content = @Content(schema = @Schema(implementation = OrderDto.Response.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or not enough stock", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Order or product not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/{id}/items:batch")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<OrderDto.Response> addItems(
+            @PathVariable UUID id,
+            @RequestBody @Valid OrderDto.AddItemsRequest request,
+            @AuthenticationPrincipal UserDetails details
+    ) {
+        OrderDto.Response response = manageOrderUseCase.addItems(id, request, details.getUsername());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Remove an item from an order")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item removed successfully", content = @Content(schema = @Schema(implementation = OrderDto.Response.class))),
@@ -110,4 +232,32 @@ public class OrderController {
         OrderDto.Response response = manageOrderUseCase.removeItem(id, itemId, details.getUsername());
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "Confirm an order and reserve its stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order confirmed", content = @Content(schema = @Schema(implementation = OrderDto.Response.class))),
+            @ApiResponse(responseCode = "400", description = "Order is not pending, has no items or there is not enough stock", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/{id}/confirm")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<OrderDto.Response> confirmOrder(@PathVariable UUID id, @AuthenticationPrincipal UserDetails details) {
+        return ResponseEntity.ok(manageOrderUseCase.confirmOrder(id, details.getUsername()));
+    }
+
+    @Operation(summary = "Cancel an order and return its stock")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order cancelled", content = @Content(schema = @Schema(implementation = OrderDto.Response.class))),
+            @ApiResponse(responseCode = "400", description = "Order was already shipped or delivered", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Order not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<OrderDto.Response> cancelOrder(@PathVariable UUID id, @AuthenticationPrincipal UserDetails details) {
+        return ResponseEntity.ok(manageOrderUseCase.cancelOrder(id, details.getUsername()));
+    }
 }
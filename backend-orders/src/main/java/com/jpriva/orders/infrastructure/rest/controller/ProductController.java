@@ -1,8 +1,13 @@
 package com.jpriva.orders.infrastructure.rest.controller;
 
+import com.jpriva.orders.application.dto.CursorPage;
+import com.jpriva.orders.application.dto.ExportFormat;
 import com.jpriva.orders.application.dto.ProductDto;
+import com.jpriva.orders.application.usecase.ImportProductsUseCase;
 import com.jpriva.orders.application.usecase.ManageNotificationUseCase;
 import com.jpriva.orders.application.usecase.ManageProductUseCase;
+import com.jpriva.orders.infrastructure.cache.CatalogResponseCache;
+import com.jpriva.orders.infrastructure.report.ProductImportReader;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,14 +16,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("/api/products")
@@ -28,6 +41,9 @@ public class ProductController {
 
     private final ManageProductUseCase manageProductUseCase;
     private final ManageNotificationUseCase manageNotificationUseCase;
+    private final ImportProductsUseCase importProductsUseCase;
+    private final CatalogResponseCache catalogResponseCache;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Create a new product")
     @ApiResponses(value = {
@@ -52,14 +68,88 @@ public class ProductController {
         return ResponseEntity.ok(manageProductUseCase.getProduct(id));
     }
 
-    @Operation(summary = "Get all products by company tax ID")
+    @Operation(summary = "Get all products by company tax ID",
+            description = "Tagged with an ETag that changes with any product, price or stock change of the company. Send it back in If-None-Match to get a 304 while the catalog is unchanged.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of products", content = @Content(schema = @Schema(implementation = ProductDto.Response.class)))
+            @ApiResponse(responseCode = "200", description = "List of products", content = @Content(schema = @Schema(implementation = ProductDto.Response.class))),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the given ETag"),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
     })
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{taxId}")
-    public ResponseEntity<List<ProductDto.Response>> getProduct(@PathVariable String taxId) {
-        return ResponseEntity.ok(manageProductUseCase.getAllProduct(taxId));
+    public ResponseEntity<byte[]> getProduct(@PathVariable String taxId, WebRequest webRequest) {
+        long version = manageProductUseCase.getCatalogVersion(taxId);
+        String etag = "\"" + version + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        byte[] body = catalogResponseCache.get(taxId, version);
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(manageProductUseCase.getAllProduct(taxId));
+            catalogResponseCache.put(taxId, version, body);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Get products of a company using a continuation token",
+            description = "Ordered by name. Pass the returned nextCursor to get the following slice.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Slice of products", content = @Content(schema = @Schema(implementation = CursorPage.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/{taxId}/cursor")
+    public ResponseEntity<CursorPage<ProductDto.Response>> getProductsByCursor(
+            @PathVariable String taxId,
+            ProductDto.CursorQuery query
+    ) {
+        return ResponseEntity.ok(manageProductUseCase.getProductsByCursor(taxId, query));
+    }
+
+    @Operation(summary = "Suggest products of a company while typing",
+            description = "Matches SKUs and names that start with the query, then SKUs and names that contain it (from three characters on).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching products", content = @Content(schema = @Schema(implementation = ProductDto.Suggestion.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/{taxId}/suggestions")
+    public ResponseEntity<List<ProductDto.Suggestion>> suggestProducts(
+            @PathVariable String taxId,
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(manageProductUseCase.suggestProducts(taxId, query, limit));
+    }
+
+    @Operation(summary = "Import a product catalog",
+            description = "Creates or updates products by SKU from a CSV (header: sku, name, description, category_id, stock, price_<CURRENCY>...) or NDJSON upload, optionally gzipped. "
+                    + "The file is read as a stream and stored in batches; stock only applies to new products. Rejected rows are listed in the report.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = ProductDto.ImportReport.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid CSV header", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping(value = "/{taxId}/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ProductDto.ImportReport> importProducts(
+            @PathVariable String taxId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        ExportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(ExportFormat.NDJSON.getContentType()))
+                ? ExportFormat.NDJSON
+                : ExportFormat.CSV;
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+        try (ProductImportReader reader = new ProductImportReader(in, format, objectMapper)) {
+            return ResponseEntity.ok(importProductsUseCase.importProducts(taxId, reader));
+        }
     }
 
     @Operation(summary = "Update a product's price")
@@ -77,6 +167,21 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Set many prices of a company's products at once",
+            description = "Rows name a product by id or SKU. Valid rows are applied in one transaction; invalid ones are rejected and listed in the report.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Prices applied", content = @Content(schema = @Schema(implementation = ProductDto.BulkPriceReport.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PutMapping("/{taxId}/prices")
+    public ResponseEntity<ProductDto.BulkPriceReport> updatePrices(
+            @PathVariable String taxId,
+            @RequestBody @Valid ProductDto.BulkPriceRequest request) {
+        return ResponseEntity.ok(manageProductUseCase.updatePrices(taxId, request));
+    }
+
     @Operation(summary = "Increase a product's stock")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Stock increased successfully", content = @Content(schema = @Schema(implementation = ProductDto.Response.class))),
@@ -91,6 +196,36 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Receive stock for many products of a company",
+            description = "Lines name a product by id or SKU; valid lines are added in one transaction with set-based updates. Returns the new stock of every product received.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock received", content = @Content(schema = @Schema(implementation = ProductDto.ReceiveStockReport.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PostMapping("/{taxId}/stock-receipts")
+    public ResponseEntity<ProductDto.ReceiveStockReport> receiveStock(
+            @PathVariable String taxId,
+            @RequestBody @Valid ProductDto.ReceiveStockRequest request) {
+        return ResponseEntity.ok(manageProductUseCase.receiveStock(taxId, request));
+    }
+
+    @Operation(summary = "Split a product's stock over several counters",
+            description = "For products sold under heavy contention: orders reserve from one counter at a time. Use 1 shard to merge the counters back.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock resharded successfully", content = @Content(schema = @Schema(implementation = ProductDto.Response.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    @PutMapping("/{id}/stock/shards")
+    public ResponseEntity<ProductDto.Response> reshardStock(
+            @PathVariable UUID id,
+            @RequestBody @Valid ProductDto.ReshardRequest request) {
+        return ResponseEntity.ok(manageProductUseCase.reshardInventory(id, request));
+    }
+
     @Operation(summary = "Get a PDF report of products by company tax ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "PDF report generated successfully", content = @Content(mediaType = "application/pdf")),
@@ -0,0 +1,44 @@
+package com.jpriva.orders.infrastructure.rest.controller;
+
+import com.jpriva.orders.application.dto.SalesDto;
+import com.jpriva.orders.application.usecase.ManageSalesUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sales")
+@RequiredArgsConstructor
+@Tag(name = "Sales", description = "Sales report API")
+public class SalesController {
+
+    private final ManageSalesUseCase manageSalesUseCase;
+
+    @Operation(summary = "Get the sales report of a company",
+            description = "Totals, order counts per day and top products for a date range and currency. Defaults to the last 30 days.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sales report", content = @Content(schema = @Schema(implementation = SalesDto.ReportResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid currency or date range", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content(schema = @Schema(implementation = ProblemDetail.class))),
+            @ApiResponse(responseCode = "404", description = "Company not found", content = @Content(schema = @Schema(implementation = ProblemDetail.class)))
+    })
+    @GetMapping("/{taxId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<SalesDto.ReportResponse> getSalesReport(
+            @PathVariable String taxId,
+            SalesDto.ReportQuery query
+    ) {
+        return ResponseEntity.ok(manageSalesUseCase.getSalesReport(taxId, query));
+    }
+}
@@ -0,0 +1,260 @@
+package com.jpriva.orders.infrastructure.rest.filter;
+
+import com.jpriva.orders.domain.exceptions.ErrorCode;
+import com.jpriva.orders.domain.exceptions.IdempotencyErrorCodes;
+import com.jpriva.orders.domain.model.IdempotencyRecord;
+import com.jpriva.orders.domain.ports.repository.IdempotencyKeyRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String ORDERS_PATH = "/api/orders";
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ObjectMapper objectMapper;
+    private final long renewalMillis;
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("idempotency-renewal").daemon().factory());
+
+    public IdempotencyFilter(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.orders.idempotency.lock-timeout:PT1M}") Duration lockTimeout
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.objectMapper = objectMapper;
+        this.renewalMillis = Math.max(1, lockTimeout.toMillis() / 3);
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !MUTATING_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith(ORDERS_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeProblem(request, response, IdempotencyErrorCodes.IDEMPOTENCY_KEY_INVALID);
+            return;
+        }
+
+        String scope = authentication.getName();
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = fingerprint(request, body);
+
+        Optional<IdempotencyRecord> existing = idempotencyKeyRepository.find(scope, key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (!record.requestHash().equals(requestHash)) {
+                writeProblem(request, response, IdempotencyErrorCodes.IDEMPOTENCY_KEY_REUSED);
+            } else if (!record.isCompleted()) {
+                writeProblem(request, response, IdempotencyErrorCodes.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            } else {
+                replay(record, response);
+            }
+            return;
+        }
+
+        if (!idempotencyKeyRepository.tryBegin(scope, key, requestHash)) {
+            writeProblem(request, response, IdempotencyErrorCodes.IDEMPOTENCY_REQUEST_IN_PROGRESS);
+            return;
+        }
+
+        // The claim is renewed while the request runs, so the lock timeout only matters once its owner is gone.
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(
+                () -> renew(scope, key, requestHash), renewalMillis, renewalMillis, TimeUnit.MILLISECONDS);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            if (HttpStatus.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+                idempotencyKeyRepository.complete(scope, key, new IdempotencyRecord(
+                        requestHash,
+                        cachingResponse.getStatus(),
+                        cachingResponse.getContentType(),
+                        cachingResponse.getHeader(HttpHeaders.LOCATION),
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)
+                ));
+                completed = true;
+            }
+        } finally {
+            renewal.cancel(false);
+            if (!completed) {
+                idempotencyKeyRepository.abandon(scope, key);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void renew(String scope, String key, String requestHash) {
+        try {
+            idempotencyKeyRepository.extend(scope, key, requestHash);
+        } catch (RuntimeException e) {
+            log.warn("Could not renew the claim on idempotency key {}", key, e);
+        }
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        if (record.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, record.location());
+        }
+        if (record.body() != null) {
+            response.getOutputStream().write(record.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void writeProblem(HttpServletRequest request, HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.valueOf(errorCode.getHttpStatus()),
+                errorCode.getMessage()
+        );
+        problemDetail.setTitle("Domain Rule Violation");
+        problemDetail.setInstance(URI.create(request.getRequestURI()));
+        problemDetail.setProperty("errorCode", errorCode.getCode());
+        problemDetail.setProperty("timestamp", Instant.now());
+
+        response.setStatus(errorCode.getHttpStatus());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + request.getQueryString() + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is all available as soon as the listener is set.
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
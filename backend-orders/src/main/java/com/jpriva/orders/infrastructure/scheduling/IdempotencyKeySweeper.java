@@ -0,0 +1,33 @@
+package com.jpriva.orders.infrastructure.scheduling;
+
+import com.jpriva.orders.domain.ports.repository.IdempotencyKeyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeySweeper {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Value("${app.orders.idempotency.sweep-batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.orders.idempotency.sweep-interval:PT10M}")
+    public void sweep() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = idempotencyKeyRepository.deleteExpired(batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            log.debug("Deleted {} expired idempotency keys", total);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.jpriva.orders.infrastructure.scheduling;
+
+import com.jpriva.orders.infrastructure.persistence.adapter.CoalescingInventoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.orders.inventory.coalescing.enabled", havingValue = "true")
+public class InventoryGrantSweeper {
+
+    private final CoalescingInventoryRepository coalescingInventoryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.orders.inventory.coalescing.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.orders.inventory.coalescing.sweep-interval:PT30S}")
+    public void sweep() {
+        int total = 0;
+        int restored;
+        do {
+            restored = coalescingInventoryRepository.restoreExpired(batchSize);
+            total += restored;
+        } while (restored == batchSize);
+
+        if (total > 0) {
+            meterRegistry.counter("orders.inventory.coalescing.restored").increment(total);
+            log.warn("Returned {} expired inventory grants to stock", total);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.jpriva.orders.infrastructure.scheduling;
+
+import com.jpriva.orders.domain.ports.repository.InventoryHoldRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryHoldSweeper {
+
+    private final InventoryHoldRepository inventoryHoldRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.orders.holds.sweep-batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.orders.holds.sweep-interval:PT1M}")
+    public void sweep() {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = inventoryHoldRepository.deleteExpired(batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+
+        if (total > 0) {
+            meterRegistry.counter("inventory.holds.expired").increment(total);
+            log.debug("Released {} expired inventory holds", total);
+        }
+    }
+}
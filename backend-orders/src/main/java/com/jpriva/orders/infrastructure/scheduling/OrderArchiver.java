@@ -0,0 +1,58 @@
+package com.jpriva.orders.infrastructure.scheduling;
+
+import com.jpriva.orders.domain.ports.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.orders.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration age;
+    private final int batchSize;
+    private final Counter archived;
+
+    public OrderArchiver(
+            OrderRepository orderRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.orders.archive.age:P180D}") Duration age,
+            @Value("${app.orders.archive.batch-size:500}") int batchSize
+    ) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.age = age;
+        this.batchSize = batchSize;
+        this.archived = meterRegistry.counter("orders.archive.archived");
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(age);
+        int total = 0;
+        int moved;
+        do {
+            Integer batch = transactionTemplate.execute(status -> orderRepository.archiveClosedBefore(cutoff, batchSize));
+            moved = batch == null ? 0 : batch;
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            archived.increment(total);
+            log.debug("Archived {} closed orders dated before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.jpriva.orders.infrastructure.search;
+
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductSuggestion;
+import com.jpriva.orders.domain.ports.search.ProductSearchIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ArrayList;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Writes of other instances only show up once the index is reloaded, refresh after it was loaded. Only the
+// first load of a company runs on the request path; later ones are built in the background while searches
+// keep using the loaded index, and swapped in when ready.
+@Slf4j
+@Component
+public class InMemoryProductSearchIndex implements ProductSearchIndex {
+
+    private static final String LOAD_SQL = "SELECT TOP (?) id, sku, name FROM products WHERE company_id = ?";
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxCompanies;
+    private final int maxProducts;
+    private final long refreshNanos;
+    private final long idleTimeoutNanos;
+    private final Map<UUID, CompanyIndex> companies = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("product-search-refresh").daemon().factory());
+
+    public InMemoryProductSearchIndex(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.orders.products.search.max-companies:200}") int maxCompanies,
+            @Value("${app.orders.products.search.max-products:100000}") int maxProducts,
+            @Value("${app.orders.products.search.refresh:PT5M}") Duration refresh,
+            @Value("${app.orders.products.search.idle-timeout:PT30M}") Duration idleTimeout
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxCompanies = maxCompanies;
+        this.maxProducts = maxProducts;
+        this.refreshNanos = refresh.toNanos();
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    @Override
+    public Optional<List<ProductSuggestion>> search(UUID companyId, String query, int limit) {
+        CompanyIndex index = companies.get(companyId);
+        if (index == null) {
+            index = companies.computeIfAbsent(companyId, id -> new CompanyIndex());
+            evictLeastRecentlySearched(companyId);
+        }
+        index.lastSearched = System.nanoTime();
+        synchronized (index) {
+            if (!index.loaded) {
+                load(companyId, index);
+            } else if (index.pending == null && System.nanoTime() - index.loadedAt > refreshNanos) {
+                index.pending = new ArrayList<>();
+                CompanyIndex stale = index;
+                refresher.execute(() -> rebuild(companyId, stale));
+            }
+            return index.oversized ? Optional.empty() : Optional.of(index.search(normalize(query), limit));
+        }
+    }
+
+    @Override
+    public void productSaved(Product product) {
+        ProductSuggestion suggestion = new ProductSuggestion(product.getId(), product.getSku(), product.getName());
+        afterCommit(() -> {
+            CompanyIndex index = companies.get(product.getCompanyId());
+            if (index == null) {
+                return;
+            }
+            write(index, current -> {
+                // An index not loaded yet will read the committed row itself.
+                if (current.loaded && !current.oversized) {
+                    current.put(suggestion);
+                    if (current.size() > maxProducts) {
+                        current.clear();
+                        current.oversized = true;
+                    }
+                }
+            });
+        });
+    }
+
+    @Override
+    public void productDeleted(UUID productId) {
+        afterCommit(() -> companies.values().forEach(index -> write(index, current -> current.remove(productId))));
+    }
+
+    @Override
+    public void catalogChanged(UUID companyId) {
+        afterCommit(() -> companies.remove(companyId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.products.search.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = companies.size();
+        companies.values().removeIf(index -> now - index.lastSearched > idleTimeoutNanos);
+        if (companies.size() < before) {
+            log.debug("Dropped the search index of {} idle companies", before - companies.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void rebuild(UUID companyId, CompanyIndex stale) {
+        CompanyIndex fresh = new CompanyIndex();
+        try {
+            load(companyId, fresh);
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh the search index of company {}, keeping the loaded one", companyId, e);
+            synchronized (stale) {
+                stale.pending = null;
+                stale.loadedAt = System.nanoTime();
+            }
+            return;
+        }
+        synchronized (stale) {
+            // Writes committed while the catalog was read may be missing from it, so they are applied again.
+            stale.pending.forEach(pending -> pending.accept(fresh));
+            stale.pending = null;
+            stale.replacedBy = fresh;
+            fresh.lastSearched = stale.lastSearched;
+            companies.replace(companyId, stale, fresh);
+        }
+    }
+
+    // Applies a committed write to the index and, while it is being rebuilt, to its replacement as well.
+    private static void write(CompanyIndex index, Consumer<CompanyIndex> change) {
+        synchronized (index) {
+            change.accept(index);
+            if (index.pending != null) {
+                index.pending.add(change);
+            } else if (index.replacedBy != null) {
+                write(index.replacedBy, change);
+            }
+        }
+    }
+
+    private void load(UUID companyId, CompanyIndex index) {
+        List<ProductSuggestion> products = jdbcTemplate.query(LOAD_SQL,
+                (rs, rowNum) -> new ProductSuggestion(UUID.fromString(rs.getString(1)), rs.getString(2), rs.getString(3)),
+                maxProducts + 1,
+                companyId.toString());
+        index.clear();
+        index.oversized = products.size() > maxProducts;
+        if (index.oversized) {
+            log.debug("Company {} has more than {} products, its catalog is not indexed", companyId, maxProducts);
+        } else {
+            products.forEach(index::put);
+        }
+        index.loaded = true;
+        index.loadedAt = System.nanoTime();
+    }
+
+    private void evictLeastRecentlySearched(UUID keep) {
+        if (companies.size() <= maxCompanies) {
+            return;
+        }
+        companies.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(keep))
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastSearched))
+                .ifPresent(eldest -> companies.remove(eldest.getKey(), eldest.getValue()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CompanyIndex {
+
+        private final Map<UUID, ProductSuggestion> products = new HashMap<>();
+        private final NavigableMap<String, UUID> skus = new TreeMap<>();
+        private final NavigableMap<String, UUID> names = new TreeMap<>();
+        private final NavigableMap<String, UUID> words = new TreeMap<>();
+        private final Map<String, Set<UUID>> grams = new HashMap<>();
+
+        private volatile long lastSearched = System.nanoTime();
+        private long loadedAt;
+        private boolean loaded;
+        private boolean oversized;
+        private List<Consumer<CompanyIndex>> pending;
+        private CompanyIndex replacedBy;
+
+        List<ProductSuggestion> search(String query, int limit) {
+            if (query.isEmpty()) {
+                return List.of();
+            }
+            Set<UUID> found = new LinkedHashSet<>();
+            collectPrefixed(skus, query, found, limit);
+            collectPrefixed(names, query, found, limit);
+            collectPrefixed(words, query, found, limit);
+            if (found.size() < limit && query.length() >= GRAM_LENGTH) {
+                containing(query).stream()
+                        .filter(product -> !found.contains(product.id()))
+                        .sorted(Comparator.comparing((ProductSuggestion product) -> normalize(product.name()))
+                                .thenComparing(ProductSuggestion::id))
+                        .limit(limit - found.size())
+                        .forEach(product -> found.add(product.id()));
+            }
+            return found.stream().map(products::get).toList();
+        }
+
+        void put(ProductSuggestion product) {
+            remove(product.id());
+            UUID id = product.id();
+            String sku = normalize(product.sku());
+            String name = normalize(product.name());
+            products.put(id, product);
+            skus.put(key(sku, id), id);
+            names.put(key(name, id), id);
+            words(name).forEach(word -> words.put(key(word, id), id));
+            grams(sku, name).forEach(gram -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(id));
+        }
+
+        void remove(UUID id) {
+            ProductSuggestion product = products.remove(id);
+            if (product == null) {
+                return;
+            }
+            String sku = normalize(product.sku());
+            String name = normalize(product.name());
+            skus.remove(key(sku, id));
+            names.remove(key(name, id));
+            words(name).forEach(word -> words.remove(key(word, id)));
+            grams(sku, name).forEach(gram -> {
+                Set<UUID> ids = grams.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    grams.remove(gram);
+                }
+            });
+        }
+
+        int size() {
+            return products.size();
+        }
+
+        void clear() {
+            products.clear();
+            skus.clear();
+            names.clear();
+            words.clear();
+            grams.clear();
+        }
+
+        private List<ProductSuggestion> containing(String query) {
+            Set<UUID> rarest = null;
+            for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+                Set<UUID> ids = grams.get(query.substring(i, i + GRAM_LENGTH));
+                if (ids == null) {
+                    return List.of();
+                }
+                if (rarest == null || ids.size() < rarest.size()) {
+                    rarest = ids;
+                }
+            }
+            return rarest.stream()
+                    .map(products::get)
+                    .filter(product -> normalize(product.sku()).contains(query) || normalize(product.name()).contains(query))
+                    .toList();
+        }
+
+        private static void collectPrefixed(NavigableMap<String, UUID> terms, String prefix, Set<UUID> found, int limit) {
+            for (UUID id : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                if (found.size() >= limit) {
+                    return;
+                }
+                found.add(id);
+            }
+        }
+
+        // The id keeps keys unique when products share a term; the separator sorts before any character,
+        // so an exact match comes before the longer terms it is a prefix of.
+        private static String key(String term, UUID id) {
+            return term + '\u0000' + id;
+        }
+
+        private static Stream<String> words(String name) {
+            return Arrays.stream(name.split("[^\\p{L}\\p{N}]+"))
+                    .filter(word -> !word.isEmpty())
+                    .distinct();
+        }
+
+        private static Stream<String> grams(String sku, String name) {
+            return Stream.of(sku, name)
+                    .flatMap(value -> IntStream.rangeClosed(0, value.length() - GRAM_LENGTH)
+                            .mapToObj(i -> value.substring(i, i + GRAM_LENGTH)))
+                    .distinct();
+        }
+    }
+}
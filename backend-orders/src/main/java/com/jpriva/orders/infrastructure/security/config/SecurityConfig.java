@@ -3,6 +3,7 @@ package com.jpriva.orders.infrastructure.security.config;
 import com.jpriva.orders.domain.model.vo.Role;
 import com.jpriva.orders.infrastructure.rest.advice.CustomAccessDeniedHandler;
 import com.jpriva.orders.infrastructure.rest.advice.CustomAuthenticationEntryPoint;
+import com.jpriva.orders.infrastructure.rest.filter.IdempotencyFilter;
 import com.jpriva.orders.infrastructure.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
@@ -73,9 +74,9 @@ public class SecurityConfig {
 
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "Accept"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "Accept", IdempotencyFilter.IDEMPOTENCY_KEY_HEADER));
 
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setExposedHeaders(List.of("Authorization", IdempotencyFilter.REPLAYED_HEADER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,68 @@
+-- Closed orders past app.orders.archive.age are moved here in batches, one month per partition.
+-- The archiver adds the monthly boundaries as it reaches new months, so the function starts empty.
+CREATE PARTITION FUNCTION PF_OrdersArchive_Month (DATETIME2) AS RANGE RIGHT FOR VALUES ();
+
+CREATE PARTITION SCHEME PS_OrdersArchive_Month AS PARTITION PF_OrdersArchive_Month ALL TO ([PRIMARY]);
+
+-- No constraints besides the key: rows are written through DELETE ... OUTPUT INTO, whose target
+-- cannot take part in foreign keys or have check constraints.
+CREATE TABLE orders_archive (
+    id UNIQUEIDENTIFIER NOT NULL,
+    company_id UNIQUEIDENTIFIER NOT NULL,
+    client_id UNIQUEIDENTIFIER NOT NULL,
+    client_name NVARCHAR(255) NOT NULL,
+    address NVARCHAR(500) NOT NULL,
+    order_date DATETIME2 NOT NULL,
+    status NVARCHAR(50) NOT NULL,
+    currency_code NVARCHAR(3) NOT NULL,
+    total_amount DECIMAL(18, 2) NOT NULL,
+    row_version BIGINT NOT NULL,
+    archived_at DATETIME2 NOT NULL,
+    CONSTRAINT PK_OrdersArchive PRIMARY KEY CLUSTERED (order_date, id)
+) ON PS_OrdersArchive_Month (order_date);
+
+CREATE INDEX IX_OrdersArchive_Id ON orders_archive (id);
+
+CREATE INDEX IX_OrdersArchive_Company_OrderDate ON orders_archive (company_id, order_date DESC, id DESC)
+    INCLUDE (client_id, client_name, status, currency_code, total_amount);
+
+CREATE INDEX IX_OrdersArchive_Company_Client_OrderDate ON orders_archive (company_id, client_id, order_date DESC, id DESC)
+    INCLUDE (client_name, status, currency_code, total_amount);
+
+CREATE TABLE order_items_archive (
+    id UNIQUEIDENTIFIER NOT NULL,
+    order_id UNIQUEIDENTIFIER NOT NULL,
+    order_date DATETIME2 NOT NULL,
+    product_id UNIQUEIDENTIFIER NOT NULL,
+    product_name NVARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(18, 2) NOT NULL,
+    CONSTRAINT PK_OrderItemsArchive PRIMARY KEY CLUSTERED (order_date, order_id, id)
+) ON PS_OrdersArchive_Month (order_date);
+
+CREATE INDEX IX_OrderItemsArchive_Order ON order_items_archive (order_id);
+
+-- Every archived order is older than archived_before, so reads starting at or after it skip the archive.
+CREATE TABLE order_archive_state (
+    id TINYINT NOT NULL CONSTRAINT PK_OrderArchiveState PRIMARY KEY,
+    archived_before DATETIME2 NULL
+);
+
+INSERT INTO order_archive_state (id, archived_before) VALUES (1, NULL);
+
+CREATE INDEX IX_Orders_Closed_OrderDate ON orders (order_date) WHERE status IN ('DELIVERED', 'CANCELLED');
+
+-- Read side of every query that reaches past the archive watermark.
+CREATE VIEW orders_history AS
+SELECT id, company_id, client_id, client_name, address, order_date, status, currency_code, total_amount, row_version
+FROM orders
+UNION ALL
+SELECT id, company_id, client_id, client_name, address, order_date, status, currency_code, total_amount, row_version
+FROM orders_archive;
+
+CREATE VIEW order_items_history AS
+SELECT id, order_id, product_id, product_name, quantity, unit_price
+FROM order_items
+UNION ALL
+SELECT id, order_id, product_id, product_name, quantity, unit_price
+FROM order_items_archive;
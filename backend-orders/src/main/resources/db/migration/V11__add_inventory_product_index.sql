@@ -0,0 +1,2 @@
+-- Every stock update and the fresh stock read behind the product cache find the inventory row by product.
+CREATE INDEX IX_Inventory_Product ON inventory (product_id);
@@ -0,0 +1,9 @@
+-- Version of each company's catalog, bumped by every product, price and stock write. It is spread over a
+-- few rows per company so concurrent stock writes do not queue on one counter; the version is their sum.
+CREATE TABLE catalog_versions (
+    company_id UNIQUEIDENTIFIER NOT NULL,
+    shard TINYINT NOT NULL,
+    version BIGINT NOT NULL,
+    CONSTRAINT PK_CatalogVersions PRIMARY KEY (company_id, shard),
+    CONSTRAINT FK_CatalogVersions_Companies FOREIGN KEY (company_id) REFERENCES companies(id)
+);
@@ -0,0 +1,6 @@
+-- Keyset listing of a company catalog by (name, id), optionally within one category.
+CREATE INDEX IX_Products_Company_Name ON products (company_id, name, id);
+CREATE INDEX IX_Products_Company_Category_Name ON products (company_id, category_id, name, id);
+
+-- SKU prefix filter and lookups by SKU.
+CREATE INDEX IX_Products_Company_Sku ON products (company_id, sku);
@@ -0,0 +1,11 @@
+-- Stock taken by a coalesced batch for an order that has not committed yet. The order deletes its row in
+-- its own transaction; rows it leaves behind are returned to stock once they are older than the grant TTL.
+CREATE TABLE inventory_grants (
+    id UNIQUEIDENTIFIER PRIMARY KEY,
+    product_id UNIQUEIDENTIFIER NOT NULL,
+    quantity INT NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT SYSDATETIME(),
+    CONSTRAINT FK_InventoryGrants_Products FOREIGN KEY (product_id) REFERENCES products(id)
+);
+
+CREATE INDEX IX_InventoryGrants_Created ON inventory_grants (created_at);
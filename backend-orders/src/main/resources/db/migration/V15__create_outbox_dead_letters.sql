@@ -0,0 +1,11 @@
+-- Outbox events SQS rejected as malformed, moved out of outbox_events so they no longer hold up the relay.
+CREATE TABLE outbox_dead_letters (
+    id BIGINT PRIMARY KEY,
+    event_id UNIQUEIDENTIFIER NOT NULL,
+    aggregate_id UNIQUEIDENTIFIER NOT NULL,
+    event_type NVARCHAR(100) NOT NULL,
+    payload NVARCHAR(MAX) NOT NULL,
+    created_at DATETIME2 NOT NULL,
+    last_error NVARCHAR(1000) NOT NULL,
+    dead_lettered_at DATETIME2 NOT NULL
+);
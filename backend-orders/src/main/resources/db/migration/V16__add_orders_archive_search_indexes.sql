@@ -0,0 +1,7 @@
+-- The archive counterparts of V8's status and amount indexes, so searches that reach the archive
+-- through orders_history still seek on both sides of the view.
+CREATE INDEX IX_OrdersArchive_Company_Status_OrderDate ON orders_archive (company_id, status, order_date DESC, id DESC)
+    INCLUDE (client_id, client_name, currency_code, total_amount);
+
+CREATE INDEX IX_OrdersArchive_Company_Currency_Amount ON orders_archive (company_id, currency_code, total_amount)
+    INCLUDE (client_id, client_name, status, order_date);
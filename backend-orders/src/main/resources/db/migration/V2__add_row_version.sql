@@ -0,0 +1,3 @@
+ALTER TABLE inventory ADD row_version BIGINT NOT NULL CONSTRAINT DF_Inventory_RowVersion DEFAULT 0;
+
+ALTER TABLE orders ADD row_version BIGINT NOT NULL CONSTRAINT DF_Orders_RowVersion DEFAULT 0;
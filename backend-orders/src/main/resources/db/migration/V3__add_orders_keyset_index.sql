@@ -0,0 +1 @@
+CREATE INDEX IX_Orders_Company_OrderDate ON orders (company_id, order_date DESC, id DESC);
@@ -0,0 +1,15 @@
+CREATE TABLE inventory_holds (
+    id UNIQUEIDENTIFIER PRIMARY KEY DEFAULT NEWID(),
+    order_id UNIQUEIDENTIFIER NOT NULL,
+    product_id UNIQUEIDENTIFIER NOT NULL,
+    quantity INT NOT NULL,
+    expires_at DATETIME2 NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT SYSDATETIME(),
+    CONSTRAINT FK_InventoryHolds_Orders FOREIGN KEY (order_id) REFERENCES orders(id),
+    CONSTRAINT FK_InventoryHolds_Products FOREIGN KEY (product_id) REFERENCES products(id),
+    CONSTRAINT UQ_InventoryHolds_Order_Product UNIQUE (order_id, product_id)
+);
+
+CREATE INDEX IX_InventoryHolds_Product_Expires ON inventory_holds (product_id, expires_at) INCLUDE (quantity);
+
+CREATE INDEX IX_InventoryHolds_Expires ON inventory_holds (expires_at);
@@ -0,0 +1,14 @@
+CREATE TABLE idempotency_keys (
+    scope NVARCHAR(255) NOT NULL,
+    idempotency_key NVARCHAR(100) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status_code INT NULL,
+    content_type NVARCHAR(255) NULL,
+    location NVARCHAR(500) NULL,
+    response_body NVARCHAR(MAX) NULL,
+    created_at DATETIME2 NOT NULL DEFAULT SYSDATETIME(),
+    expires_at DATETIME2 NOT NULL,
+    CONSTRAINT PK_IdempotencyKeys PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX IX_IdempotencyKeys_Expires ON idempotency_keys (expires_at);
@@ -0,0 +1,8 @@
+CREATE TABLE outbox_events (
+    id BIGINT IDENTITY(1,1) PRIMARY KEY,
+    event_id UNIQUEIDENTIFIER NOT NULL,
+    aggregate_id UNIQUEIDENTIFIER NOT NULL,
+    event_type NVARCHAR(100) NOT NULL,
+    payload NVARCHAR(MAX) NOT NULL,
+    created_at DATETIME2 NOT NULL DEFAULT SYSDATETIME()
+);
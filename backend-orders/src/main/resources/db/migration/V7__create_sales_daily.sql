@@ -0,0 +1,48 @@
+CREATE TABLE sales_daily (
+    company_id UNIQUEIDENTIFIER NOT NULL,
+    sales_date DATE NOT NULL,
+    currency_code NVARCHAR(3) NOT NULL,
+    status NVARCHAR(50) NOT NULL,
+    order_count INT NOT NULL,
+    total_amount DECIMAL(18, 2) NOT NULL,
+    CONSTRAINT PK_SalesDaily PRIMARY KEY (company_id, sales_date, currency_code, status),
+    CONSTRAINT FK_SalesDaily_Companies FOREIGN KEY (company_id) REFERENCES companies(id)
+);
+
+CREATE TABLE sales_daily_products (
+    company_id UNIQUEIDENTIFIER NOT NULL,
+    sales_date DATE NOT NULL,
+    currency_code NVARCHAR(3) NOT NULL,
+    product_id UNIQUEIDENTIFIER NOT NULL,
+    product_name NVARCHAR(255) NOT NULL,
+    quantity INT NOT NULL,
+    revenue DECIMAL(18, 2) NOT NULL,
+    CONSTRAINT PK_SalesDailyProducts PRIMARY KEY (company_id, sales_date, currency_code, product_id),
+    CONSTRAINT FK_SalesDailyProducts_Companies FOREIGN KEY (company_id) REFERENCES companies(id)
+);
+
+-- Shipped and delivered orders went through confirmation, so they count as confirmed sales.
+INSERT INTO sales_daily (company_id, sales_date, currency_code, status, order_count, total_amount)
+SELECT company_id,
+       CAST(order_date AS DATE),
+       currency_code,
+       CASE WHEN status = 'CANCELLED' THEN 'CANCELLED' ELSE 'CONFIRMED' END,
+       COUNT(*),
+       SUM(total_amount)
+FROM orders
+WHERE status IN ('CONFIRMED', 'SHIPPED', 'DELIVERED', 'CANCELLED')
+GROUP BY company_id, CAST(order_date AS DATE), currency_code,
+         CASE WHEN status = 'CANCELLED' THEN 'CANCELLED' ELSE 'CONFIRMED' END;
+
+INSERT INTO sales_daily_products (company_id, sales_date, currency_code, product_id, product_name, quantity, revenue)
+SELECT o.company_id,
+       CAST(o.order_date AS DATE),
+       o.currency_code,
+       oi.product_id,
+       MAX(oi.product_name),
+       SUM(oi.quantity),
+       SUM(oi.quantity * oi.unit_price)
+FROM orders o
+JOIN order_items oi ON oi.order_id = o.id
+WHERE o.status IN ('CONFIRMED', 'SHIPPED', 'DELIVERED')
+GROUP BY o.company_id, CAST(o.order_date AS DATE), o.currency_code, oi.product_id;
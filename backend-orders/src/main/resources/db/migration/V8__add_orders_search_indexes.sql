@@ -0,0 +1,14 @@
+-- Every search index leads with company_id and keeps the (order_date, id) keyset order after its
+-- equality columns, and includes the summary columns so searches never touch the clustered index.
+CREATE INDEX IX_Orders_Company_OrderDate ON orders (company_id, order_date DESC, id DESC)
+    INCLUDE (client_id, client_name, status, currency_code, total_amount)
+    WITH (DROP_EXISTING = ON);
+
+CREATE INDEX IX_Orders_Company_Status_OrderDate ON orders (company_id, status, order_date DESC, id DESC)
+    INCLUDE (client_id, client_name, currency_code, total_amount);
+
+CREATE INDEX IX_Orders_Company_Client_OrderDate ON orders (company_id, client_id, order_date DESC, id DESC)
+    INCLUDE (client_name, status, currency_code, total_amount);
+
+CREATE INDEX IX_Orders_Company_Currency_Amount ON orders (company_id, currency_code, total_amount)
+    INCLUDE (client_id, client_name, status, order_date);
@@ -0,0 +1,13 @@
+-- Optional extra stock counters for products sold under heavy contention. A product with rows here keeps
+-- its stock spread across them (the inventory row stays at zero); on-hand stock is always the inventory
+-- row plus the sum of its shards.
+CREATE TABLE inventory_shards (
+    product_id UNIQUEIDENTIFIER NOT NULL,
+    shard INT NOT NULL,
+    quantity INT NOT NULL DEFAULT 0,
+    last_updated DATETIME2 NOT NULL DEFAULT SYSDATETIME(),
+    row_version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT PK_InventoryShards PRIMARY KEY (product_id, shard),
+    CONSTRAINT FK_InventoryShards_Products FOREIGN KEY (product_id) REFERENCES products(id),
+    CONSTRAINT CK_InventoryShards_Quantity CHECK (quantity >= 0)
+);
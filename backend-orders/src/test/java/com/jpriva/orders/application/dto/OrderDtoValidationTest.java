@@ -0,0 +1,52 @@
+package com.jpriva.orders.application.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderDtoValidationTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void batchRequest_shouldRejectNullItem() {
+        OrderDto.BatchOrderRequest order = new OrderDto.BatchOrderRequest("T1", UUID.randomUUID(), "USD",
+                Arrays.asList(new OrderDto.AddItemRequest(UUID.randomUUID(), 1), null));
+
+        Set<ConstraintViolation<OrderDto.BatchRequest>> violations = validator.validate(new OrderDto.BatchRequest(List.of(order)));
+
+        assertThat(violations).singleElement()
+                .satisfies(violation -> assertThat(violation.getPropertyPath().toString()).isEqualTo("orders[0].items[1].<list element>"));
+    }
+
+    @Test
+    void batchRequest_shouldAcceptOrderWithItems() {
+        OrderDto.BatchOrderRequest order = new OrderDto.BatchOrderRequest("T1", UUID.randomUUID(), "USD",
+                List.of(new OrderDto.AddItemRequest(UUID.randomUUID(), 1)));
+
+        assertThat(validator.validate(new OrderDto.BatchRequest(List.of(order)))).isEmpty();
+    }
+}
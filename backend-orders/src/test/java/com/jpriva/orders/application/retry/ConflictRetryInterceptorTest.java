@@ -0,0 +1,96 @@
+package com.jpriva.orders.application.retry;
+
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.OrderErrorCodes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.retry.RetryPolicy;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictRetryInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    private UseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        RetryPolicy retryPolicy = RetryPolicy.builder()
+                .includes(OptimisticLockingFailureException.class)
+                .maxRetries(3)
+                .delay(Duration.ofMillis(1))
+                .build();
+        ProxyFactory proxyFactory = new ProxyFactory(new UseCase(attempts));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new ConflictRetryInterceptor(retryPolicy, new ConflictRetryListener(() -> meterRegistry)));
+        useCase = (UseCase) proxyFactory.getProxy();
+    }
+
+    @Test
+    void shouldCountRetriesOfACallThatRecovers() {
+        assertThat(useCase.confirm(2)).isEqualTo("confirmed");
+
+        assertThat(attempts).hasValue(3);
+        assertThat(count("orders.concurrency.conflicts")).isEqualTo(2);
+        assertThat(count("orders.concurrency.retries")).isEqualTo(2);
+        assertThat(count("orders.concurrency.exhausted")).isZero();
+    }
+
+    @Test
+    void shouldCountCallsThatRunOutOfRetriesAndRethrowTheConflict() {
+        assertThatThrownBy(() -> useCase.confirm(Integer.MAX_VALUE)).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(4);
+        assertThat(count("orders.concurrency.conflicts")).isEqualTo(4);
+        assertThat(count("orders.concurrency.retries")).isEqualTo(3);
+        assertThat(count("orders.concurrency.exhausted")).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.concurrency.exhausted").tag("use_case", "confirm").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRetryOrCountOtherFailures() {
+        assertThatThrownBy(() -> useCase.reject()).isInstanceOf(DomainException.class);
+
+        assertThat(attempts).hasValue(1);
+        assertThat(count("orders.concurrency.conflicts")).isZero();
+        assertThat(count("orders.concurrency.retries")).isZero();
+        assertThat(count("orders.concurrency.exhausted")).isZero();
+    }
+
+    private double count(String name) {
+        return meterRegistry.find(name).counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    static class UseCase {
+
+        private final AtomicInteger attempts;
+
+        UseCase(AtomicInteger attempts) {
+            this.attempts = attempts;
+        }
+
+        @RetryOnConflict
+        public String confirm(int conflicts) {
+            if (attempts.incrementAndGet() <= conflicts) {
+                throw new OptimisticLockingFailureException("Order was modified concurrently");
+            }
+            return "confirmed";
+        }
+
+        @RetryOnConflict
+        public void reject() {
+            attempts.incrementAndGet();
+            throw new DomainException(OrderErrorCodes.ORDER_NOT_FOUND);
+        }
+    }
+}
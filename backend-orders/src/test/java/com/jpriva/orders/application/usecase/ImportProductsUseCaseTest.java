@@ -0,0 +1,138 @@
+package com.jpriva.orders.application.usecase;
+
+import com.jpriva.orders.application.dto.ProductDto;
+import com.jpriva.orders.application.dto.ProductImportLine;
+import com.jpriva.orders.domain.model.Category;
+import com.jpriva.orders.domain.model.Company;
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductUpsertResult;
+import com.jpriva.orders.domain.ports.repository.CategoryRepository;
+import com.jpriva.orders.domain.ports.repository.CompanyRepository;
+import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportProductsUseCaseTest {
+
+    @Mock private ProductRepository productRepository;
+    @Mock private CompanyRepository companyRepository;
+    @Mock private CategoryRepository categoryRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ImportProductsUseCase importProductsUseCase;
+    private Company company;
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        company = Company.builder()
+                .id(UUID.randomUUID())
+                .name("TestCo")
+                .taxId("T1")
+                .address("Comp Address")
+                .phone("123")
+                .build();
+        category = Category.builder()
+                .id(UUID.randomUUID())
+                .companyId(company.getId())
+                .name("Laptops")
+                .build();
+        importProductsUseCase = new ImportProductsUseCase(productRepository, companyRepository, categoryRepository, transactionManager, 2);
+
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(company));
+        when(categoryRepository.findByCompanyId(company.getId())).thenReturn(List.of(category));
+    }
+
+    @Test
+    void importProducts_shouldValidateRowsAndUpsertInBatches() {
+        when(productRepository.upsertBySku(eq(company.getId()), anyList()))
+                .thenAnswer(invocation -> new ProductUpsertResult(invocation.<List<Product>>getArgument(1).size(), Set.of()));
+
+        ProductDto.ImportReport report = importProductsUseCase.importProducts("T1", List.of(
+                row(2, "LP-1", "Laptop", category.getId(), Map.of("USD", new BigDecimal("1200.50"))),
+                row(3, "LP-2", " ", null, Map.of()),
+                row(4, "LP-3", "Mouse", UUID.randomUUID(), Map.of()),
+                row(5, "LP-4", "Keyboard", null, Map.of("XXX", BigDecimal.ONE)),
+                ProductImportLine.invalid(6, "Invalid stock: many"),
+                row(7, "LP-5", "Monitor", null, Map.of()),
+                row(8, "LP-6", "Dock", null, Map.of())
+        ).iterator());
+
+        ArgumentCaptor<List<Product>> batches = ArgumentCaptor.captor();
+        verify(productRepository, times(2)).upsertBySku(eq(company.getId()), batches.capture());
+        assertThat(batches.getAllValues().getFirst()).extracting(Product::getSku).containsExactly("LP-1", "LP-5");
+        assertThat(batches.getAllValues().getFirst().getFirst().getInventory().getQuantity()).isEqualTo(2);
+        assertThat(batches.getAllValues().getFirst().getFirst().getPrices()).containsOnlyKeys("USD");
+        assertThat(batches.getAllValues().get(1)).extracting(Product::getSku).containsExactly("LP-6");
+
+        assertThat(report.rows()).isEqualTo(7);
+        assertThat(report.created()).isEqualTo(3);
+        assertThat(report.failed()).isEqualTo(4);
+        assertThat(report.errors()).extracting(ProductDto.ImportError::line).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(report.errorsTruncated()).isFalse();
+    }
+
+    @Test
+    void importProducts_shouldFlushBeforeRepeatedSku() {
+        UUID existingId = UUID.randomUUID();
+        when(productRepository.upsertBySku(eq(company.getId()), anyList()))
+                .thenReturn(new ProductUpsertResult(1, Set.of()))
+                .thenReturn(new ProductUpsertResult(0, Set.of(existingId)));
+
+        ProductDto.ImportReport report = importProductsUseCase.importProducts("T1", List.of(
+                row(2, "LP-1", "Laptop", null, Map.of()),
+                row(3, "lp-1", "Laptop v2", null, Map.of())
+        ).iterator());
+
+        verify(productRepository, times(2)).upsertBySku(eq(company.getId()), anyList());
+        assertThat(report.created()).isEqualTo(1);
+        assertThat(report.updated()).isEqualTo(1);
+    }
+
+    @Test
+    void importProducts_shouldRetryRejectedBatchRowByRow() {
+        when(productRepository.upsertBySku(eq(company.getId()), anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(1);
+            if (products.stream().anyMatch(product -> product.getSku().length() > 10)) {
+                throw new DataIntegrityViolationException("String or binary data would be truncated");
+            }
+            return new ProductUpsertResult(products.size(), Set.of());
+        });
+
+        ProductDto.ImportReport report = importProductsUseCase.importProducts("T1", List.of(
+                row(2, "LP-1", "Laptop", null, Map.of()),
+                row(3, "LP-TOO-LONG-SKU", "Mouse", null, Map.of())
+        ).iterator());
+
+        verify(productRepository, times(3)).upsertBySku(eq(company.getId()), anyList());
+        assertThat(report.created()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.errors().getFirst().sku()).isEqualTo("LP-TOO-LONG-SKU");
+        assertThat(report.errors().getFirst().message()).contains("would be truncated");
+    }
+
+    private ProductImportLine row(long line, String sku, String name, UUID categoryId, Map<String, BigDecimal> prices) {
+        return ProductImportLine.of(line, new ProductDto.ImportRow(sku, name, null, categoryId, (int) line, prices));
+    }
+}
@@ -1,10 +1,15 @@
 package com.jpriva.orders.application.usecase;
 
+import com.jpriva.orders.application.dto.CursorPage;
+import com.jpriva.orders.application.dto.ExportFormat;
 import com.jpriva.orders.application.dto.OrderDto;
+import com.jpriva.orders.application.dto.OrderExport;
 import com.jpriva.orders.domain.exceptions.*;
 import com.jpriva.orders.domain.model.*;
 import com.jpriva.orders.domain.model.vo.Currency;
 import com.jpriva.orders.domain.model.vo.Money;
+import com.jpriva.orders.domain.model.vo.OrderCursor;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
 import com.jpriva.orders.domain.model.vo.OrderStatus;
 import com.jpriva.orders.domain.model.vo.Role;
 import com.jpriva.orders.domain.ports.repository.*;
@@ -15,18 +20,31 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +55,10 @@ class ManageOrderUseCaseTest {
     @Mock private UserRepository userRepository;
     @Mock private ClientRepository clientRepository;
     @Mock private CompanyRepository companyRepository;
+    @Mock private InventoryRepository inventoryRepository;
+    @Mock private InventoryHoldRepository inventoryHoldRepository;
+    @Mock private OutboxRepository outboxRepository;
+    @Mock private SalesDailyRepository salesDailyRepository;
     @InjectMocks private ManageOrderUseCase manageOrderUseCase;
 
     private User testUser;
@@ -130,10 +152,193 @@ class ManageOrderUseCaseTest {
         assertThat(ex.getCode()).isEqualTo(ClientErrorCodes.CLIENT_NOT_FOUND.getCode());
     }
 
+    @Test
+    void createOrders_shouldCreateValidOrdersAndReportFailures() {
+        OrderDto.BatchOrderRequest valid = new OrderDto.BatchOrderRequest(testCompany.getTaxId(), testClient.getId(), "USD", List.of(addItemRequest));
+        OrderDto.BatchOrderRequest unknownProduct = new OrderDto.BatchOrderRequest(testCompany.getTaxId(), testClient.getId(), "USD", List.of(new OrderDto.AddItemRequest(UUID.randomUUID(), 1)));
+        OrderDto.BatchOrderRequest unknownCompany = new OrderDto.BatchOrderRequest("UNKNOWN", testClient.getId(), "USD", List.of());
+
+        when(companyRepository.findByTaxIds(anySet())).thenReturn(Map.of(testCompany.getTaxId(), testCompany));
+        when(clientRepository.findByIds(anySet())).thenReturn(Map.of(testClient.getId(), testClient));
+        when(productRepository.findByIds(anySet())).thenReturn(Map.of(testProduct.getId(), testProduct));
+
+        OrderDto.BatchResponse result = manageOrderUseCase.createOrders(new OrderDto.BatchRequest(List.of(valid, unknownProduct, unknownCompany)));
+
+        ArgumentCaptor<List<Order>> ordersCaptor = ArgumentCaptor.captor();
+        verify(orderRepository).insertAll(ordersCaptor.capture());
+        verify(orderRepository, never()).save(any());
+        assertThat(ordersCaptor.getValue()).hasSize(1);
+        assertThat(ordersCaptor.getValue().getFirst().getItems()).hasSize(1);
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.results().get(0).orderId()).isEqualTo(ordersCaptor.getValue().getFirst().getId());
+        assertThat(result.results().get(1).errorCode()).isEqualTo(ProductErrorCodes.PRODUCT_NOT_FOUND.getCode());
+        assertThat(result.results().get(2).errorCode()).isEqualTo(CompanyErrorCodes.COMPANY_NOT_FOUND.getCode());
+    }
+
+    @Test
+    void createOrders_shouldHoldStockAndFailOrdersThatCannotBeHeld() {
+        OrderDto.BatchOrderRequest held = new OrderDto.BatchOrderRequest(testCompany.getTaxId(), testClient.getId(), "USD", List.of(addItemRequest));
+        OrderDto.BatchOrderRequest unavailable = new OrderDto.BatchOrderRequest(testCompany.getTaxId(), testClient.getId(), "USD", List.of(new OrderDto.AddItemRequest(testProduct.getId(), 3)));
+
+        when(companyRepository.findByTaxIds(anySet())).thenReturn(Map.of(testCompany.getTaxId(), testCompany));
+        when(clientRepository.findByIds(anySet())).thenReturn(Map.of(testClient.getId(), testClient));
+        when(productRepository.findByIds(anySet())).thenReturn(Map.of(testProduct.getId(), testProduct));
+        when(inventoryHoldRepository.holdAll(any(), eq(Map.of(testProduct.getId(), addItemRequest.quantity())))).thenReturn(Set.of());
+        when(inventoryHoldRepository.holdAll(any(), eq(Map.of(testProduct.getId(), 3)))).thenReturn(Set.of(testProduct.getId()));
+
+        OrderDto.BatchResponse result = manageOrderUseCase.createOrders(new OrderDto.BatchRequest(List.of(held, unavailable)));
+
+        ArgumentCaptor<List<Order>> ordersCaptor = ArgumentCaptor.captor();
+        verify(orderRepository).insertAll(ordersCaptor.capture());
+        Order heldOrder = ordersCaptor.getValue().get(0);
+        Order unavailableOrder = ordersCaptor.getValue().get(1);
+        verify(inventoryHoldRepository).holdAll(heldOrder.getId(), Map.of(testProduct.getId(), addItemRequest.quantity()));
+        verify(inventoryHoldRepository).releaseAll(unavailableOrder.getId());
+        verify(orderRepository).deleteById(unavailableOrder.getId());
+        verify(orderRepository, never()).deleteById(heldOrder.getId());
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.results().get(0).orderId()).isEqualTo(heldOrder.getId());
+        assertThat(result.results().get(1).status()).isEqualTo("FAILED");
+        assertThat(result.results().get(1).errorCode()).isEqualTo(ProductErrorCodes.INVENTORY_NOT_ENOUGH.getCode());
+    }
+
+    @Test
+    void getOrderSummaries_shouldMapSummaries() {
+        OrderSummary summary = new OrderSummary(testOrder.getId(), testOrder.getClientName(), testOrder.getOrderDate(), "PENDING", BigDecimal.TEN, "USD");
+        Pageable pageable = PageRequest.of(0, 20);
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+        when(orderRepository.findSummariesByCompanyId(testCompany.getId(), pageable)).thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        Page<OrderDto.SummaryResponse> page = manageOrderUseCase.getOrderSummaries(pageable, "T1");
+
+        assertThat(page.getContent()).singleElement().satisfies(response -> {
+            assertThat(response.id()).isEqualTo(testOrder.getId());
+            assertThat(response.totalAmount()).isEqualByComparingTo(BigDecimal.TEN);
+            assertThat(response.currency()).isEqualTo("USD");
+        });
+        verify(orderRepository, never()).findByCompanyId(any(), any());
+    }
+
+    @Test
+    void getOrdersByCursor_shouldReturnNextCursorWithoutCounting() {
+        Order older = Order.builder().id(UUID.randomUUID()).companyId(testCompany.getId()).clientId(testClient.getId()).clientName(testClient.getName()).address(testClient.getAddress()).orderDate(testOrder.getOrderDate().minusDays(1)).status(OrderStatus.PENDING).totalAmount(Money.zero(Currency.USD)).build();
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+        when(orderRepository.findByFilterAfter(any(OrderFilter.class), isNull(), eq(2))).thenReturn(List.of(testOrder, older));
+
+        CursorPage<OrderDto.Response> page = manageOrderUseCase.getOrdersByCursor("T1",
+                new OrderDto.CursorQuery(null, 1, "pending", null, null, false));
+
+        assertThat(page.content()).extracting(OrderDto.Response::id).containsExactly(testOrder.getId());
+        assertThat(page.hasNext()).isTrue();
+        assertThat(OrderCursor.decode(page.nextCursor())).isEqualTo(OrderCursor.of(testOrder));
+        assertThat(page.totalElements()).isNull();
+        verify(orderRepository, never()).countByFilter(any());
+    }
+
+    @Test
+    void getOrdersByCursor_shouldContinueFromCursorAndCountWhenRequested() {
+        OrderCursor cursor = OrderCursor.of(testOrder);
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+        when(orderRepository.findByFilterAfter(any(OrderFilter.class), eq(cursor), eq(21))).thenReturn(List.of());
+        when(orderRepository.countByFilter(any(OrderFilter.class))).thenReturn(1L);
+
+        CursorPage<OrderDto.Response> page = manageOrderUseCase.getOrdersByCursor("T1",
+                new OrderDto.CursorQuery(cursor.encode(), null, null, null, null, true));
+
+        ArgumentCaptor<OrderFilter> filter = ArgumentCaptor.forClass(OrderFilter.class);
+        verify(orderRepository).countByFilter(filter.capture());
+        assertThat(filter.getValue().companyId()).isEqualTo(testCompany.getId());
+        assertThat(filter.getValue().status()).isNull();
+        assertThat(page.content()).isEmpty();
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.totalElements()).isEqualTo(1L);
+    }
+
+    @Test
+    void getOrdersByCursor_shouldFail_whenCursorIsInvalid() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.getOrdersByCursor("T1",
+                new OrderDto.CursorQuery("not-a-cursor", null, null, null, null, false)), DomainException.class);
+        assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_INVALID_CURSOR.getCode());
+    }
+
+    @Test
+    void searchOrders_shouldCombineFiltersAndReturnSummaries() {
+        OrderSummary newest = new OrderSummary(UUID.randomUUID(), testClient.getName(), testOrder.getOrderDate(), "CONFIRMED", new BigDecimal("120.00"), "USD");
+        OrderSummary older = new OrderSummary(UUID.randomUUID(), testClient.getName(), testOrder.getOrderDate().minusDays(1), "CONFIRMED", new BigDecimal("110.00"), "USD");
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+        when(orderRepository.findSummariesByFilterAfter(any(OrderFilter.class), isNull(), eq(2))).thenReturn(List.of(newest, older));
+
+        CursorPage<OrderDto.SummaryResponse> page = manageOrderUseCase.searchOrders("T1", new OrderDto.SearchQuery(
+                null, 1, "confirmed", testClient.getId(), "USD", new BigDecimal("100"), new BigDecimal("200"), null, null, false));
+
+        ArgumentCaptor<OrderFilter> filter = ArgumentCaptor.forClass(OrderFilter.class);
+        verify(orderRepository).findSummariesByFilterAfter(filter.capture(), isNull(), eq(2));
+        assertThat(filter.getValue()).isEqualTo(new OrderFilter(testCompany.getId(), OrderStatus.CONFIRMED, null, null,
+                testClient.getId(), Currency.USD, new BigDecimal("100"), new BigDecimal("200")));
+        assertThat(page.content()).extracting(OrderDto.SummaryResponse::id).containsExactly(newest.id());
+        assertThat(OrderCursor.decode(page.nextCursor())).isEqualTo(OrderCursor.of(newest));
+        verify(orderRepository, never()).findByFilterAfter(any(), any(), anyInt());
+        verify(orderRepository, never()).countByFilter(any());
+    }
+
+    @Test
+    void searchOrders_shouldFail_whenAmountRangeIsInverted() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.searchOrders("T1", new OrderDto.SearchQuery(
+                null, null, null, null, null, new BigDecimal("200"), new BigDecimal("100"), null, null, false)), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_INVALID_AMOUNT_RANGE.getCode());
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void prepareExport_shouldResolveFilterAndFileName() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(testCompany));
+
+        OrderExport export = manageOrderUseCase.prepareExport("T1", new OrderDto.ExportQuery(
+                "ndjson", true, "confirmed", null, "USD", null, null, null, null));
+
+        assertThat(export.format()).isEqualTo(ExportFormat.NDJSON);
+        assertThat(export.fileName()).isEqualTo("orders-T1.ndjson.gz");
+        assertThat(export.filter()).isEqualTo(new OrderFilter(testCompany.getId(), OrderStatus.CONFIRMED, null, null,
+                null, Currency.USD, null, null));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void prepareExport_shouldFail_whenFormatIsUnknown() {
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.prepareExport("T1", new OrderDto.ExportQuery(
+                "xlsx", false, null, null, null, null, null, null, null)), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_EXPORT_FORMAT_INVALID.getCode());
+        verifyNoInteractions(companyRepository, orderRepository);
+    }
+
+    @Test
+    void exportOrders_shouldPassEveryRowToSinkAndCloseStream() {
+        OrderFilter filter = new OrderFilter(testCompany.getId(), null, null, null);
+        OrderSummary first = new OrderSummary(UUID.randomUUID(), testClient.getName(), testOrder.getOrderDate(), "PENDING", BigDecimal.TEN, "USD");
+        OrderSummary second = new OrderSummary(UUID.randomUUID(), testClient.getName(), testOrder.getOrderDate(), "PENDING", BigDecimal.ONE, "USD");
+        AtomicBoolean closed = new AtomicBoolean();
+        when(orderRepository.streamSummariesByFilter(filter)).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+
+        List<OrderDto.SummaryResponse> written = new ArrayList<>();
+        manageOrderUseCase.exportOrders(new OrderExport(filter, ExportFormat.CSV, false, "orders-T1.csv"), written::add);
+
+        assertThat(written).extracting(OrderDto.SummaryResponse::id).containsExactly(first.id(), second.id());
+        assertThat(closed).isTrue();
+    }
+
     @Test
     void addItem_shouldAddNewItem() {
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(productRepository.findById(any())).thenReturn(Optional.of(testProduct));
+        when(inventoryHoldRepository.hold(testOrder.getId(), testProduct.getId(), addItemRequest.quantity())).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
         OrderDto.Response result = manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail());
         assertThat(result.items()).hasSize(1);
@@ -142,8 +347,9 @@ class ManageOrderUseCaseTest {
     @Test
     void addItem_shouldUpdateQuantity() {
         testOrder.addItem(OrderItem.create(testOrder.getId(), testProduct, 1, testProduct.getProductPrice(Currency.USD)));
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(productRepository.findById(any())).thenReturn(Optional.of(testProduct));
+        when(inventoryHoldRepository.hold(testOrder.getId(), testProduct.getId(), addItemRequest.quantity())).thenReturn(true);
         when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
         OrderDto.Response result = manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail());
         assertThat(result.items()).hasSize(1);
@@ -152,7 +358,7 @@ class ManageOrderUseCaseTest {
     
     @Test
     void addItem_shouldFail_whenOrderNotFound() {
-        when(orderRepository.findById(any())).thenReturn(Optional.empty());
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.empty());
         DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail()), DomainException.class);
         assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_NOT_FOUND.getCode());
     }
@@ -160,14 +366,14 @@ class ManageOrderUseCaseTest {
     @Test
     void addItem_shouldFail_whenOrderStatusNotPending() {
         testOrder.changeStatus(OrderStatus.CONFIRMED);
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail()), DomainException.class);
         assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_STATUS_NOT_PENDING.getCode());
     }
 
     @Test
     void addItem_shouldFail_whenProductNotFound() {
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(productRepository.findById(any())).thenReturn(Optional.empty());
         DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail()), DomainException.class);
         assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.PRODUCT_NOT_FOUND.getCode());
@@ -176,13 +382,72 @@ class ManageOrderUseCaseTest {
     @Test
     void addItem_shouldFail_whenInventoryNotEnough() {
         testProduct.decreaseStock(98);
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(productRepository.findById(any())).thenReturn(Optional.of(testProduct));
         DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail()), DomainException.class);
         assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.INVENTORY_NOT_ENOUGH.getCode());
     }
 
+    @Test
+    void addItem_shouldFail_whenStockIsHeldByOtherOrders() {
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
+        when(productRepository.findById(any())).thenReturn(Optional.of(testProduct));
+        when(inventoryHoldRepository.hold(testOrder.getId(), testProduct.getId(), addItemRequest.quantity())).thenReturn(false);
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItem(testOrder.getId(), addItemRequest, testUser.getEmail()), DomainException.class);
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.INVENTORY_NOT_ENOUGH.getCode());
+        verify(orderRepository, never()).save(any());
+    }
 
+    @Test
+    void addItems_shouldApplyAllLinesAndSaveOnce() {
+        testOrder.addItem(OrderItem.create(testOrder.getId(), testProduct, 1, testProduct.getProductPrice(Currency.USD)));
+        Product otherProduct = product("Other Product");
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
+        when(productRepository.findByIds(Set.of(testProduct.getId(), otherProduct.getId())))
+                .thenReturn(Map.of(testProduct.getId(), testProduct, otherProduct.getId(), otherProduct));
+        when(inventoryHoldRepository.holdAll(eq(testOrder.getId()), anyMap())).thenReturn(Set.of());
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        OrderDto.Response result = manageOrderUseCase.addItems(testOrder.getId(), new OrderDto.AddItemsRequest(List.of(
+                new OrderDto.AddItemRequest(testProduct.getId(), 2),
+                new OrderDto.AddItemRequest(otherProduct.getId(), null),
+                new OrderDto.AddItemRequest(testProduct.getId(), 3))), testUser.getEmail());
+
+        verify(inventoryHoldRepository).holdAll(testOrder.getId(), Map.of(testProduct.getId(), 5, otherProduct.getId(), 1));
+        verify(productRepository, never()).findById(any());
+        verify(orderRepository, times(1)).save(testOrder);
+        assertThat(result.items()).hasSize(2);
+        assertThat(testOrder.getTotalAmount().amount()).isEqualByComparingTo("60.00");
+    }
+
+    @Test
+    void addItems_shouldFail_whenAnyProductIsMissing() {
+        UUID missing = UUID.randomUUID();
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
+        when(productRepository.findByIds(anySet())).thenReturn(Map.of(testProduct.getId(), testProduct));
+
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItems(testOrder.getId(), new OrderDto.AddItemsRequest(List.of(
+                addItemRequest, new OrderDto.AddItemRequest(missing, 1))), testUser.getEmail()), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.PRODUCT_NOT_FOUND.getCode());
+        assertThat(ex.getMessage()).contains(missing.toString());
+        verifyNoInteractions(inventoryHoldRepository);
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void addItems_shouldFail_whenStockIsHeldByOtherOrders() {
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
+        when(productRepository.findByIds(anySet())).thenReturn(Map.of(testProduct.getId(), testProduct));
+        when(inventoryHoldRepository.holdAll(eq(testOrder.getId()), anyMap())).thenReturn(Set.of(testProduct.getId()));
+
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.addItems(testOrder.getId(),
+                new OrderDto.AddItemsRequest(List.of(addItemRequest)), testUser.getEmail()), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.INVENTORY_NOT_ENOUGH.getCode());
+        assertThat(ex.getMessage()).contains(testProduct.getName());
+        verify(orderRepository, never()).save(any());
+    }
 
     @Test
     void removeItem_shouldRemoveItem() {
@@ -190,18 +455,18 @@ class ManageOrderUseCaseTest {
         testOrder.addItem(item);
         assertThat(testOrder.getItems()).hasSize(1);
         
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         OrderDto.Response result = manageOrderUseCase.removeItem(testOrder.getId(), item.getId(), testUser.getEmail());
         assertThat(result.items()).isEmpty();
+        verify(inventoryHoldRepository).release(testOrder.getId(), testProduct.getId());
     }
 
     @Test
     void getOrder_shouldReturnOrder() {
         testOrder.changeStatus(OrderStatus.CONFIRMED);
         when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         OrderDto.Response result = manageOrderUseCase.getOrder(testOrder.getId(), testUser.getEmail());
         assertThat(result).isNotNull();
@@ -209,65 +474,131 @@ class ManageOrderUseCaseTest {
     }
 
     @Test
-    void confirmOrder_shouldConfirmAndDecreaseStock() {
-        int initialStock = testProduct.getInventory().getQuantity();
+    void getOrder_shouldNotChangeOrSaveTheOrder() {
+        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+
+        OrderDto.Response result = manageOrderUseCase.getOrder(testOrder.getId(), testUser.getEmail());
+
+        assertThat(result.status()).isEqualTo(OrderStatus.PENDING.name());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void getOrder_shouldNotPublishEvents() {
+        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+
+        manageOrderUseCase.getOrder(testOrder.getId(), testUser.getEmail());
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    void confirmOrder_shouldFail_whenOrderIsArchived() {
+        testOrder.changeStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findActiveById(testOrder.getId())).thenReturn(Optional.empty());
+        when(orderRepository.findById(testOrder.getId())).thenReturn(Optional.of(testOrder));
+
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.confirmOrder(testOrder.getId(), testUser.getEmail()), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_ARCHIVED.getCode());
+        verify(orderRepository, never()).save(any());
+    }
+
+    @Test
+    void confirmOrder_shouldConfirmAndReserveStock() {
         int quantityOrdered = addItemRequest.quantity();
         testOrder.addItem(OrderItem.create(testOrder.getId(), testProduct, quantityOrdered, testProduct.getProductPrice(Currency.USD)));
-        
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
-        when(productRepository.findByIds(anySet())).thenReturn(Map.of(testProduct.getId(), testProduct));
+
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
+        when(inventoryRepository.reserve(anyMap())).thenReturn(Set.of());
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         OrderDto.Response result = manageOrderUseCase.confirmOrder(testOrder.getId(), testUser.getEmail());
-        
-        ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
-        verify(productRepository).save(productCaptor.capture());
-        assertThat(productCaptor.getValue().getInventory().getQuantity()).isEqualTo(initialStock - quantityOrdered);
+
+        verify(inventoryRepository).reserve(Map.of(testProduct.getId(), quantityOrdered));
+        verify(inventoryHoldRepository).releaseAll(testOrder.getId());
+        verify(productRepository, never()).save(any());
+        ArgumentCaptor<OrderEvent> event = ArgumentCaptor.forClass(OrderEvent.class);
+        verify(outboxRepository).append(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(OrderEvent.ORDER_CONFIRMED);
+        assertThat(event.getValue().orderId()).isEqualTo(testOrder.getId());
+        assertThat(event.getValue().status()).isEqualTo(OrderStatus.CONFIRMED.name());
+        verify(salesDailyRepository).addOrder(testOrder, OrderStatus.CONFIRMED, 1);
+        verify(salesDailyRepository).addProducts(testOrder, 1);
         assertThat(result.status()).isEqualTo(OrderStatus.CONFIRMED.name());
     }
+
+    @Test
+    void confirmOrder_shouldFail_whenInventoryNotEnough() {
+        testOrder.addItem(OrderItem.create(testOrder.getId(), testProduct, 5, testProduct.getProductPrice(Currency.USD)));
+
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
+        when(inventoryRepository.reserve(anyMap())).thenReturn(Set.of(testProduct.getId()));
+
+        DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.confirmOrder(testOrder.getId(), testUser.getEmail()), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.INVENTORY_NOT_ENOUGH.getCode());
+        assertThat(ex.getMessage()).contains(testProduct.getName());
+        verify(orderRepository, never()).save(any());
+        verify(outboxRepository, never()).append(any());
+        verifyNoInteractions(salesDailyRepository);
+    }
     
     @Test
     void confirmOrder_shouldFail_whenNoItems() {
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.confirmOrder(testOrder.getId(), testUser.getEmail()), DomainException.class);
         assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_NO_ITEM_ADDED.getCode());
     }
 
     @Test
     void cancelOrder_shouldCancelPendingOrder() {
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         OrderDto.Response result = manageOrderUseCase.cancelOrder(testOrder.getId(), testUser.getEmail());
 
         verify(productRepository, never()).save(any());
+        verify(inventoryRepository, never()).release(anyMap());
+        verify(inventoryHoldRepository).releaseAll(testOrder.getId());
+        verify(outboxRepository).append(argThat(event -> event.type().equals(OrderEvent.ORDER_CANCELLED)));
+        verify(salesDailyRepository).addOrder(testOrder, OrderStatus.CANCELLED, 1);
+        verify(salesDailyRepository, never()).addProducts(any(), anyInt());
         assertThat(result.status()).isEqualTo(OrderStatus.CANCELLED.name());
     }
 
     @Test
     void cancelOrder_shouldCancelConfirmedOrderAndRestock() {
         testOrder.changeStatus(OrderStatus.CONFIRMED);
-        int initialStock = testProduct.getInventory().getQuantity();
         int quantityOrdered = 5;
         testOrder.addItem(OrderItem.create(testOrder.getId(), testProduct, quantityOrdered, testProduct.getProductPrice(Currency.USD)));
 
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
-        when(productRepository.findByIds(anySet())).thenReturn(Map.of(testProduct.getId(), testProduct));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         when(orderRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         OrderDto.Response result = manageOrderUseCase.cancelOrder(testOrder.getId(), testUser.getEmail());
 
-        ArgumentCaptor<Product> productCaptor = ArgumentCaptor.forClass(Product.class);
-        verify(productRepository).save(productCaptor.capture());
-        assertThat(productCaptor.getValue().getInventory().getQuantity()).isEqualTo(initialStock + quantityOrdered);
+        verify(inventoryRepository).release(Map.of(testProduct.getId(), quantityOrdered));
+        verify(productRepository, never()).save(any());
+        verify(outboxRepository).append(argThat(event -> event.type().equals(OrderEvent.ORDER_CANCELLED)));
+        verify(salesDailyRepository).addOrder(testOrder, OrderStatus.CONFIRMED, -1);
+        verify(salesDailyRepository).addProducts(testOrder, -1);
+        verify(salesDailyRepository).addOrder(testOrder, OrderStatus.CANCELLED, 1);
         assertThat(result.status()).isEqualTo(OrderStatus.CANCELLED.name());
     }
 
     @Test
     void cancelOrder_shouldFail_ifShipped() {
         testOrder.changeStatus(OrderStatus.SHIPPED);
-        when(orderRepository.findById(any())).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findActiveById(any())).thenReturn(Optional.of(testOrder));
         DomainException ex = catchThrowableOfType(() -> manageOrderUseCase.cancelOrder(testOrder.getId(), testUser.getEmail()), DomainException.class);
         assertThat(ex.getCode()).isEqualTo(OrderErrorCodes.ORDER_ALREADY_SHIPPED.getCode());
     }
+
+    private Product product(String name) {
+        UUID productId = UUID.randomUUID();
+        Map<String, ProductPrice> prices = new HashMap<>();
+        prices.put("USD", ProductPrice.create(productId, new Money(Currency.USD, BigDecimal.TEN)));
+        return Product.builder().id(productId).companyId(testCompany.getId()).categoryId(UUID.randomUUID()).name(name).sku("SKU-" + name).description("Desc").createdAt(LocalDateTime.now()).inventory(Inventory.builder().id(UUID.randomUUID()).productId(productId).quantity(100).lastUpdated(LocalDateTime.now()).build()).prices(prices).build();
+    }
 }
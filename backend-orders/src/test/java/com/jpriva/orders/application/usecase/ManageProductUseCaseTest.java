@@ -1,26 +1,42 @@
 package com.jpriva.orders.application.usecase;
 
+import com.jpriva.orders.application.dto.CursorPage;
 import com.jpriva.orders.application.dto.ProductDto;
 import com.jpriva.orders.domain.exceptions.DomainException;
 import com.jpriva.orders.domain.exceptions.ProductErrorCodes;
 import com.jpriva.orders.domain.model.Company;
 import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductPrice;
+import com.jpriva.orders.domain.model.ProductSuggestion;
+import com.jpriva.orders.domain.model.vo.ProductCursor;
+import com.jpriva.orders.domain.model.vo.ProductFilter;
 import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import com.jpriva.orders.domain.ports.repository.CatalogVersionRepository;
 import com.jpriva.orders.domain.ports.repository.CompanyRepository;
+import com.jpriva.orders.domain.ports.repository.InventoryRepository;
+import com.jpriva.orders.domain.ports.search.ProductSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 
@@ -33,6 +49,15 @@ class ManageProductUseCaseTest {
     @Mock
     private CompanyRepository companyRepository;
 
+    @Mock
+    private InventoryRepository inventoryRepository;
+
+    @Mock
+    private CatalogVersionRepository catalogVersionRepository;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private ManageProductUseCase manageProductUseCase;
 
@@ -133,11 +158,10 @@ class ManageProductUseCaseTest {
         int amountToIncrease = 10;
 
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenAnswer(inv -> inv.getArgument(0));
 
         ProductDto.Response result = manageProductUseCase.increaseStock(product.getId(), amountToIncrease);
 
-        verify(productRepository).save(any(Product.class));
+        verify(inventoryRepository).release(Map.of(product.getId(), amountToIncrease));
         assertThat(result).isNotNull();
         assertThat(result.stockQuantity()).isEqualTo(initialStock + amountToIncrease);
     }
@@ -174,4 +198,141 @@ class ManageProductUseCaseTest {
         assertThat(ex).isNotNull();
         assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.INVENTORY_AMOUNT_NEGATIVE.getCode());
     }
+
+    @Test
+    void reshardInventory_shouldSplitStockOfExistingProduct() {
+        Product product = Product.create(testCompany.getId(), request.categoryId(), request.name(), request.sku(), request.description());
+        when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+
+        ProductDto.Response result = manageProductUseCase.reshardInventory(product.getId(), new ProductDto.ReshardRequest(8));
+
+        verify(inventoryRepository).reshard(product.getId(), 8);
+        assertThat(result.id()).isEqualTo(product.getId());
+    }
+
+    @Test
+    void reshardInventory_shouldThrowException_whenProductNotFound() {
+        UUID nonExistentProductId = UUID.randomUUID();
+        when(productRepository.findById(nonExistentProductId)).thenReturn(Optional.empty());
+
+        DomainException ex = catchThrowableOfType(
+                () -> manageProductUseCase.reshardInventory(nonExistentProductId, new ProductDto.ReshardRequest(4)),
+                DomainException.class
+        );
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.PRODUCT_NOT_FOUND.getCode());
+        verifyNoInteractions(inventoryRepository);
+    }
+
+    @Test
+    void getCatalogVersion_shouldReadVersionOfCompany() {
+        when(companyRepository.findByTaxId(testCompany.getTaxId())).thenReturn(Optional.of(testCompany));
+        when(catalogVersionRepository.find(testCompany.getId())).thenReturn(42L);
+
+        assertThat(manageProductUseCase.getCatalogVersion(testCompany.getTaxId())).isEqualTo(42L);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductsByCursor_shouldFilterAndReturnNextCursor() {
+        Product first = Product.create(testCompany.getId(), request.categoryId(), "Alpha", "LP-1", null);
+        Product second = Product.create(testCompany.getId(), request.categoryId(), "Beta", "LP-2", null);
+        when(companyRepository.findByTaxId(testCompany.getTaxId())).thenReturn(Optional.of(testCompany));
+        when(productRepository.findByFilterAfter(any(ProductFilter.class), isNull(), eq(2))).thenReturn(List.of(first, second));
+
+        CursorPage<ProductDto.Response> page = manageProductUseCase.getProductsByCursor(testCompany.getTaxId(),
+                new ProductDto.CursorQuery(null, 1, request.categoryId(), "LP-"));
+
+        ArgumentCaptor<ProductFilter> filter = ArgumentCaptor.forClass(ProductFilter.class);
+        verify(productRepository).findByFilterAfter(filter.capture(), isNull(), eq(2));
+        assertThat(filter.getValue()).isEqualTo(new ProductFilter(testCompany.getId(), request.categoryId(), "LP-"));
+        assertThat(page.content()).extracting(ProductDto.Response::id).containsExactly(first.getId());
+        assertThat(page.hasNext()).isTrue();
+        assertThat(ProductCursor.decode(page.nextCursor())).isEqualTo(ProductCursor.of(first));
+    }
+
+    @Test
+    void suggestProducts_shouldUseIndexAndFallBackToSkuPrefix_whenCatalogIsNotIndexed() {
+        Product laptop = Product.create(testCompany.getId(), null, "Laptop", "LP-1", null);
+        when(companyRepository.findByTaxId(testCompany.getTaxId())).thenReturn(Optional.of(testCompany));
+        when(productSearchIndex.search(testCompany.getId(), "lap", 10))
+                .thenReturn(Optional.of(List.of(new ProductSuggestion(laptop.getId(), "LP-1", "Laptop"))));
+        when(productSearchIndex.search(testCompany.getId(), "LP", 50)).thenReturn(Optional.empty());
+        when(productRepository.findByFilterAfter(new ProductFilter(testCompany.getId(), null, "LP"), null, 50)).thenReturn(List.of(laptop));
+
+        assertThat(manageProductUseCase.suggestProducts(testCompany.getTaxId(), " lap ", null))
+                .containsExactly(new ProductDto.Suggestion(laptop.getId(), "LP-1", "Laptop"));
+        assertThat(manageProductUseCase.suggestProducts(testCompany.getTaxId(), "LP", 500))
+                .containsExactly(new ProductDto.Suggestion(laptop.getId(), "LP-1", "Laptop"));
+        assertThat(manageProductUseCase.suggestProducts(testCompany.getTaxId(), "  ", null)).isEmpty();
+    }
+
+    @Test
+    void getProductsByCursor_shouldFail_whenCursorIsInvalid() {
+        when(companyRepository.findByTaxId(testCompany.getTaxId())).thenReturn(Optional.of(testCompany));
+
+        DomainException ex = catchThrowableOfType(() -> manageProductUseCase.getProductsByCursor(testCompany.getTaxId(),
+                new ProductDto.CursorQuery("not-a-cursor", null, null, null)), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.PRODUCT_INVALID_CURSOR.getCode());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void updatePrices_shouldApplyValidRowsInOneUpsertAndRejectTheRest() {
+        UUID laptopId = UUID.randomUUID();
+        UUID mouseId = UUID.randomUUID();
+        UUID foreignId = UUID.randomUUID();
+        when(companyRepository.findByTaxId(testCompany.getTaxId())).thenReturn(Optional.of(testCompany));
+        when(productRepository.findIdsOfCompany(testCompany.getId(), Set.of(laptopId, foreignId))).thenReturn(Set.of(laptopId));
+        when(productRepository.findIdsBySkus(testCompany.getId(), Set.of("MS-1", "NOPE"))).thenReturn(Map.of("MS-1", mouseId));
+        when(productRepository.upsertPrices(any(), anyList())).thenReturn(List.of(laptopId));
+
+        ProductDto.BulkPriceReport report = manageProductUseCase.updatePrices(testCompany.getTaxId(), new ProductDto.BulkPriceRequest(List.of(
+                new ProductDto.PriceRow(laptopId, null, "USD", new BigDecimal("1000.00")),
+                new ProductDto.PriceRow(null, "MS-1", "USD", new BigDecimal("20.00")),
+                new ProductDto.PriceRow(foreignId, null, "USD", new BigDecimal("5.00")),
+                new ProductDto.PriceRow(null, "NOPE", "USD", new BigDecimal("5.00")),
+                new ProductDto.PriceRow(null, "MS-1", "XXX", new BigDecimal("5.00")),
+                new ProductDto.PriceRow(null, null, "USD", new BigDecimal("5.00")),
+                new ProductDto.PriceRow(laptopId, null, "USD", new BigDecimal("1100.00"))
+        )));
+
+        ArgumentCaptor<List<ProductPrice>> prices = ArgumentCaptor.captor();
+        verify(productRepository).upsertPrices(eq(testCompany.getId()), prices.capture());
+        assertThat(prices.getValue()).extracting(ProductPrice::getProductId).containsExactly(laptopId, mouseId);
+        assertThat(prices.getValue().getFirst().getPrice().amount()).isEqualByComparingTo("1100.00");
+        assertThat(report.changed()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(5);
+        assertThat(report.errors()).extracting(ProductDto.RowError::row).containsExactly(0, 2, 3, 4, 5);
+        assertThat(report.errors().getFirst().message()).isEqualTo("Superseded by row 6");
+    }
+
+    @Test
+    void receiveStock_shouldAddValidLinesInOneUpdateAndRejectTheRest() {
+        UUID laptopId = UUID.randomUUID();
+        UUID mouseId = UUID.randomUUID();
+        UUID orphanId = UUID.randomUUID();
+        when(companyRepository.findByTaxId(testCompany.getTaxId())).thenReturn(Optional.of(testCompany));
+        when(productRepository.findIdsOfCompany(testCompany.getId(), Set.of(laptopId, orphanId))).thenReturn(Set.of(laptopId, orphanId));
+        when(productRepository.findIdsBySkus(testCompany.getId(), Set.of("MS-1", "NOPE"))).thenReturn(Map.of("MS-1", mouseId));
+        when(inventoryRepository.receive(any())).thenReturn(Map.of(laptopId, 115, mouseId, 24));
+
+        ProductDto.ReceiveStockReport report = manageProductUseCase.receiveStock(testCompany.getTaxId(), new ProductDto.ReceiveStockRequest(List.of(
+                new ProductDto.StockLine(laptopId, null, 10),
+                new ProductDto.StockLine(null, "MS-1", 24),
+                new ProductDto.StockLine(null, "NOPE", 5),
+                new ProductDto.StockLine(orphanId, null, 3),
+                new ProductDto.StockLine(null, "MS-1", 0),
+                new ProductDto.StockLine(laptopId, null, 5)
+        )));
+
+        verify(inventoryRepository).receive(Map.of(laptopId, 15, mouseId, 24, orphanId, 3));
+        assertThat(report.stock()).containsExactly(
+                new ProductDto.StockLevel(laptopId, 115),
+                new ProductDto.StockLevel(mouseId, 24));
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.errors()).extracting(ProductDto.RowError::row).containsExactly(2, 3, 4);
+        assertThat(report.errors().get(1).message()).isEqualTo(ProductErrorCodes.INVENTORY_NOT_FOUND.getMessage());
+    }
 }
@@ -0,0 +1,107 @@
+package com.jpriva.orders.application.usecase;
+
+import com.jpriva.orders.application.dto.SalesDto;
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.MoneyErrorCodes;
+import com.jpriva.orders.domain.exceptions.SalesErrorCodes;
+import com.jpriva.orders.domain.model.Company;
+import com.jpriva.orders.domain.model.ProductSales;
+import com.jpriva.orders.domain.model.SalesDay;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+import com.jpriva.orders.domain.ports.repository.CompanyRepository;
+import com.jpriva.orders.domain.ports.repository.SalesDailyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ManageSalesUseCaseTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 1, 31);
+
+    @Mock private CompanyRepository companyRepository;
+    @Mock private SalesDailyRepository salesDailyRepository;
+
+    @InjectMocks
+    private ManageSalesUseCase manageSalesUseCase;
+
+    private Company company;
+
+    @BeforeEach
+    void setUp() {
+        company = Company.builder()
+                .id(UUID.randomUUID())
+                .name("Test Company")
+                .taxId("T1")
+                .address("Address")
+                .phone("12345")
+                .build();
+    }
+
+    @Test
+    void getSalesReport_shouldSumDailyRowsPerStatus() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(company));
+        when(salesDailyRepository.findDays(company.getId(), Currency.USD, FROM, TO)).thenReturn(List.of(
+                new SalesDay(FROM, OrderStatus.CONFIRMED, 3, new BigDecimal("150.00")),
+                new SalesDay(FROM, OrderStatus.CANCELLED, 1, new BigDecimal("20.00")),
+                new SalesDay(TO, OrderStatus.CONFIRMED, 2, new BigDecimal("50.50"))));
+        ProductSales laptop = new ProductSales(UUID.randomUUID(), "Laptop", 4, new BigDecimal("120.00"));
+        when(salesDailyRepository.findTopProducts(company.getId(), Currency.USD, FROM, TO, 5)).thenReturn(List.of(laptop));
+
+        SalesDto.ReportResponse report = manageSalesUseCase.getSalesReport("T1", new SalesDto.ReportQuery(FROM, TO, "USD", 5));
+
+        assertThat(report.confirmedOrders()).isEqualTo(5);
+        assertThat(report.confirmedAmount()).isEqualByComparingTo("200.50");
+        assertThat(report.cancelledOrders()).isEqualTo(1);
+        assertThat(report.cancelledAmount()).isEqualByComparingTo("20.00");
+        assertThat(report.days()).hasSize(3);
+        assertThat(report.topProducts()).extracting(SalesDto.ProductResponse::productName).containsExactly("Laptop");
+    }
+
+    @Test
+    void getSalesReport_shouldFail_whenCurrencyIsMissing() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(company));
+
+        DomainException ex = catchThrowableOfType(
+                () -> manageSalesUseCase.getSalesReport("T1", new SalesDto.ReportQuery(FROM, TO, null, null)), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(SalesErrorCodes.SALES_CURRENCY_REQUIRED.getCode());
+        verifyNoInteractions(salesDailyRepository);
+    }
+
+    @Test
+    void getSalesReport_shouldFail_whenCurrencyIsNotSupported() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(company));
+
+        DomainException ex = catchThrowableOfType(
+                () -> manageSalesUseCase.getSalesReport("T1", new SalesDto.ReportQuery(FROM, TO, "XXX", null)), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(MoneyErrorCodes.MONEY_ERROR_CURRENCY_NOT_SUPPORTED.getCode());
+    }
+
+    @Test
+    void getSalesReport_shouldFail_whenRangeIsInverted() {
+        when(companyRepository.findByTaxId("T1")).thenReturn(Optional.of(company));
+
+        DomainException ex = catchThrowableOfType(
+                () -> manageSalesUseCase.getSalesReport("T1", new SalesDto.ReportQuery(TO, FROM, "USD", null)), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(SalesErrorCodes.SALES_INVALID_RANGE.getCode());
+        verifyNoInteractions(salesDailyRepository);
+    }
+}
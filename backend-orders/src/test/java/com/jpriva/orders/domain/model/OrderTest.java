@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,7 +34,8 @@ class OrderTest {
                 LocalDateTime.now(),
                 OrderStatus.PENDING,
                 totalAmount,
-                new ArrayList<>()
+                new ArrayList<>(),
+                null
         );
 
         assertNotNull(order);
@@ -52,7 +55,8 @@ class OrderTest {
                 LocalDateTime.now(),
                 OrderStatus.PENDING,
                 Money.zero(Currency.USD),
-                new ArrayList<>()
+                new ArrayList<>(),
+                null
         ));
 
         assertEquals(OrderErrorCodes.ORDER_ID_NULL.getCode(), exception.getCode());
@@ -117,6 +121,22 @@ class OrderTest {
         assertEquals(new BigDecimal("50.00"), order.getTotalAmount().amount());
     }
 
+    @Test
+    void shouldFindItemsByIdAndProductId() {
+        Order order = createValidOrder();
+        Product product = createValidProduct();
+        OrderItem item = OrderItem.create(order.getId(), product, 2, product.getPrices().get(Currency.USD.getCode()));
+        order.addItem(item);
+
+        assertEquals(item, order.findItem(item.getId()).orElseThrow());
+        assertEquals(item, order.findItemByProductId(product.getId()).orElseThrow());
+
+        order.removeItem(item.getId());
+
+        assertTrue(order.findItem(item.getId()).isEmpty());
+        assertTrue(order.findItemByProductId(product.getId()).isEmpty());
+    }
+
     @Test
     void shouldChangeItemPriceAndRecalculateTotal() {
         Order order = createValidOrder();
@@ -132,6 +152,94 @@ class OrderTest {
         assertEquals(new BigDecimal("150.00"), order.getItems().getFirst().getUnitPrice().amount());
     }
 
+    @Test
+    void shouldTrackItemChangesSinceLoad() {
+        Product product = createValidProduct();
+        ProductPrice price = product.getPrices().get(Currency.USD.getCode());
+        UUID orderId = UUID.randomUUID();
+        OrderItem kept = OrderItem.create(orderId, product, 1, price);
+        OrderItem removed = OrderItem.create(orderId, createValidProduct(), 1, price);
+        Order order = new Order(orderId, UUID.randomUUID(), UUID.randomUUID(), "Client Name", "Address",
+                LocalDateTime.now(), OrderStatus.PENDING, Money.fromString("USD", "200.00"),
+                new ArrayList<>(List.of(kept, removed)), 0L);
+
+        order.changeItemPrice(kept.getId(), Money.fromString("USD", "150.00"));
+        order.removeItem(removed.getId());
+        OrderItem added = OrderItem.create(orderId, createValidProduct(), 2, price);
+        order.addItem(added);
+
+        assertFalse(order.isNew());
+        assertEquals(List.of(added), order.getAddedItems());
+        assertEquals(List.of(kept), order.getChangedItems());
+        assertEquals(Set.of(removed.getId()), order.getRemovedItemIds());
+    }
+
+    @Test
+    void shouldTrackReAddedItemAsChanged() {
+        Product product = createValidProduct();
+        OrderItem item = OrderItem.create(UUID.randomUUID(), product, 1, product.getPrices().get(Currency.USD.getCode()));
+        Order order = new Order(item.getOrderId(), UUID.randomUUID(), UUID.randomUUID(), "Client Name", "Address",
+                LocalDateTime.now(), OrderStatus.PENDING, Money.fromString("USD", "100.00"),
+                new ArrayList<>(List.of(item)), 0L);
+
+        item.changeQuantity(3);
+        order.removeItem(item.getId());
+        order.addItem(item);
+
+        assertTrue(order.getAddedItems().isEmpty());
+        assertTrue(order.getRemovedItemIds().isEmpty());
+        assertEquals(List.of(item), order.getChangedItems());
+    }
+
+    @Test
+    void shouldNotTrackItemAddedAndRemovedBeforeSave() {
+        Order order = createValidOrder();
+        Product product = createValidProduct();
+        OrderItem item = OrderItem.create(order.getId(), product, 1, product.getPrices().get(Currency.USD.getCode()));
+
+        order.addItem(item);
+        order.removeItem(item.getId());
+
+        assertTrue(order.isNew());
+        assertTrue(order.getAddedItems().isEmpty());
+        assertTrue(order.getChangedItems().isEmpty());
+        assertTrue(order.getRemovedItemIds().isEmpty());
+    }
+
+    @Test
+    void shouldKeepTotalInSyncWhenItemIsChangedAndAddedAgain() {
+        Order order = createValidOrder();
+        Product product = createValidProduct();
+        OrderItem item = OrderItem.create(order.getId(), product, 1, product.getPrices().get(Currency.USD.getCode()));
+        order.addItem(item);
+
+        item.changeQuantity(4);
+        order.removeItem(item.getId());
+        assertEquals(new BigDecimal("0.00"), order.getTotalAmount().amount());
+
+        order.addItem(item);
+        assertEquals(new BigDecimal("400.00"), order.getTotalAmount().amount());
+    }
+
+    @Test
+    void shouldAddManyItemsAndReplaceQuantityOfExistingProduct() {
+        Product product = createValidProduct();
+        ProductPrice price = product.getPrices().get(Currency.USD.getCode());
+        OrderItem existing = OrderItem.create(UUID.randomUUID(), product, 1, price);
+        Order order = new Order(existing.getOrderId(), UUID.randomUUID(), UUID.randomUUID(), "Client Name", "Address",
+                LocalDateTime.now(), OrderStatus.PENDING, Money.fromString("USD", "100.00"),
+                new ArrayList<>(List.of(existing)), 0L);
+        OrderItem added = OrderItem.create(order.getId(), createValidProduct(), 2, price);
+
+        order.addItems(List.of(OrderItem.create(order.getId(), product, 3, price), added));
+
+        assertEquals(2, order.getItems().size());
+        assertEquals(3, existing.getQuantity());
+        assertEquals(new BigDecimal("500.00"), order.getTotalAmount().amount());
+        assertEquals(List.of(added), order.getAddedItems());
+        assertEquals(List.of(existing), order.getChangedItems());
+    }
+
     private Order createValidOrder() {
         return new Order(
                 UUID.randomUUID(),
@@ -142,7 +250,8 @@ class OrderTest {
                 LocalDateTime.now(),
                 OrderStatus.PENDING,
                 Money.zero(Currency.USD),
-                new ArrayList<>()
+                new ArrayList<>(),
+                null
         );
     }
 
@@ -0,0 +1,163 @@
+package com.jpriva.orders.infrastructure.notification;
+
+import com.jpriva.orders.domain.model.OutboxMessage;
+import com.jpriva.orders.domain.ports.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderEventRelayTest {
+
+    private static final int BATCH_SIZE = 25;
+
+    @Mock private OutboxRepository outboxRepository;
+    @Mock private SqsClient sqsClient;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OrderEventRelay(outboxRepository, sqsClient, transactionManager, meterRegistry,
+                "http://localhost:4566/000000000000/order-events-queue", BATCH_SIZE);
+        when(outboxRepository.backlog()).thenReturn(new OutboxRepository.Backlog(3, 1500));
+    }
+
+    @Test
+    void shouldSendInBatchesOfTenAndDeleteOnlyAcceptedMessages() {
+        List<OutboxMessage> messages = messages(12);
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(messages);
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            List<SendMessageBatchResultEntry> successful = request.entries().stream()
+                    .filter(entry -> !entry.id().equals("3"))
+                    .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).build())
+                    .toList();
+            List<BatchResultErrorEntry> failed = request.entries().stream()
+                    .filter(entry -> entry.id().equals("3"))
+                    .map(entry -> BatchResultErrorEntry.builder().id(entry.id()).code("InternalError").build())
+                    .toList();
+            return SendMessageBatchResponse.builder().successful(successful).failed(failed).build();
+        });
+
+        relay.relay();
+
+        ArgumentCaptor<SendMessageBatchRequest> requests = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, times(2)).sendMessageBatch(requests.capture());
+        assertThat(requests.getAllValues()).extracting(request -> request.entries().size()).containsExactly(10, 2);
+
+        ArgumentCaptor<List<Long>> deleted = ArgumentCaptor.captor();
+        verify(outboxRepository).delete(deleted.capture());
+        assertThat(deleted.getValue()).hasSize(11).doesNotContain(3L);
+        assertThat(meterRegistry.counter("orders.outbox.published").count()).isEqualTo(11);
+        assertThat(meterRegistry.counter("orders.outbox.failed").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.outbox.pending").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepMessagesWhenSqsIsUnavailable() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(messages(BATCH_SIZE));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenThrow(SdkClientException.create("down"));
+
+        relay.relay();
+
+        verify(outboxRepository, times(1)).lockNextBatch(BATCH_SIZE);
+        verify(outboxRepository).delete(List.of());
+        assertThat(meterRegistry.counter("orders.outbox.failed").count()).isEqualTo(BATCH_SIZE);
+    }
+
+    @Test
+    void shouldKeepDrainingWhileBatchesAreFull() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(messages(BATCH_SIZE), List.of());
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .toList())
+                    .build();
+        });
+
+        relay.relay();
+
+        verify(outboxRepository, times(2)).lockNextBatch(BATCH_SIZE);
+    }
+
+    @Test
+    void shouldDeadLetterPermanentlyRejectedMessagesAndKeepDraining() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(messages(BATCH_SIZE), List.of());
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .filter(entry -> !entry.id().equals("1"))
+                            .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .toList())
+                    .failed(request.entries().stream()
+                            .filter(entry -> entry.id().equals("1"))
+                            .map(entry -> BatchResultErrorEntry.builder().id(entry.id()).senderFault(true)
+                                    .code("InvalidParameterValue").message("Message too long").build())
+                            .toList())
+                    .build();
+        });
+
+        relay.relay();
+
+        verify(outboxRepository).deadLetter(Map.of(1L, "[InvalidParameterValue] Message too long"));
+        verify(outboxRepository, times(2)).lockNextBatch(BATCH_SIZE);
+        assertThat(meterRegistry.counter("orders.outbox.dead.lettered").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("orders.outbox.failed").count()).isZero();
+    }
+
+    @Test
+    void shouldStopDrainingWhenAMessageCanBeRetried() {
+        when(outboxRepository.lockNextBatch(BATCH_SIZE)).thenReturn(messages(BATCH_SIZE));
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(inv -> {
+            SendMessageBatchRequest request = inv.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .filter(entry -> !entry.id().equals("1"))
+                            .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).build())
+                            .toList())
+                    .failed(request.entries().stream()
+                            .filter(entry -> entry.id().equals("1"))
+                            .map(entry -> BatchResultErrorEntry.builder().id(entry.id()).senderFault(false).code("InternalError").build())
+                            .toList())
+                    .build();
+        });
+
+        relay.relay();
+
+        verify(outboxRepository, times(1)).lockNextBatch(BATCH_SIZE);
+        verify(outboxRepository).deadLetter(Map.of());
+    }
+
+    private List<OutboxMessage> messages(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> new OutboxMessage(id, UUID.randomUUID(), UUID.randomUUID(), "order.confirmed", "{}", 100))
+                .toList();
+    }
+}
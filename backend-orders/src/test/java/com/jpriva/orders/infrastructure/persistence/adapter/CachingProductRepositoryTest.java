@@ -0,0 +1,124 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.model.Inventory;
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductRepositoryTest {
+
+    @Mock private ProductRepositoryAdapter products;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = Product.create(UUID.randomUUID(), null, "Cached Product", "CACHE-001", null);
+        product.changePrice(new Money(Currency.USD, new BigDecimal("10.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldServeCatalogFromCacheWithFreshStock() {
+        CachingProductRepository repository = caching(Duration.ofMinutes(1));
+        when(products.findById(product.getId())).thenReturn(Optional.of(product));
+        when(products.findInventory(product.getId())).thenReturn(Optional.of(stock(7)));
+
+        repository.findById(product.getId());
+        Product cached = repository.findById(product.getId()).orElseThrow();
+
+        verify(products, times(1)).findById(product.getId());
+        assertThat(cached).isNotSameAs(product);
+        assertThat(cached.getName()).isEqualTo("Cached Product");
+        assertThat(cached.getProductPrice(Currency.USD).getPrice().amount()).isEqualByComparingTo("10.00");
+        assertThat(cached.getInventory().getQuantity()).isEqualTo(7);
+        assertThat(meterRegistry.counter("cache.gets", "cache", "products", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cache.gets", "cache", "products", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLetCallersChangeTheCachedProduct() {
+        CachingProductRepository repository = caching(Duration.ofMinutes(1));
+        when(products.findById(product.getId())).thenReturn(Optional.of(product));
+        when(products.findInventory(product.getId())).thenReturn(Optional.of(stock(7)));
+        repository.findById(product.getId());
+
+        Product first = repository.findById(product.getId()).orElseThrow();
+        first.changeName("Renamed");
+        first.changePrice(new Money(Currency.USD, new BigDecimal("99.00")));
+
+        Product second = repository.findById(product.getId()).orElseThrow();
+        assertThat(second.getName()).isEqualTo("Cached Product");
+        assertThat(second.getProductPrice(Currency.USD).getPrice().amount()).isEqualByComparingTo("10.00");
+    }
+
+    @Test
+    void shouldReloadAfterSaveAndAgainAfterCommit() {
+        CachingProductRepository repository = caching(Duration.ofMinutes(1));
+        when(products.findById(product.getId())).thenReturn(Optional.of(product));
+        when(products.save(product)).thenReturn(product);
+        repository.findById(product.getId());
+        TransactionSynchronizationManager.initSynchronization();
+
+        repository.save(product);
+        repository.findById(product.getId());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        repository.findById(product.getId());
+
+        verify(products, times(3)).findById(product.getId());
+        verify(products, never()).findInventory(product.getId());
+    }
+
+    @Test
+    void shouldExpireEntriesAndEvictBeyondMaxSize() throws InterruptedException {
+        CachingProductRepository expiring = caching(Duration.ofMillis(1));
+        when(products.findById(product.getId())).thenReturn(Optional.of(product));
+        expiring.findById(product.getId());
+        Thread.sleep(5);
+        expiring.findById(product.getId());
+
+        assertThat(meterRegistry.counter("cache.evictions", "cache", "products", "cause", "expired").count()).isEqualTo(1);
+
+        CachingProductRepository small = new CachingProductRepository(products, meterRegistry, 1, Duration.ofMinutes(1));
+        Product other = Product.create(product.getCompanyId(), null, "Other Product", "CACHE-002", null);
+        when(products.findById(other.getId())).thenReturn(Optional.of(other));
+        small.findById(product.getId());
+        small.findById(other.getId());
+
+        assertThat(meterRegistry.counter("cache.evictions", "cache", "products", "cause", "size").count()).isEqualTo(1);
+    }
+
+    private CachingProductRepository caching(Duration ttl) {
+        return new CachingProductRepository(products, meterRegistry, 100, ttl);
+    }
+
+    private Inventory stock(int quantity) {
+        return Inventory.fromPersistence(product.getInventory().getId(), product.getId(), quantity, null, 3L);
+    }
+}
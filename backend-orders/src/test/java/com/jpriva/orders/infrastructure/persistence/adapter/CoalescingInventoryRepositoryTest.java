@@ -0,0 +1,225 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.ports.repository.InventoryRepository;
+import com.jpriva.orders.infrastructure.persistence.adapter.InventoryGrantLedger.Grant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingInventoryRepositoryTest {
+
+    private static final UUID PRODUCT_ID = UUID.randomUUID();
+    private static final Duration GRANT_TTL = Duration.ofMinutes(2);
+
+    @Mock private InventoryRepository inventory;
+    @Mock private InventoryRepository batches;
+    @Mock private InventoryGrantLedger grants;
+    @Mock private InventoryGrantLedger batchGrants;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CoalescingInventoryRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        repository.shutdown();
+    }
+
+    @Test
+    void shouldApplyConcurrentReservationsOfSameProductInFewBatchesWithoutOverselling() throws Exception {
+        AtomicInteger stock = new AtomicInteger(10);
+        AtomicInteger updates = new AtomicInteger();
+        when(batches.reserveInOrder(eq(PRODUCT_ID), anyList())).thenAnswer(inv -> {
+            Thread.sleep(20);
+            updates.incrementAndGet();
+            List<Integer> quantities = inv.getArgument(1);
+            int granted = 0;
+            for (int quantity : quantities) {
+                if (quantity > stock.get()) {
+                    break;
+                }
+                stock.addAndGet(-quantity);
+                granted++;
+            }
+            return granted;
+        });
+        claimAll();
+        repository = coalescing(Duration.ofMillis(5));
+
+        List<Callable<Set<UUID>>> confirms = IntStream.range(0, 30)
+                .<Callable<Set<UUID>>>mapToObj(i -> () -> repository.reserve(Map.of(PRODUCT_ID, 1)))
+                .toList();
+        List<Set<UUID>> shortages;
+        try (ExecutorService callers = Executors.newFixedThreadPool(30)) {
+            shortages = callers.invokeAll(confirms).stream().map(Future::resultNow).toList();
+        }
+
+        assertThat(shortages).filteredOn(Set::isEmpty).hasSize(10);
+        assertThat(shortages).filteredOn(s -> s.contains(PRODUCT_ID)).hasSize(20);
+        assertThat(stock.get()).isZero();
+        assertThat(updates.get()).isLessThan(30);
+        assertThat(meterRegistry.get("orders.inventory.coalescing.batch.size").summary().count()).isEqualTo(updates.get());
+        assertThat(meterRegistry.get("orders.inventory.coalescing.wait").timer().count()).isEqualTo(30);
+        ArgumentCaptor<List<Grant>> recorded = ArgumentCaptor.captor();
+        verify(batchGrants, times(updates.get())).record(recorded.capture());
+        assertThat(recorded.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldClaimGrantsInCallerTransaction() {
+        when(batches.reserveInOrder(PRODUCT_ID, List.of(2))).thenReturn(1);
+        claimAll();
+        repository = coalescing(Duration.ZERO);
+
+        repository.reserve(Map.of(PRODUCT_ID, 2));
+
+        ArgumentCaptor<List<Grant>> recorded = ArgumentCaptor.captor();
+        verify(batchGrants).record(recorded.capture());
+        Grant grant = recorded.getValue().getFirst();
+        assertThat(grant.productId()).isEqualTo(PRODUCT_ID);
+        assertThat(grant.quantity()).isEqualTo(2);
+        verify(grants).consume(List.of(grant.id()));
+    }
+
+    @Test
+    void shouldFailWhenGrantWasSweptBeforeItWasClaimed() {
+        when(batches.reserveInOrder(PRODUCT_ID, List.of(2))).thenReturn(1);
+        when(grants.consume(anyCollection())).thenReturn(0);
+        repository = coalescing(Duration.ZERO);
+
+        CannotAcquireLockException exception = catchThrowableOfType(CannotAcquireLockException.class,
+                () -> repository.reserve(Map.of(PRODUCT_ID, 2)));
+
+        assertThat(exception).isNotNull();
+        verify(batchGrants, timeout(1000)).take(anyCollection());
+    }
+
+    @Test
+    void shouldReturnExpiredGrantsToStock() {
+        UUID otherProductId = UUID.randomUUID();
+        when(batchGrants.takeExpired(GRANT_TTL, 10)).thenReturn(List.of(
+                new Grant(UUID.randomUUID(), PRODUCT_ID, 2),
+                new Grant(UUID.randomUUID(), PRODUCT_ID, 3),
+                new Grant(UUID.randomUUID(), otherProductId, 1)));
+        repository = coalescing(Duration.ZERO);
+
+        assertThat(repository.restoreExpired(10)).isEqualTo(3);
+
+        verify(batches).release(Map.of(PRODUCT_ID, 5, otherProductId, 1));
+    }
+
+    @Test
+    void shouldReleaseReservedStockWhenTransactionRollsBack() {
+        when(batches.reserveInOrder(PRODUCT_ID, List.of(2))).thenReturn(1);
+        claimAll();
+        takeAll();
+        repository = coalescing(Duration.ZERO);
+        TransactionSynchronizationManager.initSynchronization();
+
+        Set<UUID> shortages = repository.reserve(Map.of(PRODUCT_ID, 2));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(shortages).isEmpty();
+        verify(batches, timeout(1000)).release(Map.of(PRODUCT_ID, 2));
+        assertThat(meterRegistry.counter("orders.inventory.coalescing.compensated").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountReleasesThatFailAfterRollback() {
+        when(batches.reserveInOrder(PRODUCT_ID, List.of(2))).thenReturn(1);
+        claimAll();
+        takeAll();
+        doThrow(new IllegalStateException("connection lost")).when(batches).release(Map.of(PRODUCT_ID, 2));
+        repository = coalescing(Duration.ZERO);
+        TransactionSynchronizationManager.initSynchronization();
+
+        repository.reserve(Map.of(PRODUCT_ID, 2));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(batches, timeout(1000)).release(Map.of(PRODUCT_ID, 2));
+        await(() -> meterRegistry.counter("orders.inventory.coalescing.release.failures").count() == 1);
+    }
+
+    @Test
+    void shouldKeepReservedStockWhenTransactionCommits() {
+        when(batches.reserveInOrder(PRODUCT_ID, List.of(2))).thenReturn(1);
+        claimAll();
+        repository = coalescing(Duration.ZERO);
+        TransactionSynchronizationManager.initSynchronization();
+
+        repository.reserve(Map.of(PRODUCT_ID, 2));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(batches, after(100).never()).release(any());
+        verify(batchGrants, never()).take(any());
+        verifyNoInteractions(inventory);
+    }
+
+    @Test
+    void shouldReportShortageWhenBatchDoesNotCoverReservation() {
+        when(batches.reserveInOrder(PRODUCT_ID, List.of(5))).thenReturn(0);
+        repository = coalescing(Duration.ZERO);
+
+        assertThat(repository.reserve(Map.of(PRODUCT_ID, 5))).containsExactly(PRODUCT_ID);
+    }
+
+    private CoalescingInventoryRepository coalescing(Duration window) {
+        return new CoalescingInventoryRepository(inventory, batches, grants, batchGrants, TransactionOperations.withoutTransaction(),
+                meterRegistry, window, Duration.ofSeconds(5), GRANT_TTL, 200, 2);
+    }
+
+    private void claimAll() {
+        when(grants.consume(anyCollection())).thenAnswer(inv -> inv.<Collection<?>>getArgument(0).size());
+    }
+
+    // The ledger holds a grant of 2 units of PRODUCT_ID for every id taken.
+    private void takeAll() {
+        when(batchGrants.take(anyCollection())).thenAnswer(inv -> inv.<Collection<UUID>>getArgument(0).stream()
+                .map(id -> new Grant(id, PRODUCT_ID, 2))
+                .toList());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
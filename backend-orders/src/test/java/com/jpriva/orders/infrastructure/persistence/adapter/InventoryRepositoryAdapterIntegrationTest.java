@@ -0,0 +1,127 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.TestcontainersConfiguration;
+import com.jpriva.orders.domain.ports.repository.InventoryRepository;
+import com.jpriva.orders.domain.ports.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class InventoryRepositoryAdapterIntegrationTest {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private UUID productId;
+
+    @BeforeEach
+    void setup() {
+        UUID companyId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO companies (id, name, tax_id) VALUES (?, ?, ?)",
+                companyId.toString(), "Shard Co", "SHD-" + companyId);
+        jdbcTemplate.update("INSERT INTO products (id, company_id, name, sku) VALUES (?, ?, ?, ?)",
+                productId.toString(), companyId.toString(), "Shard Product", "SHD-001");
+        jdbcTemplate.update("INSERT INTO inventory (id, product_id, quantity) VALUES (?, ?, ?)",
+                UUID.randomUUID().toString(), productId.toString(), 10);
+    }
+
+    @Test
+    void shouldSpreadStockOverShardsAndKeepTheTotal() {
+        reshard(4);
+
+        assertThat(shards()).containsExactly(3, 3, 2, 2);
+        assertThat(inventory()).isZero();
+        assertThat(productRepository.findById(productId).orElseThrow().getInventory().getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldReserveFromShardsAndAcrossThemWhenNoSingleShardIsEnough() {
+        reshard(4);
+
+        assertThat(inventoryRepository.reserve(Map.of(productId, 2))).isEmpty();
+        assertThat(inventoryRepository.reserve(Map.of(productId, 7))).isEmpty();
+        assertThat(inventoryRepository.reserve(Map.of(productId, 2))).containsExactly(productId);
+
+        assertThat(shards().stream().mapToInt(Integer::intValue).sum()).isEqualTo(1);
+        assertThat(shards()).allSatisfy(quantity -> assertThat(quantity).isNotNegative());
+    }
+
+    @Test
+    void shouldSpreadReleasedUnitsAndMergeShardsBack() {
+        reshard(4);
+        inventoryRepository.release(Map.of(productId, 6));
+
+        assertThat(shards()).containsExactly(4, 4, 4, 4);
+
+        reshard(1);
+
+        assertThat(shards()).isEmpty();
+        assertThat(inventory()).isEqualTo(16);
+    }
+
+    @Test
+    void shouldGrantCoalescedRequestsFromShards() {
+        reshard(2);
+
+        assertThat(inventoryRepository.reserveInOrder(productId, List.of(4, 4, 4))).isEqualTo(2);
+        assertThat(shards().stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldClaimTakeAndSweepInventoryGrants() {
+        InventoryGrantLedger ledger = new InventoryGrantLedger(jdbcTemplate, objectMapper);
+        InventoryGrantLedger.Grant claimed = new InventoryGrantLedger.Grant(UUID.randomUUID(), productId, 1);
+        InventoryGrantLedger.Grant released = new InventoryGrantLedger.Grant(UUID.randomUUID(), productId, 2);
+        InventoryGrantLedger.Grant expired = new InventoryGrantLedger.Grant(UUID.randomUUID(), productId, 3);
+        ledger.record(List.of(claimed, released, expired));
+
+        assertThat(ledger.consume(List.of(claimed.id()))).isEqualTo(1);
+        assertThat(ledger.take(List.of(claimed.id(), released.id()))).containsExactly(released);
+        assertThat(ledger.takeExpired(Duration.ofHours(1), 10)).isEmpty();
+        assertThat(ledger.takeExpired(Duration.ZERO, 10)).containsExactly(expired);
+        assertThat(ledger.consume(List.of(expired.id()))).isZero();
+    }
+
+    private void reshard(int shards) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> inventoryRepository.reshard(productId, shards));
+    }
+
+    private List<Integer> shards() {
+        return jdbcTemplate.queryForList("SELECT quantity FROM inventory_shards WHERE product_id = ? ORDER BY shard",
+                Integer.class, productId.toString());
+    }
+
+    private int inventory() {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM inventory WHERE product_id = ?", Integer.class, productId.toString());
+    }
+}
@@ -0,0 +1,197 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.TestcontainersConfiguration;
+import com.jpriva.orders.application.usecase.ManageOrderUseCase;
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.OrderErrorCodes;
+import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.OrderItem;
+import com.jpriva.orders.domain.model.OrderSummary;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.Money;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+import com.jpriva.orders.domain.ports.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestcontainersConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OrderRepositoryAdapterIntegrationTest {
+
+    private static final int ORDERS = 60;
+    private static final int PAGE_SIZE = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ManageOrderUseCase manageOrderUseCase;
+
+    private UUID companyId;
+    private UUID clientId;
+    private UUID productId;
+
+    @BeforeEach
+    void setup() {
+        companyId = UUID.randomUUID();
+        clientId = UUID.randomUUID();
+        productId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO companies (id, name, tax_id) VALUES (?, ?, ?)",
+                companyId.toString(), "Listing Co", "LST-" + companyId);
+        jdbcTemplate.update("INSERT INTO clients (id, company_id, name, address) VALUES (?, ?, ?, ?)",
+                clientId.toString(), companyId.toString(), "Listing Client", "Client Address");
+        jdbcTemplate.update("INSERT INTO products (id, company_id, name, sku) VALUES (?, ?, ?, ?)",
+                productId.toString(), companyId.toString(), "Listing Product", "LST-001");
+
+        List<Order> orders = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(order(now.minusMinutes(i), OrderStatus.PENDING));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> orderRepository.insertAll(orders));
+    }
+
+    @Test
+    void findByCompanyId_shouldLoadItemsOfTheWholePageInOneQuery() {
+        Statistics statistics = statistics();
+
+        Page<Order> page = readOnly(() -> orderRepository.findByCompanyId(PageRequest.of(0, PAGE_SIZE, Sort.by("orderDate")), companyId));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        // page + count + items
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void findByFilterAfter_shouldLoadItemsOfTheWholeSliceInOneQuery() {
+        Statistics statistics = statistics();
+
+        List<Order> orders = readOnly(() -> orderRepository.findByFilterAfter(new OrderFilter(companyId, null, null, null), null, PAGE_SIZE));
+
+        assertThat(orders).hasSize(PAGE_SIZE).allSatisfy(order -> assertThat(order.getItems()).hasSize(2));
+        // slice + items
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findSummariesByCompanyId_shouldNotLoadEntities() {
+        Statistics statistics = statistics();
+
+        Page<OrderSummary> page = readOnly(() -> orderRepository.findSummariesByCompanyId(companyId, PageRequest.of(0, PAGE_SIZE, Sort.by("orderDate"))));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+        // page + count, no entity or collection loads
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void archiveClosedBefore_shouldMoveOldClosedOrdersAndKeepThemReadable() {
+        LocalDateTime now = LocalDateTime.now();
+        Order delivered = order(now.minusDays(400), OrderStatus.DELIVERED);
+        Order cancelled = order(now.minusDays(430), OrderStatus.CANCELLED);
+        Order stillOpen = order(now.minusDays(420), OrderStatus.SHIPPED);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                orderRepository.insertAll(List.of(delivered, cancelled, stillOpen)));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int archived;
+            do {
+                archived = orderRepository.archiveClosedBefore(now.minusDays(365), 100);
+            } while (archived == 100);
+        });
+
+        assertThat(countOf("orders", delivered, cancelled, stillOpen)).isEqualTo(1);
+        assertThat(countOf("orders_archive", delivered, cancelled, stillOpen)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items_archive WHERE order_id IN (?, ?)", Integer.class,
+                delivered.getId().toString(), cancelled.getId().toString())).isEqualTo(4);
+
+        Order archived = readOnly(() -> orderRepository.findById(delivered.getId())).orElseThrow();
+        assertThat(archived.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(archived.getItems()).hasSize(2);
+        assertThat(readOnly(() -> orderRepository.findActiveById(delivered.getId()))).isEmpty();
+
+        assertThat(manageOrderUseCase.getOrder(delivered.getId(), "reader@example.com").status())
+                .isEqualTo(OrderStatus.DELIVERED.name());
+        DomainException archivedChange = catchThrowableOfType(
+                () -> manageOrderUseCase.cancelOrder(delivered.getId(), "reader@example.com"), DomainException.class);
+        assertThat(archivedChange.getCode()).isEqualTo(OrderErrorCodes.ORDER_ARCHIVED.getCode());
+        assertThat(countOf("orders_archive", delivered, cancelled, stillOpen)).isEqualTo(2);
+
+        OrderFilter everything = new OrderFilter(companyId, null, null, null);
+        assertThat(readOnly(() -> orderRepository.findByFilterAfter(everything, null, 100)))
+                .hasSize(ORDERS + 3)
+                .extracting(Order::getId)
+                .endsWith(delivered.getId(), stillOpen.getId(), cancelled.getId());
+        assertThat(readOnly(() -> orderRepository.countByFilter(everything))).isEqualTo(ORDERS + 3);
+        assertThat(readOnly(() -> orderRepository.findSummariesByCompanyId(companyId, PageRequest.of(0, 100))).getTotalElements())
+                .isEqualTo(ORDERS + 3);
+        assertThat(readOnly(() -> orderRepository.findSummariesByFilterAfter(
+                new OrderFilter(companyId, null, now.minusDays(1), null), null, 100))).hasSize(ORDERS);
+    }
+
+    private Order order(LocalDateTime orderDate, OrderStatus status) {
+        UUID orderId = UUID.randomUUID();
+        List<OrderItem> items = List.of(
+                OrderItem.fromPersistence(UUID.randomUUID(), orderId, productId, "Listing Product", 1, new Money(Currency.USD, BigDecimal.TEN)),
+                OrderItem.fromPersistence(UUID.randomUUID(), orderId, productId, "Listing Product", 2, new Money(Currency.USD, BigDecimal.ONE))
+        );
+        return new Order(orderId, companyId, clientId, "Listing Client", "Client Address", orderDate,
+                status, new Money(Currency.USD, BigDecimal.valueOf(12)), items, null);
+    }
+
+    private int countOf(String table, Order... orders) {
+        List<String> ids = Stream.of(orders).map(order -> order.getId().toString()).toList();
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id IN (?, ?, ?)", Integer.class, ids.toArray());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> query.get());
+    }
+}
@@ -0,0 +1,80 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.domain.model.vo.OrderFilter;
+import com.jpriva.orders.infrastructure.persistence.entity.OrderEntity;
+import com.jpriva.orders.infrastructure.persistence.entity.OrderHistoryEntity;
+import com.jpriva.orders.infrastructure.persistence.repository.OrderHistoryJpaRepository;
+import com.jpriva.orders.infrastructure.persistence.repository.OrderJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRepositoryAdapterTest {
+
+    private static final String ARCHIVED_BEFORE_SQL = "SELECT archived_before FROM order_archive_state WHERE id = 1";
+
+    @Mock private OrderJpaRepository jpaRepository;
+    @Mock private OrderHistoryJpaRepository historyRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @InjectMocks private OrderRepositoryAdapter adapter;
+
+    private final OrderFilter filter = new OrderFilter(UUID.randomUUID(), null, null, null);
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(adapter, "watermarkTtl", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void countByFilter_shouldReadTheArchiveWatermarkOncePerTtl() {
+        when(jdbcTemplate.queryForObject(ARCHIVED_BEFORE_SQL, Timestamp.class))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.now().minusDays(180)));
+
+        adapter.countByFilter(filter);
+        adapter.countByFilter(filter);
+
+        verify(jdbcTemplate, times(1)).queryForObject(ARCHIVED_BEFORE_SQL, Timestamp.class);
+        verify(historyRepository, times(2)).count(ArgumentMatchers.<Specification<OrderHistoryEntity>>any());
+        verify(jpaRepository, never()).count(ArgumentMatchers.<Specification<OrderEntity>>any());
+    }
+
+    @Test
+    void countByFilter_shouldReadTheArchiveWatermarkAgainOnceItExpires() {
+        ReflectionTestUtils.setField(adapter, "watermarkTtl", Duration.ZERO);
+
+        adapter.countByFilter(filter);
+        adapter.countByFilter(filter);
+
+        verify(jdbcTemplate, times(2)).queryForObject(ARCHIVED_BEFORE_SQL, Timestamp.class);
+        verify(jpaRepository, times(2)).count(ArgumentMatchers.<Specification<OrderEntity>>any());
+    }
+
+    @Test
+    void countByFilter_shouldSkipTheArchiveWhenFilterStartsAfterTheWatermark() {
+        when(jdbcTemplate.queryForObject(ARCHIVED_BEFORE_SQL, Timestamp.class))
+                .thenReturn(Timestamp.valueOf(LocalDateTime.now().minusDays(180)));
+
+        adapter.countByFilter(new OrderFilter(filter.companyId(), null, LocalDateTime.now().minusDays(1), null));
+
+        verify(jpaRepository).count(ArgumentMatchers.<Specification<OrderEntity>>any());
+        verify(historyRepository, never()).count(ArgumentMatchers.<Specification<OrderHistoryEntity>>any());
+    }
+}
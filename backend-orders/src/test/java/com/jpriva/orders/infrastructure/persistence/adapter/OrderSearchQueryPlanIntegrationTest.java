@@ -0,0 +1,148 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.TestcontainersConfiguration;
+import com.jpriva.orders.domain.model.Order;
+import com.jpriva.orders.domain.model.vo.Currency;
+import com.jpriva.orders.domain.model.vo.Money;
+import com.jpriva.orders.domain.model.vo.OrderCursor;
+import com.jpriva.orders.domain.model.vo.OrderFilter;
+import com.jpriva.orders.domain.model.vo.OrderStatus;
+import com.jpriva.orders.domain.ports.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every supported search combination and checks the plan SQL Server cached for it: the search
+ * indexes must be seeked, never scanned, and must cover the query so no key lookups are needed.
+ */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderSearchQueryPlanIntegrationTest {
+
+    private static final int ORDERS_PER_COMPANY = 2000;
+    private static final int LIMIT = 21;
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    private static final String CACHED_PLANS_SQL = """
+            SELECT CAST(qp.query_plan AS NVARCHAR(MAX))
+            FROM sys.dm_exec_query_stats qs
+            CROSS APPLY sys.dm_exec_sql_text(qs.sql_handle) st
+            CROSS APPLY sys.dm_exec_query_plan(qs.plan_handle) qp
+            WHERE st.text LIKE '%from orders%' AND st.text NOT LIKE '%dm_exec_query_stats%'
+            """;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UUID companyId;
+    private List<UUID> clientIds;
+
+    @BeforeAll
+    void seed() {
+        companyId = UUID.randomUUID();
+        clientIds = seedCompany(companyId);
+        seedCompany(UUID.randomUUID());
+        jdbcTemplate.execute("UPDATE STATISTICS orders WITH FULLSCAN");
+    }
+
+    static Stream<Arguments> searches() {
+        return Stream.of(
+                Arguments.of("company only", (SearchCase) (company, clients) -> new OrderFilter(company, null, null, null)),
+                Arguments.of("status", (SearchCase) (company, clients) -> new OrderFilter(company, OrderStatus.CONFIRMED, null, null)),
+                Arguments.of("status and dates", (SearchCase) (company, clients) ->
+                        new OrderFilter(company, OrderStatus.PENDING, NOW.minusDays(3), NOW.minusDays(1))),
+                Arguments.of("client", (SearchCase) (company, clients) ->
+                        new OrderFilter(company, null, null, null, clients.getFirst(), null, null, null)),
+                Arguments.of("client and status", (SearchCase) (company, clients) ->
+                        new OrderFilter(company, OrderStatus.CANCELLED, null, null, clients.getLast(), null, null, null)),
+                Arguments.of("currency and amount", (SearchCase) (company, clients) ->
+                        new OrderFilter(company, null, null, null, null, Currency.EUR, new BigDecimal("100.00"), new BigDecimal("150.00")))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("searches")
+    void searchShouldSeekCoveringIndex(String name, SearchCase search) {
+        OrderFilter filter = search.filter(companyId, clientIds);
+
+        List<String> firstPage = plansOf(() -> orderRepository.findSummariesByFilterAfter(filter, null, LIMIT));
+        List<String> nextPage = plansOf(() -> orderRepository.findSummariesByFilterAfter(filter,
+                new OrderCursor(NOW.minusHours(12), UUID.randomUUID()), LIMIT));
+
+        assertThat(firstPage).isNotEmpty().allSatisfy(OrderSearchQueryPlanIntegrationTest::assertSeeksSearchIndex);
+        assertThat(nextPage).isNotEmpty().allSatisfy(OrderSearchQueryPlanIntegrationTest::assertSeeksSearchIndex);
+    }
+
+    private static void assertSeeksSearchIndex(String plan) {
+        assertThat(plan)
+                .contains("PhysicalOp=\"Index Seek\"")
+                .contains("Index=\"[IX_Orders_Company_")
+                .doesNotContain("PhysicalOp=\"Index Scan\"")
+                .doesNotContain("PhysicalOp=\"Clustered Index Scan\"")
+                .doesNotContain("PhysicalOp=\"Table Scan\"")
+                .doesNotContain("PhysicalOp=\"Key Lookup\"");
+    }
+
+    private List<String> plansOf(Runnable search) {
+        jdbcTemplate.execute("DBCC FREEPROCCACHE WITH NO_INFOMSGS");
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.executeWithoutResult(status -> search.run());
+        return jdbcTemplate.queryForList(CACHED_PLANS_SQL, String.class);
+    }
+
+    private List<UUID> seedCompany(UUID company) {
+        jdbcTemplate.update("INSERT INTO companies (id, name, tax_id) VALUES (?, ?, ?)",
+                company.toString(), "Search Co", "SRC-" + company);
+        List<UUID> clients = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            UUID clientId = UUID.randomUUID();
+            jdbcTemplate.update("INSERT INTO clients (id, company_id, name, address) VALUES (?, ?, ?, ?)",
+                    clientId.toString(), company.toString(), "Search Client " + i, "Client Address");
+            clients.add(clientId);
+        }
+
+        OrderStatus[] statuses = OrderStatus.values();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS_PER_COMPANY; i++) {
+            Currency currency = i % 3 == 0 ? Currency.EUR : Currency.USD;
+            orders.add(new Order(UUID.randomUUID(), company, clients.get(i % clients.size()), "Search Client", "Client Address",
+                    NOW.minusMinutes(i * 7L), statuses[i % statuses.length],
+                    new Money(currency, BigDecimal.valueOf(i % 500).setScale(2)), new ArrayList<>(), null));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> orderRepository.insertAll(orders));
+        return clients;
+    }
+
+    @FunctionalInterface
+    interface SearchCase {
+        OrderFilter filter(UUID companyId, List<UUID> clientIds);
+    }
+}
@@ -0,0 +1,41 @@
+package com.jpriva.orders.infrastructure.persistence.adapter;
+
+import com.jpriva.orders.infrastructure.persistence.repository.ProductJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductRepositoryAdapterTest {
+
+    @Mock private ProductJpaRepository jpaRepository;
+    @InjectMocks private ProductRepositoryAdapter adapter;
+
+    @Test
+    void findByIds_shouldQueryInChunksBelowTheParameterLimit() {
+        Set<UUID> ids = IntStream.range(0, 1200).mapToObj(i -> UUID.randomUUID()).collect(Collectors.toSet());
+        when(jpaRepository.findByIdIn(anySet())).thenReturn(List.of());
+
+        adapter.findByIds(ids);
+
+        ArgumentCaptor<Set<UUID>> chunks = ArgumentCaptor.captor();
+        verify(jpaRepository, times(3)).findByIdIn(chunks.capture());
+        assertThat(chunks.getAllValues()).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(500));
+        assertThat(chunks.getAllValues().stream().flatMap(Set::stream)).containsExactlyInAnyOrderElementsOf(ids);
+    }
+}
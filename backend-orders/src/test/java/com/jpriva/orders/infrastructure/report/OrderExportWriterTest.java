@@ -0,0 +1,54 @@
+package com.jpriva.orders.infrastructure.report;
+
+import com.jpriva.orders.application.dto.ExportFormat;
+import com.jpriva.orders.application.dto.OrderDto;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderExportWriterTest {
+
+    private static final UUID ORDER_ID = UUID.fromString("6f1c2b0e-2d1a-4a5e-9d3b-1f0e8c7a6b5d");
+    private static final OrderDto.SummaryResponse ORDER = new OrderDto.SummaryResponse(ORDER_ID, "Doe, \"Johnny\"",
+            LocalDateTime.of(2026, 3, 1, 10, 15), "CONFIRMED", new BigDecimal("150.75"), "USD");
+
+    @Test
+    void shouldWriteCsvWithHeaderAndQuotedFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OrderExportWriter writer = new OrderExportWriter(out, ExportFormat.CSV, false, JsonMapper.builder().build())) {
+            writer.write(ORDER);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,client_name,order_date,status,total_amount,currency
+                6f1c2b0e-2d1a-4a5e-9d3b-1f0e8c7a6b5d,"Doe, ""Johnny""\",2026-03-01T10:15,CONFIRMED,150.75,USD
+                """);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLineGzipped() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OrderExportWriter writer = new OrderExportWriter(out, ExportFormat.NDJSON, true, JsonMapper.builder().build())) {
+            writer.write(ORDER);
+            writer.write(ORDER);
+        }
+
+        String content;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(content.lines()).hasSize(2).allSatisfy(line -> assertThat(line)
+                .startsWith("{\"id\":\"" + ORDER_ID + "\"")
+                .contains("\"clientName\":\"Doe, \\\"Johnny\\\"\"")
+                .contains("\"totalAmount\":150.75"));
+    }
+}
@@ -0,0 +1,91 @@
+package com.jpriva.orders.infrastructure.report;
+
+import com.jpriva.orders.application.dto.ExportFormat;
+import com.jpriva.orders.application.dto.ProductImportLine;
+import com.jpriva.orders.domain.exceptions.DomainException;
+import com.jpriva.orders.domain.exceptions.ProductErrorCodes;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class ProductImportReaderTest {
+
+    private static final UUID CATEGORY_ID = UUID.fromString("6f1c2b0e-2d1a-4a5e-9d3b-1f0e8c7a6b5d");
+
+    @Test
+    void shouldReadCsvRowsWithQuotedFieldsAndPriceColumns() throws Exception {
+        List<ProductImportLine> lines = read(ExportFormat.CSV, """
+                SKU,name,description,category_id,stock,price_usd,price_EUR
+                LP-1,"Laptop, 14""\","Two
+                lines",%s,10,1200.50,
+                
+                LP-2,Mouse,,,,15,14
+                """.formatted(CATEGORY_ID));
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines.getFirst().line()).isEqualTo(2);
+        assertThat(lines.getFirst().row().name()).isEqualTo("Laptop, 14\"");
+        assertThat(lines.getFirst().row().description()).isEqualTo("Two\nlines");
+        assertThat(lines.getFirst().row().categoryId()).isEqualTo(CATEGORY_ID);
+        assertThat(lines.getFirst().row().stock()).isEqualTo(10);
+        assertThat(lines.getFirst().row().prices()).containsOnlyKeys("USD");
+        assertThat(lines.get(1).line()).isEqualTo(5);
+        assertThat(lines.get(1).row().stock()).isNull();
+        assertThat(lines.get(1).row().prices()).containsOnlyKeys("USD", "EUR");
+    }
+
+    @Test
+    void shouldReportUnreadableCsvRowsAndKeepReading() throws Exception {
+        List<ProductImportLine> lines = read(ExportFormat.CSV, """
+                sku,name,stock
+                LP-1,Laptop,many
+                LP-2,Mouse
+                LP-3,Keyboard,3
+                """);
+
+        assertThat(lines).extracting(ProductImportLine::error)
+                .containsExactly("Invalid stock: many", "Expected 3 columns, found 2", null);
+        assertThat(lines.getLast().row().sku()).isEqualTo("LP-3");
+    }
+
+    @Test
+    void shouldRejectUnknownCsvColumns() {
+        DomainException ex = catchThrowableOfType(() -> read(ExportFormat.CSV, "sku,name,colour\n"), DomainException.class);
+
+        assertThat(ex.getCode()).isEqualTo(ProductErrorCodes.PRODUCT_IMPORT_INVALID.getCode());
+        assertThat(ex.getMessage()).isEqualTo("Unknown column: colour");
+    }
+
+    @Test
+    void shouldReadNdjsonLinesAndReportInvalidJson() throws Exception {
+        List<ProductImportLine> lines = read(ExportFormat.NDJSON, """
+                {"sku":"LP-1","name":"Laptop","stock":5,"prices":{"USD":1200.50}}
+                {"sku":"LP-2",
+                
+                {"sku":"LP-3","name":"Mouse"}
+                """);
+
+        assertThat(lines).extracting(ProductImportLine::line).containsExactly(1L, 2L, 4L);
+        assertThat(lines.getFirst().row().prices()).containsEntry("USD", new BigDecimal("1200.50"));
+        assertThat(lines.get(1).error()).startsWith("Invalid JSON");
+        assertThat(lines.get(2).row().name()).isEqualTo("Mouse");
+    }
+
+    private List<ProductImportLine> read(ExportFormat format, String content) throws Exception {
+        List<ProductImportLine> lines = new ArrayList<>();
+        try (ProductImportReader reader = new ProductImportReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, JsonMapper.builder().build())) {
+            reader.forEachRemaining(lines::add);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,225 @@
+package com.jpriva.orders.infrastructure.rest.filter;
+
+import com.jpriva.orders.domain.exceptions.IdempotencyErrorCodes;
+import com.jpriva.orders.domain.model.IdempotencyRecord;
+import com.jpriva.orders.domain.ports.repository.IdempotencyKeyRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    private static final String USER = "admin@example.com";
+    private static final String KEY = "key-1";
+    private static final String BODY = "{\"companyId\":\"T1\"}";
+    private static final Duration LOCK_TIMEOUT = Duration.ofMillis(30);
+
+    @Mock private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock private FilterChain filterChain;
+
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(idempotencyKeyRepository, JsonMapper.builder().build(), LOCK_TIMEOUT);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(USER, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        filter.destroy();
+    }
+
+    @Test
+    void shouldStoreSuccessfulResponseOfFirstRequest() throws Exception {
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.tryBegin(eq(USER), eq(KEY), anyString())).thenReturn(true);
+        doAnswer(inv -> {
+            HttpServletResponse chained = inv.getArgument(1);
+            chained.setStatus(201);
+            chained.setContentType("application/json");
+            chained.setHeader("Location", "/api/orders/1");
+            chained.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(BODY), response, filterChain);
+
+        ArgumentCaptor<IdempotencyRecord> record = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyKeyRepository).complete(eq(USER), eq(KEY), record.capture());
+        verify(idempotencyKeyRepository, never()).abandon(any(), any());
+        assertThat(record.getValue().status()).isEqualTo(201);
+        assertThat(record.getValue().location()).isEqualTo("/api/orders/1");
+        assertThat(record.getValue().body()).isEqualTo("{\"id\":1}");
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void shouldReplayStoredResponseWithoutCallingController() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.tryBegin(eq(USER), eq(KEY), anyString())).thenReturn(true);
+        filter.doFilter(request(BODY), first, filterChain);
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).tryBegin(eq(USER), eq(KEY), hash.capture());
+        reset(filterChain);
+
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.of(
+                new IdempotencyRecord(hash.getValue(), 201, "application/json", "/api/orders/1", "{\"id\":1}")));
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        filter.doFilter(request(BODY), replay, filterChain);
+
+        verifyNoInteractions(filterChain);
+        assertThat(replay.getStatus()).isEqualTo(201);
+        assertThat(replay.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(replay.getHeader("Location")).isEqualTo("/api/orders/1");
+        assertThat(replay.getContentAsString()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() throws Exception {
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.of(
+                new IdempotencyRecord("other-hash", 201, "application/json", null, "{}")));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(BODY), response, filterChain);
+
+        verifyNoInteractions(filterChain);
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains(IdempotencyErrorCodes.IDEMPOTENCY_KEY_REUSED.getCode());
+    }
+
+    @Test
+    void shouldRejectConcurrentRequestWithSameKey() throws Exception {
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.tryBegin(eq(USER), eq(KEY), anyString())).thenReturn(false);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(BODY), response, filterChain);
+
+        verifyNoInteractions(filterChain);
+        assertThat(response.getStatus()).isEqualTo(409);
+    }
+
+    @Test
+    void shouldReleaseKeyWhenRequestFails() throws Exception {
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.tryBegin(eq(USER), eq(KEY), anyString())).thenReturn(true);
+        doAnswer(inv -> {
+            inv.<HttpServletResponse>getArgument(1).setStatus(400);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), filterChain);
+
+        verify(idempotencyKeyRepository).abandon(USER, KEY);
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    void shouldRenewClaimWhileRequestRuns() throws Exception {
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.tryBegin(eq(USER), eq(KEY), anyString())).thenReturn(true);
+        doAnswer(inv -> {
+            Thread.sleep(LOCK_TIMEOUT.multipliedBy(3).toMillis());
+            inv.<HttpServletResponse>getArgument(1).setStatus(200);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), filterChain);
+
+        verify(idempotencyKeyRepository, atLeastOnce()).extend(eq(USER), eq(KEY), anyString());
+        verify(idempotencyKeyRepository).complete(eq(USER), eq(KEY), any());
+        clearInvocations(idempotencyKeyRepository);
+        Thread.sleep(LOCK_TIMEOUT.toMillis());
+        verify(idempotencyKeyRepository, never()).extend(any(), any(), any());
+    }
+
+    @Test
+    void shouldHandCachedBodyToReadListener() throws Exception {
+        when(idempotencyKeyRepository.find(USER, KEY)).thenReturn(Optional.empty());
+        when(idempotencyKeyRepository.tryBegin(eq(USER), eq(KEY), anyString())).thenReturn(true);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+        doAnswer(inv -> {
+            ServletInputStream input = inv.<HttpServletRequest>getArgument(0).getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("data");
+                    while (input.isReady() && !input.isFinished()) {
+                        read.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilter(request(BODY), new MockHttpServletResponse(), filterChain);
+
+        assertThat(events).containsExactly("data", "done");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        MockHttpServletRequest request = request(BODY);
+        request.removeHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER);
+
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        verify(filterChain).doFilter(any(), any());
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    private MockHttpServletRequest request(String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, KEY);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,134 @@
+package com.jpriva.orders.infrastructure.search;
+
+import com.jpriva.orders.domain.model.Product;
+import com.jpriva.orders.domain.model.ProductSuggestion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryProductSearchIndexTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private final UUID companyId = UUID.randomUUID();
+    private final ProductSuggestion laptop = suggestion("LP-100", "Gaming Laptop");
+    private final ProductSuggestion mouse = suggestion("MS-200", "Laptop Mouse");
+    private final ProductSuggestion dock = suggestion("DK-300", "USB-C Docking Station");
+
+    private InMemoryProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryProductSearchIndex(jdbcTemplate, 2, 3, Duration.ofMinutes(5), Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_shouldRankSkuThenNameThenWordPrefixesThenInfixes() {
+        catalog(laptop, mouse, dock);
+
+        assertThat(index.search(companyId, "lp", 10)).hasValue(List.of(laptop));
+        assertThat(index.search(companyId, "LAPTOP", 10)).hasValue(List.of(mouse, laptop));
+        assertThat(index.search(companyId, "dock", 10)).hasValue(List.of(dock));
+        assertThat(index.search(companyId, "-30", 10)).hasValue(List.of(dock));
+        assertThat(index.search(companyId, "aptop", 1)).hasValue(List.of(laptop));
+        assertThat(index.search(companyId, "xyz", 10)).hasValue(List.of());
+        verify(jdbcTemplate, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<ProductSuggestion>>any(), any(), any());
+    }
+
+    @Test
+    void search_shouldApplyCommittedWritesWithoutReloading() {
+        catalog(laptop, mouse);
+        index.search(companyId, "lp", 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        Product tablet = Product.create(companyId, null, "Tablet", "TB-400", null);
+        index.productSaved(tablet);
+        index.productDeleted(laptop.id());
+        assertThat(index.search(companyId, "lp", 10)).hasValue(List.of(laptop));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(index.search(companyId, "lp", 10)).hasValue(List.of());
+        assertThat(index.search(companyId, "tab", 10).orElseThrow()).extracting(ProductSuggestion::id).containsExactly(tablet.getId());
+        verify(jdbcTemplate, times(1)).query(anyString(), ArgumentMatchers.<RowMapper<ProductSuggestion>>any(), any(), any());
+    }
+
+    @Test
+    void search_shouldNotIndexCatalogsOverTheLimitAndEvictLeastRecentlySearched() {
+        catalog(laptop, mouse, dock, suggestion("KB-500", "Keyboard"));
+        assertThat(index.search(companyId, "lp", 10)).isEmpty();
+
+        index.search(UUID.randomUUID(), "lp", 10);
+        index.search(UUID.randomUUID(), "lp", 10);
+        index.search(companyId, "lp", 10);
+
+        verify(jdbcTemplate, times(4)).query(anyString(), ArgumentMatchers.<RowMapper<ProductSuggestion>>any(), any(), any());
+    }
+
+    @Test
+    void search_shouldRefreshInTheBackgroundAndKeepServingTheLoadedIndex() throws Exception {
+        index = new InMemoryProductSearchIndex(jdbcTemplate, 2, 3, Duration.ZERO, Duration.ofMinutes(30));
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<ProductSuggestion>>any(), any(), any()))
+                .thenReturn(List.of(laptop))
+                .thenAnswer(invocation -> {
+                    reloading.countDown();
+                    assertThat(reloaded.await(5, TimeUnit.SECONDS)).isTrue();
+                    return List.of(laptop, mouse);
+                });
+        assertThat(index.search(companyId, "laptop", 10)).hasValue(List.of(laptop));
+
+        assertThat(index.search(companyId, "laptop", 10)).hasValue(List.of(laptop));
+        assertThat(reloading.await(5, TimeUnit.SECONDS)).isTrue();
+        Product tablet = Product.create(companyId, null, "Tablet", "TB-400", null);
+        index.productSaved(tablet);
+        assertThat(index.search(companyId, "laptop", 10)).hasValue(List.of(laptop));
+        reloaded.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (index.search(companyId, "laptop", 10).orElseThrow().size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(index.search(companyId, "laptop", 10)).hasValue(List.of(mouse, laptop));
+        assertThat(index.search(companyId, "tab", 10).orElseThrow()).extracting(ProductSuggestion::id).containsExactly(tablet.getId());
+    }
+
+    private void catalog(ProductSuggestion... products) {
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<ProductSuggestion>>any(), any(), any()))
+                .thenReturn(List.of(products));
+    }
+
+    private static ProductSuggestion suggestion(String sku, String name) {
+        return new ProductSuggestion(UUID.randomUUID(), sku, name);
+    }
+}